@@ -0,0 +1,44 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import suporte.DomExtractor;
+import suporte.ElementData;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propriedades das imagens como o testImages precisava: laço com getAttribute/isDisplayed/getSize
+ * por elemento contra uma única chamada ao {@link DomExtractor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    @Benchmark
+    public void perElementLoop(FixtureBrowser browser, Blackhole blackhole) {
+        for (WebElement img : browser.driver.findElements(By.tagName("img"))) {
+            blackhole.consume(img.getAttribute("src"));
+            blackhole.consume(img.getAttribute("alt"));
+            blackhole.consume(img.isDisplayed());
+            blackhole.consume(img.getSize());
+        }
+    }
+
+    @Benchmark
+    public List<ElementData> batchedExtraction(FixtureBrowser browser) {
+        return DomExtractor.extract(browser.driver, "img");
+    }
+}
@@ -0,0 +1,42 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import suporte.ReplayServer;
+import suporte.SiteArchive;
+import suporte.SiteMode;
+
+/**
+ * Chrome headless aberto no site de teste local (src/test/resources/fixture),
+ * servido pelo ReplayServer. Os números não dependem da rede nem do site real.
+ */
+@State(Scope.Benchmark)
+public class FixtureBrowser {
+    ReplayServer server;
+    WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void open() {
+        server = ReplayServer.start(SiteArchive.ofDirectory(SiteMode.fixtureDir()), 0);
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--window-size=1920,1080");
+        driver = new ChromeDriver(options);
+        driver.get(server.baseUrl());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        if (driver != null) {
+            driver.quit();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import suporte.ImageDiff;
+import suporte.PixelBuffer;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparação de capturas de página inteira (1920x5400, cinco telas de desktop) sem navegador:
+ * BufferedImage.getRGB pixel a pixel, como um diff ingênuo faria, contra o {@link ImageDiff}
+ * em uma thread e dividido em blocos no commonPool. Três cenários: capturas iguais (o caso comum
+ * entre execuções), ruído de renderização em toda a página e alguns blocos de conteúdo trocados.
+ * Com -prof gc dá para conferir que o ImageDiff não aloca arrays de pixels por comparação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageDiffBenchmark {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 5400;
+    private static final int TOLERANCE = 16;
+    private static final List<ImageDiff.Mask> MASKS = List.of(new ImageDiff.Mask(0, 600, WIDTH, 400));
+
+    @Param({"iguais", "ruido", "mudou"})
+    public String scenario;
+
+    PixelBuffer baseline;
+    PixelBuffer current;
+    BufferedImage baselineImage;
+    BufferedImage currentImage;
+    ImageDiff sequential;
+    ImageDiff parallel;
+
+    @Setup(Level.Trial)
+    public void images() {
+        baseline = page(new Random(42));
+        current = new PixelBuffer().copyFrom(baseline);
+        Random random = new Random(7);
+        int[] pixels = current.pixels();
+        switch (scenario) {
+            case "ruido" -> {
+                // Anti-aliasing diferente: +-1 nível em pixels espalhados pela página
+                for (int i = 0; i < WIDTH * HEIGHT; i += 1 + random.nextInt(16)) {
+                    pixels[i] += random.nextBoolean() ? 0x010101 : -0x010101;
+                }
+            }
+            case "mudou" -> {
+                for (int block = 0; block < 12; block++) {
+                    int x0 = random.nextInt(WIDTH - 300);
+                    int y0 = random.nextInt(HEIGHT - 80);
+                    for (int y = y0; y < y0 + 80; y++) {
+                        for (int x = x0; x < x0 + 300; x++) {
+                            pixels[y * WIDTH + x] = 0xFF00549F;
+                        }
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+        baselineImage = image(baseline);
+        currentImage = image(current);
+        sequential = new ImageDiff(TOLERANCE, true, null);
+        parallel = new ImageDiff(TOLERANCE, true, ForkJoinPool.commonPool());
+    }
+
+    // Fundo claro com "linhas de texto" escuras, para que o hash e a tolerância vejam algo parecido com uma página
+    private static PixelBuffer page(Random random) {
+        PixelBuffer page = new PixelBuffer(WIDTH, HEIGHT);
+        int[] pixels = page.pixels();
+        for (int y = 0; y < HEIGHT; y++) {
+            boolean textLine = y % 24 < 14;
+            for (int x = 0; x < WIDTH; x++) {
+                int shade = textLine && random.nextInt(5) == 0 ? 40 + random.nextInt(60) : 235 + random.nextInt(8);
+                pixels[y * WIDTH + x] = 0xFF000000 | shade << 16 | shade << 8 | Math.min(250, shade + 10);
+            }
+        }
+        return page;
+    }
+
+    private static BufferedImage image(PixelBuffer buffer) {
+        BufferedImage image = new BufferedImage(buffer.width(), buffer.height(), BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, buffer.width(), buffer.height(), buffer.pixels(), 0, buffer.width());
+        return image;
+    }
+
+    @Benchmark
+    public long naiveGetRgb() {
+        long different = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                if (y >= 600 && y < 1000) {
+                    continue;
+                }
+                int a = baselineImage.getRGB(x, y);
+                int b = currentImage.getRGB(x, y);
+                if (Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF)) > TOLERANCE
+                    || Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF)) > TOLERANCE
+                    || Math.abs((a & 0xFF) - (b & 0xFF)) > TOLERANCE) {
+                    different++;
+                }
+            }
+        }
+        return different;
+    }
+
+    @Benchmark
+    public ImageDiff.Result sequentialTiles() {
+        return sequential.compare(baseline, current, MASKS);
+    }
+
+    @Benchmark
+    public ImageDiff.Result parallelTiles() {
+        return parallel.compare(baseline, current, MASKS);
+    }
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A mesma consulta lógica (imagens cujo alt contém "logo" ou "rwth", sem diferenciar maiúsculas)
+ * feita de três formas: XPath com translate() como no testHeaderLogo, seletor CSS com a flag "i"
+ * e querySelectorAll dentro de um executeScript.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+    private static final String LOGO_XPATH =
+        "//img[contains(translate(@alt, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'logo') or " +
+        "     contains(translate(@alt, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'rwth')]";
+    private static final String LOGO_CSS = "img[alt*='logo' i], img[alt*='rwth' i]";
+
+    @Benchmark
+    public List<WebElement> xpathTranslate(FixtureBrowser browser) {
+        return browser.driver.findElements(By.xpath(LOGO_XPATH));
+    }
+
+    @Benchmark
+    public List<WebElement> cssSelector(FixtureBrowser browser) {
+        return browser.driver.findElements(By.cssSelector(LOGO_CSS));
+    }
+
+    @Benchmark
+    public Object jsBulkQuery(FixtureBrowser browser) {
+        return ((JavascriptExecutor) browser.driver).executeScript(
+            "return Array.from(document.querySelectorAll(arguments[0]));", LOGO_CSS);
+    }
+}
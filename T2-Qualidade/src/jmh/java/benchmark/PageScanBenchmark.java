@@ -0,0 +1,88 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import suporte.HtmlDocument;
+import suporte.KeywordMatcher;
+import suporte.PageScan;
+import suporte.PageSnapshot;
+import suporte.SiteMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memória da análise de conteúdo dos Testes 4, 5, 11, 12, 13 e 14 em uma página grande (as
+ * listagens do crawl): HTML inteiro em uma String com HtmlDocument e KeywordMatcher, como antes,
+ * contra o {@link PageScan} lendo a resposta em pedaços. As palavras-chave não existem na página,
+ * então as duas formas leem o documento inteiro. Não usa o Chrome; o HTML fica em bytes, como
+ * chega do HttpClient. O número a comparar é o gc.alloc.rate.norm (bytes por operação) do
+ * profiler de GC: {@code -Djmh.args="PageScanBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageScanBenchmark {
+    private static final List<KeywordMatcher> KEYWORDS = List.of(
+        KeywordMatcher.of("mensa", "semesterticket"),
+        KeywordMatcher.of("bibliothek", "hochschulsport"),
+        KeywordMatcher.of("exzellenz", "promotion"),
+        KeywordMatcher.of("sprachenzentrum", "auslandsamt"));
+    private static final PageScan.Spec SPEC = PageScan.Spec.of(KEYWORDS, "viewport");
+
+    // Tamanho aproximado da página em KB
+    @Param({"512", "8192"})
+    public int sizeKb;
+
+    private byte[] page;
+
+    // A página de eventos do site de teste com o corpo repetido até o tamanho pedido
+    @Setup(Level.Trial)
+    public void build() throws IOException {
+        String events = Files.readString(SiteMode.fixtureDir().resolve("events.html"), StandardCharsets.UTF_8);
+        int bodyStart = events.indexOf("<body");
+        int bodyEnd = events.lastIndexOf("</body>");
+        String body = events.substring(events.indexOf('>', bodyStart) + 1, bodyEnd);
+        StringBuilder html = new StringBuilder(events.substring(0, bodyEnd));
+        while (html.length() < sizeKb * 1024) {
+            html.append(body);
+        }
+        html.append("</body></html>");
+        page = html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void fullSource(Blackhole blackhole) {
+        PageSnapshot snapshot = PageSnapshot.ofSource("http://localhost/", new String(page, StandardCharsets.UTF_8));
+        for (KeywordMatcher keywords : KEYWORDS) {
+            blackhole.consume(snapshot.containsAny(keywords));
+        }
+        HtmlDocument document = snapshot.document();
+        blackhole.consume(document.title());
+        blackhole.consume(document.meta("viewport"));
+    }
+
+    @Benchmark
+    public PageScan.Result streamed() {
+        return PageScan.read(new InputStreamReader(new ByteArrayInputStream(page), StandardCharsets.UTF_8), SPEC);
+    }
+}
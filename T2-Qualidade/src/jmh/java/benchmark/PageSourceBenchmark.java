@@ -0,0 +1,63 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import suporte.KeywordMatcher;
+import suporte.PageSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação de um grupo de palavras-chave como nos testes de conteúdo. As palavras não existem
+ * no site de teste, então os três casos fazem todo o trabalho (pior caso do encadeamento com ||):
+ * getPageSource().toLowerCase() por palavra, um snapshot novo (uma busca + uma varredura) e
+ * um snapshot já carregado (o custo dos testes seguintes na mesma navegação).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSourceBenchmark {
+    private static final String[] KEYWORDS = {"mensa", "semesterticket", "bibliothek", "hochschulsport"};
+    private static final KeywordMatcher MATCHER = KeywordMatcher.of(KEYWORDS);
+
+    @State(Scope.Benchmark)
+    public static class LoadedSnapshot {
+        PageSnapshot snapshot;
+
+        @Setup(Level.Trial)
+        public void load(FixtureBrowser browser) {
+            snapshot = new PageSnapshot(browser.driver);
+            snapshot.source();
+        }
+    }
+
+    @Benchmark
+    public boolean repeatedPageSource(FixtureBrowser browser) {
+        boolean found = false;
+        for (String keyword : KEYWORDS) {
+            found |= browser.driver.getPageSource().toLowerCase().contains(keyword);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public boolean freshSnapshot(FixtureBrowser browser) {
+        return new PageSnapshot(browser.driver).containsAny(MATCHER);
+    }
+
+    @Benchmark
+    public boolean cachedSnapshot(LoadedSnapshot loaded) {
+        return loaded.snapshot.containsAny(MATCHER);
+    }
+}
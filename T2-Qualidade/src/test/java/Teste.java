@@ -1,11 +1,17 @@
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
+import suporte.*;
 
-import java.time.Duration;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -13,68 +19,131 @@ import static org.junit.jupiter.api.Assertions.*;
  * Testes para o site da RWTH Aachen University (http://www.rwth-aachen.de/)
  * Testes em diversas situações (presença, conteúdo, ordem, etc.)
  */
+@ExtendWith(CommandProfilerExtension.class)
+@Blocking("funcional")
 public class Teste {
-    private static WebDriver driver;
-    private static final String BASE_URL = "http://www.rwth-aachen.de/";    @BeforeAll
-    public static void setup() {
-        driver = new ChromeDriver();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(30));
-        driver.manage().window().maximize();
-        
-        driver.get(BASE_URL);
-        
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
-        
-        // Tentar aceitar cookies se o diálogo aparecer
-        try {
-            List<WebElement> cookieButtons = driver.findElements(
-                By.xpath("//button[contains(., 'Akzeptieren') or contains(., 'Accept') or contains(., 'I agree')]")
-            );
-            if (!cookieButtons.isEmpty() && cookieButtons.get(0).isDisplayed()) {
-                cookieButtons.get(0).click();
-            }
-        } catch (Exception e) {
-            // Ignora se não houver diálogo de cookies
+    // Site real ou cópia local servida pelo ReplayServer (-Dteste.site=live|record|replay)
+    private static final String BASE_URL = SiteMode.baseUrl("http://www.rwth-aachen.de/");
+    private static final KeywordMatcher UNIVERSITY_KEYWORDS = KeywordMatcher.of("rwth", "aachen", "rheinisch");
+    private static final KeywordMatcher EVENTS_KEYWORDS = KeywordMatcher.of("events", "calendar", "veranstaltung", "kalender");
+    private static final KeywordMatcher NEWS_KEYWORDS = KeywordMatcher.of("news", "aktuelles", "nachrichten");
+    private static final KeywordMatcher ACADEMICS_KEYWORDS = KeywordMatcher.of("studium", "fakultät", "studiengänge", "education", "faculty");
+    private static final KeywordMatcher SEARCH_KEYWORDS = KeywordMatcher.of("search");
+    private static final KeywordMatcher CONTACT_KEYWORDS = KeywordMatcher.of("kontakt", "contact", "rwth-aachen.de", "@rwth", "aachen");
+    private static final KeywordMatcher TITLE_KEYWORDS = KeywordMatcher.of("rwth", "aachen", "rheinisch", "technische hochschule");
+    // Palavras-chave, título e meta viewport dos Testes 4, 5, 11, 12, 13 e 14 em uma passada pelo HTML,
+    // lido em pedaços sem guardar o código-fonte inteiro
+    private static final PageScan.Spec SCAN = PageScan.Spec.of(
+        List.of(EVENTS_KEYWORDS, NEWS_KEYWORDS, ACADEMICS_KEYWORDS, CONTACT_KEYWORDS), "viewport");
+    // Verificação dos destinos dos links, com cache em disco entre execuções (-Dteste.links.*)
+    private static final LinkValidator LINKS = LinkValidator.shared();
+    // Imagens de referência das regiões da página (-Dteste.visual.*)
+    private static final VisualBaseline VISUAL = VisualBaseline.shared();
+    // Modo incremental (-Dteste.incremental=true): testes @Deterministic aprovados para o mesmo
+    // conteúdo da página são pulados
+    @RegisterExtension
+    static final IncrementalExtension INCREMENTAL = new IncrementalExtension(BASE_URL);
+    private static DriverPool pool;
+    private BrowserSession session;
+    private WebDriver driver;
+    private PageSnapshot page;
+    private LocatorEngine locators;
+    // Header, footer, navegação e busca guardados por página na sessão
+    private ElementRegistry elements;
+
+    // O pool só é aberto quando o primeiro teste da camada do navegador precisa dele,
+    // assim "mvn test -Dgroups=static" roda sem abrir nenhum Chrome
+    private static synchronized DriverPool pool() {
+        if (pool == null) {
+            // Sessões aquecidas: cada uma já abriu BASE_URL e aceitou os cookies
+            pool = DriverPool.start(BASE_URL, SuiteConfig.poolSize());
         }
+        return pool;
     }
 
     @AfterAll
     public static void tearDown() {
-        if (driver != null) {
-            driver.quit();
+        if (pool != null) {
+            pool.close();
         }
+        LINKS.save();
+        System.out.println(LINKS.report());
+        System.out.println(VISUAL.report());
+    }
+
+    // Falha se algum destino não responde (404, 5xx, sem resposta). Fora do modo live só os
+    // links do próprio site são verificados; -Dteste.links=false desliga a verificação.
+    private static void assertLinksResolve(String area, Collection<String> hrefs) {
+        if (!SuiteConfig.flag("links", true)) {
+            return;
+        }
+        List<String> checked = hrefs.stream()
+            .filter(Objects::nonNull)
+            .filter(href -> SiteMode.isLive() || href.startsWith(BASE_URL))
+            .toList();
+        List<LinkResult> broken = LINKS.broken(checked);
+        assertTrue(broken.isEmpty(), "DESTINO: Links de " + area + " que não respondem: " + broken);
+    }
+
+    private static List<String> hrefs(List<ElementData> links) {
+        return links.stream().map(ElementData::href).toList();
+    }
+
+
+    // URL atual sem comando extra na camada estática
+    private String currentUrl() {
+        return driver == null ? page.url() : driver.getCurrentUrl();
     }
 
     @BeforeEach
-    public void beforeEach() {
-        if (!driver.getCurrentUrl().equals(BASE_URL)) {
-            driver.get(BASE_URL);
+    public void beforeEach(TestInfo testInfo) {
+        boolean staticTier = testInfo.getTestMethod()
+            .map(method -> method.isAnnotationPresent(StaticTier.class))
+            .orElse(false);
+        if (staticTier && SuiteConfig.flag("static", true)) {
+            // Camada estática: HTML via HttpClient, sem sessão do Chrome (baixado só se algum teste ler o código-fonte)
+            page = StaticFetcher.lazy(BASE_URL);
+            return;
+        }
+        // Perfil de bloqueio de URLs: @Blocking do método, da classe ou pela tag (block-profiles.properties)
+        session = pool().lease(BlockProfile.forTest(testInfo.getTestClass(), testInfo.getTestMethod(), testInfo.getTags()));
+        driver = session.driver();
+        page = session.snapshot();
+        locators = session.locators();
+        elements = session.elements();
+        String currentUrl = driver.getCurrentUrl();
+        if (!session.isOn(BASE_URL, currentUrl)) {
+            session.navigate(BASE_URL);
+        } else {
+            page.sync(currentUrl);
+        }
+        // Condição de prontidão: @Ready do método, da classe ou pela tag (readiness.properties); sem
+        // nenhuma, o load completo. A navegação EAGER volta no DOMContentLoaded.
+        session.awaitReady(Readiness.forTest(testInfo.getTestClass(), testInfo.getTestMethod(), testInfo.getTags()),
+            testInfo.getTestMethod().map(Method::getName).orElse(testInfo.getDisplayName()));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        if (session != null) {
+            pool.release(session);
+            session = null;
+            driver = null;
+            locators = null;
+            elements = null;
         }
+        page = null;
     }
       // TESTE 1: Header/Logo da universidade
       @Test
       @DisplayName("Teste 1: Verificar presença, posição e funcionalidade do header/logo")
       public void testHeaderLogo() {
           // 1. Verificar presença do header
-          List<WebElement> headerElements = driver.findElements(By.xpath(
-                  "//header | " +
-                          "//*[contains(@class, 'header') or contains(@class, 'navbar') or contains(@class, 'site-header')]"
-          ));
-
-          if (headerElements.isEmpty()) {
-              headerElements = driver.findElements(By.xpath(
-                      "//img[contains(translate(@alt, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'logo') or " +
-                              "     contains(translate(@alt, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'rwth')] | " +
-                              "//a[@href='/'] | " +
-                              "//*[contains(@class, 'logo')]"
-              ));
-          }
+          // Header e, como alternativa, o logo: as duas buscas em uma única chamada ao navegador
+          List<WebElement> headerElements = elements.all(ElementRegistry.HEADER);
 
-          assertTrue(!headerElements.isEmpty() ||
-                          driver.getPageSource().contains("RWTH Aachen") ||
-                          driver.getPageSource().contains("Rheinisch-Westfälische"),
-                  "PRESENÇA: Página deve conter header/logo ou referência à RWTH Aachen");
+          SiteChecks.header(!headerElements.isEmpty(),
+                  page.contains("RWTH Aachen") || page.contains("Rheinisch-Westfälische"));
 
           // 2. Verificar posição (deve estar no topo da página)
           if (!headerElements.isEmpty()) {
@@ -93,17 +162,11 @@ public class Teste {
           }
 
           // 5. Verificar conteúdo relacionado à universidade
-          String pageSource = driver.getPageSource().toLowerCase();
-          assertTrue(pageSource.contains("rwth") || pageSource.contains("aachen") ||
-                          pageSource.contains("rheinisch"),
+          assertTrue(page.containsAny(UNIVERSITY_KEYWORDS),
                   "CONTEÚDO: Página deve conter referências textuais à universidade");
 
           // 6. Verificar se logo é clicável (se for um link)
-          List<WebElement> logoLinks = driver.findElements(By.xpath(
-                  "//a[img[contains(translate(@alt, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'logo') or " +
-                          "       contains(translate(@alt, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'rwth')]] | " +
-                          "//a[@href='/']/img"
-          ));
+          List<WebElement> logoLinks = elements.all(ElementRegistry.LOGO_LINK);
           if (!logoLinks.isEmpty()) {
               assertTrue(logoLinks.get(0).isEnabled(),
                       "FUNCIONALIDADE: Logo deve ser clicável se for um link");
@@ -113,33 +176,30 @@ public class Teste {
 
     // TESTE 2: Navegação principal
     @Test
+    @CommandBudget(maxCommands = 10)
     @DisplayName("Teste 2: Verificar estrutura, ordem e funcionalidade da navegação")
     public void testMainNavigation() {
         // 1. Verificar presença de links de navegação (focar nos visíveis)
-        List<WebElement> allNavLinks = driver.findElements(By.cssSelector("nav a, header a, .navigation a, .navbar a"));
+        List<ElementData> allNavLinks = elements.data(ElementRegistry.NAV_LINKS);
 
-        List<WebElement> visibleNavLinks = allNavLinks.stream()
-            .filter(WebElement::isDisplayed)
+        List<ElementData> visibleNavLinks = allNavLinks.stream()
+            .filter(ElementData::displayed)
             .toList();
             
-        assertTrue(!visibleNavLinks.isEmpty(), "PRESENÇA: Deve haver links de navegação visíveis");
-        
         // 3. Verificar conteúdo dos links visíveis (não devem estar vazios)
         int linksWithText = 0;
-        for (WebElement link : visibleNavLinks) {
-            String text = link.getText().trim();
-            String ariaLabel = link.getAttribute("aria-label");
+        for (ElementData link : visibleNavLinks) {
+            String text = link.text();
+            String ariaLabel = link.ariaLabel();
             if (!text.isEmpty() || (ariaLabel != null && !ariaLabel.isEmpty())) {
                 linksWithText++;
             }
         }
-        assertTrue(linksWithText >= 1,
-                  "CONTEÚDO: Maioria dos links visíveis deve ter texto ou aria-label (" + linksWithText + "/" + visibleNavLinks.size() + ")");        
         
         // 4. Verificar funcionalidade 
         int enabledLinks = 0;
-        for (WebElement link : visibleNavLinks) {
-            if (link.isEnabled()) {
+        for (ElementData link : visibleNavLinks) {
+            if (link.enabled()) {
                 enabledLinks++;
             }
         }
@@ -148,13 +208,17 @@ public class Teste {
         
         // 5. Verificar HREF válidos nos links visíveis
         int validHrefs = 0;
-        for (WebElement link : visibleNavLinks) {
-            String href = link.getAttribute("href");
+        for (ElementData link : visibleNavLinks) {
+            String href = link.href();
             if (href != null && !href.trim().isEmpty() && !href.equals("#")) {
                 validHrefs++;
             }
-        }        assertTrue(validHrefs >= Math.min(2, visibleNavLinks.size()), 
-                  "HREFS: Maioria dos links visíveis deve ter href válidos (" + validHrefs + "/" + visibleNavLinks.size() + ")");
+        }
+        // Presença, texto e href pela regra compartilhada com o crawl
+        SiteChecks.navigation(visibleNavLinks.size(), linksWithText, validHrefs);
+
+        // 6. Verificar se os destinos respondem
+        assertLinksResolve("navegação", hrefs(visibleNavLinks));
     }
 
 
@@ -162,7 +226,7 @@ public class Teste {
     @Test
     @DisplayName("Teste 3: Verificar presença de botões de ação usando XPath")
     public void testActionButtons() {
-        List<WebElement> actionButtons = driver.findElements(By.xpath(
+        List<WebElement> actionButtons = locators.optional("action buttons", By.xpath(
                 "//a[contains(translate(text(), 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'learn more') or " +
                         "    contains(translate(text(), 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'read more') or " +
                         "    contains(translate(text(), 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), 'get started')]"
@@ -177,22 +241,19 @@ public class Teste {
 
     // TESTE 4: Seção de eventos
     @Test
+    @StaticTier
     @DisplayName("Teste 4: Verificar seção de eventos")
     public void testEventsSection() {
-        boolean hasEventsSection = driver.getPageSource().toLowerCase().contains("events") ||
-                                 driver.getPageSource().toLowerCase().contains("calendar") ||
-                                 driver.getPageSource().toLowerCase().contains("veranstaltung") ||
-                                 driver.getPageSource().toLowerCase().contains("kalender");
+        boolean hasEventsSection = page.scan(SCAN).containsAny(EVENTS_KEYWORDS);
         assertTrue(hasEventsSection, "Página deve conter seção de eventos");
     }
 
     // TESTE 5: Seção de notícias
     @Test
+    @StaticTier
     @DisplayName("Teste 5: Verificar seção de notícias")
     public void testNewsSection() {
-        boolean hasNewsSection = driver.getPageSource().toLowerCase().contains("news") ||
-                               driver.getPageSource().toLowerCase().contains("aktuelles") ||
-                               driver.getPageSource().toLowerCase().contains("nachrichten");
+        boolean hasNewsSection = page.scan(SCAN).containsAny(NEWS_KEYWORDS);
         assertTrue(hasNewsSection, "Página deve conter seção de notícias");
     }
     
@@ -201,7 +262,7 @@ public class Teste {
     @DisplayName("Teste 6: Verificar estrutura, posição, conteúdo e funcionalidade do footer")
     public void testFooter() {
         // 1. Verificar presença do footer
-        WebElement footer = driver.findElement(By.tagName("footer"));
+        WebElement footer = elements.mustAppear(ElementRegistry.FOOTER);
         assertNotNull(footer, "PRESENÇA: Footer deve estar presente na página");
         
         // 2. Verificar visibilidade
@@ -218,38 +279,27 @@ public class Teste {
         assertTrue(footerSize.getWidth() > 200 && footerSize.getHeight() > 50, 
                   "DIMENSÕES: Footer deve ter tamanho adequado (largura > 200px, altura > 50px)");
           // 5. Verificar conteúdo relevante
-        String footerText = footer.getText().toLowerCase();
-        int contentScore = 0;
-        
-        if (footerText.contains("rwth") || footerText.contains("aachen")) contentScore++;
-        if (footerText.contains("copyright") || footerText.contains("©")) contentScore++;
-        if (footerText.contains("2025") || footerText.contains("2024")) contentScore++;
-        if (footerText.contains("kontakt") || footerText.contains("contact")) contentScore++;
-        if (footerText.contains("impressum") || footerText.contains("datenschutz")) contentScore++;
-        
-        assertTrue(contentScore >= 2, 
-                  "CONTEÚDO: Footer deve conter pelo menos 2 tipos de informação relevante " +
-                  "(universidade, copyright, ano, localização, contato). Score: " + contentScore + "/5");
+        SiteChecks.footerContent(footer.getText());
         
         // 6. Verificar estrutura
-        List<WebElement> footerLinks = footer.findElements(By.tagName("a"));
-        assertTrue(!footerLinks.isEmpty(),
-                  "ESTRUTURA: Footer deve conter pelo menos um link");
+        List<ElementData> footerLinks = elements.data(ElementRegistry.FOOTER_LINKS);
+        SiteChecks.footerLinks(footerLinks.size());
         
         // 7. Verificar organização
-        List<WebElement> footerSections = footer.findElements(By.cssSelector("div, section, ul, ol"));
+        List<WebElement> footerSections = locators.optional("footer sections", footer, By.cssSelector("div, section, ul, ol"));
         assertTrue(!footerSections.isEmpty(),
                   "ORGANIZAÇÃO: Footer deve ter estrutura organizada (divs, seções ou listas)");
         
         // 8. Verificar funcionalidade dos links
         int workingLinks = 0;
-        for (WebElement link : footerLinks) {
-            if (link.isEnabled() && !link.getAttribute("href").isEmpty()) {
+        for (ElementData link : footerLinks) {
+            if (link.enabled() && link.href() != null && !link.href().isEmpty()) {
                 workingLinks++;
             }
         }
         assertTrue(workingLinks > 0, 
                   "FUNCIONALIDADE: Pelo menos um link do footer deve estar funcional");
+        assertLinksResolve("footer", hrefs(footerLinks));
           // 9. Verificar acessibilidade
         String footerColor = footer.getCssValue("color");
         assertNotNull(footerColor, "ACESSIBILIDADE: Footer deve ter cor de texto definida");
@@ -261,77 +311,51 @@ public class Teste {
 
     // TESTE 7: Links de redes sociais
     @Test
+    @CommandBudget(maxCommands = 10)
+    @Ready("dom")
     @DisplayName("Teste 7: Verificar links de redes sociais")
     public void testSocialMediaLinks() {
-        List<WebElement> socialLinks = driver.findElements(By.xpath(
-            "//a[contains(@href, 'facebook') or contains(@href, 'twitter') or " +
-            "contains(@href, 'instagram') or contains(@href, 'linkedin') or " +
-            "contains(@href, 'tiktok')]"
-        ));
+        List<ElementData> socialLinks = DomExtractor.extract(driver,
+            "a[href*='facebook'], a[href*='twitter'], a[href*='instagram'], " +
+            "a[href*='linkedin'], a[href*='tiktok']");
         
         assertTrue(!socialLinks.isEmpty(), "Deve haver pelo menos um link de rede social");
         
         // Verificar se os links são válidos (não vazios)
-        for (WebElement link : socialLinks) {
-            String href = link.getAttribute("href");
+        for (ElementData link : socialLinks) {
+            String href = link.href();
             assertNotNull(href, "Link de rede social deve ter href válido");
             assertFalse(href.trim().isEmpty(), "Href do link não deve estar vazio");
         }
+        assertLinksResolve("redes sociais", hrefs(socialLinks));
     }
     
     // TESTE 8: Imagens
     @Test
+    @CommandBudget(maxCommands = 10)
+    @Ready("images")
     @DisplayName("Teste 8: Verificar carregamento, acessibilidade e dimensões das imagens")
     public void testImages() {
-        List<WebElement> images = driver.findElements(By.tagName("img"));
+        List<ElementData> images = DomExtractor.extract(driver, "img");
         // 1. Verificar carregamento - todas devem ter src válido
         int validSrcCount = 0;
-        for (WebElement img : images) {
-            String src = img.getAttribute("src");
-            if (src != null && !src.trim().isEmpty() && !src.equals("data:,")) {
+        for (ElementData img : images) {
+            if (SiteChecks.validSource(img.src())) {
                 validSrcCount++;
             }
         }
-        assertTrue(validSrcCount > 0, 
-                  "CARREGAMENTO: Pelo menos uma imagem deve ter src válido (" + validSrcCount + "/" + images.size() + ")");
-          // 2. Verificar acessibilidade - alt text
-        int imagesWithAlt = 0;
-        for (WebElement img : images) {
-            String alt = img.getAttribute("alt");
-            if (alt != null) {
-                imagesWithAlt++;
-            }
-        }
-        assertTrue(imagesWithAlt >= images.size() / 2, 
-                  "ACESSIBILIDADE: Pelo menos metade das imagens deve ter alt text (" + 
-                  imagesWithAlt + "/" + images.size() + ")");
-        
-        // 3. Verificar visibilidade
-        int visibleImages = 0;
-        for (WebElement img : images) {
-            if (img.isDisplayed()) {
-                visibleImages++;
-            }
-        }
-        assertTrue(visibleImages > 0, 
-                  "VISIBILIDADE: Pelo menos uma imagem deve estar visível (" + visibleImages + "/" + images.size() + ")");
-        
-        // 4. Verificar dimensões das imagens visíveis
-        int reasonableSizedImages = 0;
-        for (WebElement img : images) {
-            if (img.isDisplayed()) {
-                Dimension size = img.getSize();
-                // Imagem deve ter pelo menos 20x20 pixels para ser considerada válida
-                if (size.getWidth() >= 20 && size.getHeight() >= 20) {
-                    reasonableSizedImages++;
-                }
-            }
-        }
-        assertTrue(reasonableSizedImages > 0, 
-                  "DIMENSÕES: Pelo menos uma imagem deve ter tamanho adequado (≥20x20px)");
+        SiteChecks.imageSources(validSrcCount, images.size());
+          // 2. Verificar acessibilidade - alt text de todas as imagens renderizadas, inclusive em iframes e shadow roots
+        AccessibilityAudit.Result audit = page.audit();
+        int imagesChecked = audit.checked(AccessibilityAudit.Rule.ALT);
+        int imagesWithAlt = imagesChecked - audit.failed(AccessibilityAudit.Rule.ALT);
+        SiteChecks.imageAlt(imagesWithAlt, imagesChecked, audit.violations(AccessibilityAudit.Rule.ALT));
+        
+        // 3 e 4. Verificar visibilidade e dimensões das imagens visíveis (pelo menos 20x20 pixels)
+        SiteChecks.imageLayout(images);
           // 5. Verificar tipos de arquivo válidos (sem contagem, apenas verificação)
-        for (WebElement img : images) {
-            String src = img.getAttribute("src");
+        for (ElementData img : images) {
+            String src = img.src();
             if (src != null && (src.contains(".jpg") || src.contains(".png") || 
                                src.contains(".gif") || src.contains(".svg") || 
                                src.contains(".webp") || src.contains(".jpeg"))) {
@@ -343,135 +367,111 @@ public class Teste {
     
     // TESTE 9: Formulário de busca/pesquisa
     @Test
+    @Ready("dom")
     @DisplayName("Teste 9: Verificar presença de campo de busca")
     public void testSearchField() {
-        List<WebElement> searchElements = driver.findElements(By.xpath(
-            "//input[@type='search']"
-        ));
+        List<WebElement> searchElements = elements.all(ElementRegistry.SEARCH_INPUT);
         
-        if (searchElements.isEmpty()) {
-            searchElements = driver.findElements(By.xpath(
-                "//input[contains(@placeholder, 'search') or contains(@placeholder, 'Search')]"
-            ));
-        }
-        
-        if (searchElements.isEmpty()) {
-            searchElements = driver.findElements(By.xpath(
-                "//input[contains(@name, 'search') or contains(@id, 'search')]"
-            ));
-        }
-        
-        List<WebElement> searchButtons = driver.findElements(By.xpath(
+        List<WebElement> searchButtons = locators.optional("search button", By.xpath(
             "//button[contains(text(), 'Search') or contains(@title, 'Search')] | " +
             "//a[contains(text(), 'Search') or contains(@title, 'Search')]"
         ));
         
         assertTrue(!searchElements.isEmpty() || !searchButtons.isEmpty() ||
-                  driver.getPageSource().toLowerCase().contains("search"), 
+                  page.containsAny(SEARCH_KEYWORDS),
                   "Deve haver funcionalidade de busca disponível na página");
     }
 
     // TESTE 10: Lista de links no footer
     @Test
+    @CommandBudget(maxCommands = 10)
+    @Blocking("sem-imagens")
+    @Ready("selector:footer")
     @DisplayName("Teste 10: Verificar lista de links úteis no footer")
     public void testFooterLinks() {
-        WebElement footer = driver.findElement(By.tagName("footer"));
-        List<WebElement> footerLinks = footer.findElements(By.tagName("a"));
+        elements.mustAppear(ElementRegistry.FOOTER);
+        List<ElementData> footerLinks = elements.data(ElementRegistry.FOOTER_LINKS);
         
         assertTrue(footerLinks.size() > 3, "Footer deve conter múltiplos links úteis");
         
         int validLinks = 0;
-        for (WebElement link : footerLinks) {
-            if (!link.getText().trim().isEmpty() || !link.getAttribute("title").isEmpty()) {
+        for (ElementData link : footerLinks) {
+            if (!link.text().isEmpty() || !link.title().isEmpty()) {
                 validLinks++;
             }
         }
         assertTrue(validLinks >= 3, "Deve haver pelo menos 3 links válidos no footer");
+        assertLinksResolve("footer", hrefs(footerLinks));
     }
 
     // TESTE 11: Seção Acadêmica
     @Test
+    @StaticTier
+    @Deterministic
     @DisplayName("Teste 11: Verificar seção acadêmica")
     public void testAcademicsSection() {
-        boolean hasAcademics = driver.getPageSource().toLowerCase().contains("studium") ||
-                             driver.getPageSource().toLowerCase().contains("fakultät") ||
-                             driver.getPageSource().toLowerCase().contains("studiengänge") ||
-                             driver.getPageSource().toLowerCase().contains("education") ||
-                             driver.getPageSource().toLowerCase().contains("faculty");
+        boolean hasAcademics = page.scan(SCAN).containsAny(ACADEMICS_KEYWORDS);
         assertTrue(hasAcademics, "Página deve conter informações acadêmicas");
     }
 
     // TESTE 12: Informações de contato
     @Test
+    @StaticTier
+    @Deterministic
     @DisplayName("Teste 12: Verificar informações de contato")
     public void testContactInfo() {
-        String pageSource = driver.getPageSource();
-        
-        boolean hasContact = pageSource.contains("kontakt") ||
-                           pageSource.contains("contact") ||
-                           pageSource.contains("rwth-aachen.de") ||
-                           pageSource.contains("@rwth") ||
-                           pageSource.contains("Aachen");
+        boolean hasContact = page.scan(SCAN).containsAny(CONTACT_KEYWORDS);
         
         assertTrue(hasContact, "Página deve conter informações de contato");
     }
 
     // TESTE 13: Responsividade
     @Test
+    @StaticTier
+    @Deterministic
     @DisplayName("Teste 13: Verificar configuração de responsividade")
     public void testResponsiveDesign() {
-        List<WebElement> viewportMeta = driver.findElements(By.xpath(
-            "//meta[@name='viewport']"
-        ));
-        
-        assertTrue(viewportMeta.size() > 0, "Página deve ter meta tag viewport para responsividade");
-        
-        if (!viewportMeta.isEmpty()) {
-            String content = viewportMeta.get(0).getAttribute("content");
-            assertNotNull(content, "Meta viewport deve ter conteúdo");
-            assertTrue(content.contains("width=device-width"), 
-                      "Viewport deve estar configurado para dispositivos móveis");
-        }
+        SiteChecks.viewport(page.scan(SCAN).meta("viewport"));
     }
 
     // TESTE 14: Verificar título da página
     @Test
-    @DisplayName("Teste 14: Verificar título da página no browser")
+    @StaticTier
+    @Deterministic
+    @DisplayName("Teste 14: Verificar título da página no HTML")
     public void testPageTitle() {
-        String title = driver.getTitle();
-        assertNotNull(title, "Página deve ter um título");
-        assertFalse(title.trim().isEmpty(), "Título não deve estar vazio");
-        assertTrue(title.toLowerCase().contains("rwth") || 
-                  title.toLowerCase().contains("aachen") ||
-                  title.toLowerCase().contains("rheinisch") ||
-                  title.toLowerCase().contains("technische hochschule"),
+        String title = page.scan(SCAN).title();
+        SiteChecks.title(title);
+        assertTrue(TITLE_KEYWORDS.containsAny(title),
                   "Título deve conter referência à universidade");
     }
 
     // TESTE 15: Formulários
     @Test
+    @Blocking("sem-imagens")
+    @Ready("dom")
     @DisplayName("Teste 15: Verificar estrutura e funcionalidade de formulários")
     public void testForms() {
         // 1. Verificar presença de formulários
-        List<WebElement> forms = driver.findElements(By.tagName("form"));
-        List<WebElement> inputs = driver.findElements(By.cssSelector("input, textarea, select"));
+        List<WebElement> forms = locators.optional("forms", By.tagName("form"));
+        List<WebElement> inputs = locators.optional("inputs", By.cssSelector("input, textarea, select"));
         
         assertTrue(!forms.isEmpty() || !inputs.isEmpty(),
                   "PRESENÇA: Página deve conter pelo menos um formulário ou campo de entrada");
         
         if (!inputs.isEmpty()) {
             // 2. Verificar tipos de input
-            int textInputs = driver.findElements(By.cssSelector("input[type='text'], input[type='email'], input[type='search']")).size();
-            int buttons = driver.findElements(By.cssSelector("input[type='submit'], input[type='button'], button")).size();
+            int textInputs = locators.optional("text inputs", By.cssSelector("input[type='text'], input[type='email'], input[type='search']")).size();
+            int buttons = locators.optional("buttons", By.cssSelector("input[type='submit'], input[type='button'], button")).size();
             
             System.out.println("INFO FORMULÁRIOS: " + textInputs + " campos de texto, " + buttons + " botões");
             
             // 3. Verificar acessibilidade
-            List<WebElement> labels = driver.findElements(By.tagName("label"));
-            if (textInputs > 0) {
-                assertTrue(!labels.isEmpty(),
-                          "ACESSIBILIDADE: Campos de texto devem ter labels associados");
-            }
+            List<WebElement> labels = locators.optional("labels", By.tagName("label"));
+            SiteChecks.formLabels(textInputs, labels.size());
+            // Campo a campo (label associado, aria-label ou title), pela auditoria
+            SiteChecks.audit(page.audit(), AccessibilityAudit.Rule.LABEL,
+                      "ACESSIBILIDADE: Campos sem label associado");
             
             // 4. Verificar funcionalidade
             WebElement firstInput = inputs.get(0);
@@ -482,9 +482,11 @@ public class Teste {
 
     // TESTE 16: Tabelas
     @Test
+    @Blocking("sem-imagens")
+    @Ready("dom")
     @DisplayName("Teste 16: Verificar estrutura e acessibilidade de tabelas")
     public void testTables() {
-        List<WebElement> tables = driver.findElements(By.tagName("table"));
+        List<WebElement> tables = locators.optional("tables", By.tagName("table"));
         
         if (!tables.isEmpty()) {
             WebElement firstTable = tables.get(0);
@@ -493,18 +495,19 @@ public class Teste {
             assertTrue(firstTable.isDisplayed(), "VISIBILIDADE: Tabela deve estar visível");
             
             // 2. Verificar cabeçalhos
-            List<WebElement> headers = firstTable.findElements(By.tagName("th"));
-            assertTrue(!headers.isEmpty(),
-                      "ESTRUTURA: Tabela deve ter cabeçalhos (th)");
+            List<WebElement> headers = locators.optional("table th", firstTable, By.tagName("th"));
             
             // 3. Verificar conteúdo
-            List<WebElement> rows = firstTable.findElements(By.tagName("tr"));
-            assertTrue(rows.size() >= 2, 
-                      "CONTEÚDO: Tabela deve ter pelo menos 2 linhas (cabeçalho + dados)");
+            List<WebElement> rows = locators.optional("table tr", firstTable, By.tagName("tr"));
+            SiteChecks.table(headers.size(), rows.size());
             
             // 4. Verificar acessibilidade
-            String tableCaption = !firstTable.findElements(By.tagName("caption")).isEmpty() ? "Sim" : "Não";
+            String tableCaption = !locators.optional("table caption", firstTable, By.tagName("caption")).isEmpty() ? "Sim" : "Não";
             System.out.println("INFO TABELA: Caption presente: " + tableCaption);
+            
+            // 5. Todas as tabelas da página (não só a primeira), com iframes e shadow roots, pela auditoria
+            SiteChecks.audit(page.audit(), AccessibilityAudit.Rule.TABLE_HEADER,
+                      "ESTRUTURA: Tabelas sem cabeçalho (th)");
         } else {
             System.out.println("INFO: Nenhuma tabela encontrada na página - teste pulado");
         }
@@ -512,11 +515,13 @@ public class Teste {
 
     // TESTE 17: Listas
     @Test
+    @Blocking("sem-imagens")
+    @Ready("dom")
     @DisplayName("Teste 17: Verificar estrutura e ordem de listas")
     public void testLists() {
         // 1. Verificar presença de listas
-        List<WebElement> unorderedLists = driver.findElements(By.tagName("ul"));
-        List<WebElement> orderedLists = driver.findElements(By.tagName("ol"));
+        List<WebElement> unorderedLists = locators.optional("ul", By.tagName("ul"));
+        List<WebElement> orderedLists = locators.optional("ol", By.tagName("ol"));
         
         assertTrue(!unorderedLists.isEmpty() || !orderedLists.isEmpty(),
                   "PRESENÇA: Página deve conter pelo menos uma lista (ul ou ol)");
@@ -524,33 +529,114 @@ public class Teste {
         // 2. Verificar estrutura das listas não ordenadas
         if (!unorderedLists.isEmpty()) {
             WebElement firstUl = unorderedLists.get(0);
-            List<WebElement> listItems = firstUl.findElements(By.tagName("li"));
-            
-            assertTrue(listItems.size() >= 2, 
-                      "ESTRUTURA UL: Lista deve ter pelo menos 2 itens (" + listItems.size() + " encontrados)");
+            List<ElementData> listItems = DomExtractor.extract(driver, firstUl, "li");
             
             // 3. Verificar CONTEÚDO dos itens (texto, links ou outros elementos)
             int itemsWithContent = 0;
-            for (WebElement item : listItems) {
-                String text = item.getText().trim();
-                List<WebElement> childElements = item.findElements(By.xpath(".//*"));
-                
-                if (!text.isEmpty() || !childElements.isEmpty()) {
+            for (ElementData item : listItems) {
+                if (!item.text().isEmpty() || item.hasChildElements()) {
                     itemsWithContent++;
                 }
             }
-            assertTrue(itemsWithContent >= Math.max(1, listItems.size() / 2), 
-                      "CONTEÚDO UL: Pelo menos metade dos itens deve ter conteúdo significativo (" + 
-                      itemsWithContent + "/" + listItems.size() + " itens)");
+            SiteChecks.unorderedList(listItems.size(), itemsWithContent);
         }
         
         // 4. Verificar listas ordenadas se existirem
         if (!orderedLists.isEmpty()) {
             WebElement firstOl = orderedLists.get(0);
-            List<WebElement> orderedItems = firstOl.findElements(By.tagName("li"));
-            
-            assertTrue(orderedItems.size() >= 2, 
-                      "ESTRUTURA OL: Lista ordenada deve ter pelo menos 2 itens");
+            List<WebElement> orderedItems = locators.optional("ol li", firstOl, By.tagName("li"));
+            SiteChecks.orderedList(orderedItems.size());
+        }
+        
+        // 5. Todas as listas da página (só li como filhos, li só dentro de lista), pela auditoria
+        SiteChecks.audit(page.audit(), AccessibilityAudit.Rule.LIST,
+                  "ESTRUTURA: Listas com itens vazios ou fora de <li>");
+    }
+
+    // TESTE 18: Destinos de todos os links da página
+    @Test
+    @StaticTier
+    @DisplayName("Teste 18: Verificar se todos os links da página respondem")
+    public void testAllLinks() {
+        Collection<String> links = LinkValidator.collect(page.document(), currentUrl());
+        assertFalse(links.isEmpty(), "PRESENÇA: Página deve conter links");
+        assertLinksResolve("toda a página", links);
+    }
+
+    // TESTE 19: Layout em vários tamanhos de tela
+    @TestFactory
+    @Ready("dom")
+    @DisplayName("Teste 19: Verificar header e footer em celular, tablet e desktop")
+    public Stream<DynamicTest> testViewportMatrix() {
+        // Uma aba por tamanho no Chrome desta sessão; o release fecha as abas
+        List<Viewport> viewports = Viewport.fromConfig();
+        ViewportMatrix matrix = ViewportMatrix.open(session, BASE_URL, viewports);
+        return viewports.stream().map(viewport -> DynamicTest.dynamicTest(viewport.toString(), () -> {
+            ViewportMatrix.Layout layout = matrix.layout(viewport);
+
+            // Mesmas verificações de geometria dos Testes 1 e 6, no tamanho emulado
+            assertNotNull(layout.header(), "PRESENÇA: Header deve existir em " + viewport);
+            assertTrue(layout.header().visible(), "VISIBILIDADE: Header deve estar visível em " + viewport);
+            assertTrue(layout.header().y() < 200,
+                      "POSIÇÃO: Header deve estar próximo ao topo em " + viewport + " (Y=" + layout.header().y() + ")");
+            assertTrue(layout.header().width() > 50 && layout.header().height() > 20,
+                      "DIMENSÕES: Header deve ter tamanho adequado em " + viewport);
+
+            assertNotNull(layout.footer(), "PRESENÇA: Footer deve existir em " + viewport);
+            assertTrue(layout.footer().y() > layout.innerHeight() / 2,
+                      "POSIÇÃO: Footer deve estar na metade inferior da página em " + viewport);
+            assertTrue(layout.footer().width() >= layout.innerWidth() * 0.8,
+                      "RESPONSIVIDADE: Footer deve ocupar pelo menos 80% da largura em " + viewport
+                      + " (" + layout.footer().width() + "/" + layout.innerWidth() + ")");
+
+            assertFalse(layout.overflowsHorizontally(),
+                       "RESPONSIVIDADE: Conteúdo não deve passar da largura da tela em " + viewport
+                       + " (" + layout.scrollWidth() + "px > " + layout.innerWidth() + "px)");
+        }));
+    }
+
+    // TESTE 20: Regressão visual
+    @Test
+    @DisplayName("Teste 20: Comparar header, navegação, footer e imagens com as imagens de referência")
+    public void testVisualRegression() {
+        // 1. Regiões: header, navegação principal, footer e as primeiras imagens visíveis
+        Map<String, WebElement> regions = new LinkedHashMap<>();
+        locators.optional("header", By.cssSelector("header, .site-header")).stream().findFirst()
+            .ifPresent(header -> regions.put("header", header));
+        locators.optional("nav", By.tagName("nav")).stream().findFirst()
+            .ifPresent(nav -> regions.put("navegacao", nav));
+        elements.all(ElementRegistry.FOOTER).stream().findFirst()
+            .ifPresent(footer -> regions.put("footer", footer));
+        List<WebElement> images = VisualBaseline.firstVisibleImages(driver, 3);
+        for (int i = 0; i < images.size(); i++) {
+            regions.put("imagem-" + (i + 1), images.get(i));
+        }
+        assertFalse(regions.isEmpty(), "PRESENÇA: Página deve ter header, navegação, footer ou imagens para comparar");
+
+        // 2. Comparar cada região com a referência (a primeira execução grava as referências)
+        List<VisualBaseline.Check> changed = new ArrayList<>();
+        for (Map.Entry<String, WebElement> region : regions.entrySet()) {
+            VisualBaseline.Check check = VISUAL.verify(driver, region.getKey(), region.getValue());
+            System.out.println("INFO VISUAL: " + check);
+            if (check.failed()) {
+                changed.add(check);
+            }
         }
+        assertTrue(changed.isEmpty(), "VISUAL: Regiões diferentes da referência (captura e diferenças em "
+                  + "target/visual-diff; -Dteste.visual.update=true aceita a mudança): " + changed);
+    }
+
+    // TESTE 21: Auditoria de acessibilidade da página inteira
+    @Test
+    @Blocking("sem-imagens")
+    @DisplayName("Teste 21: Verificar nomes de links e contraste do texto em toda a página")
+    public void testAccessibilityAudit() {
+        // Uma passada pelo DOM (iframes e shadow roots incluídos) com todas as regras; alt, labels,
+        // tabelas e listas ficam com os Testes 8, 15, 16 e 17, que leem a mesma auditoria da página
+        AccessibilityAudit.Result audit = page.audit();
+        System.out.println(audit.summary());
+        
+        assertTrue(audit.checked(AccessibilityAudit.Rule.LINK_NAME) > 0, "PRESENÇA: Página deve ter links para auditar");
+        SiteChecks.linkNamesAndContrast(audit);
     }
 }
@@ -0,0 +1,54 @@
+import org.junit.jupiter.api.*;
+import suporte.*;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da leitura do resultado do {@link AccessibilityAudit}, com a resposta do script montada
+ * como o Selenium a entrega (Long e List), sem navegador.
+ */
+public class TesteAccessibilityAudit {
+
+    private static Map<String, Object> response() {
+        return Map.of(
+            "elements", 1840L,
+            "frames", 1L,
+            "shadowRoots", 2L,
+            "checked", Map.of("alt", 30L, "link-name", 120L, "contrast", 400L, "list", 12L),
+            "failed", Map.of("alt", 3L, "contrast", 25L),
+            "violations", List.of(
+                List.of("alt", "main > div.teaser > img:nth-of-type(2)", "imagem sem alt: /img/campus.jpg"),
+                List.of("contrast", "iframe#mapa >> p.legenda", "3.12:1 < 4.5:1 (rgb(150, 150, 150) sobre rgb(255, 255, 255)) \"Aachen\""),
+                List.of("contrast", "rwth-cookie-banner >> span", "2.80:1 < 4.5:1")));
+    }
+
+    @Test
+    @DisplayName("A11Y 1: Contagens completas mesmo com a lista de violações cortada no limite")
+    public void testParse() {
+        AccessibilityAudit.Result audit = AccessibilityAudit.parse(response());
+
+        assertEquals(1840, audit.elements());
+        assertEquals(25, audit.failed(AccessibilityAudit.Rule.CONTRAST), "Contagem vem do script, não do tamanho da lista");
+        assertEquals(2, audit.violations(AccessibilityAudit.Rule.CONTRAST).size());
+        assertTrue(audit.violations(AccessibilityAudit.Rule.CONTRAST).get(0).path().startsWith("iframe#mapa >> "),
+                  "Caminho deve indicar o iframe");
+        assertTrue(audit.passed(AccessibilityAudit.Rule.LINK_NAME));
+        assertFalse(audit.passed(AccessibilityAudit.Rule.ALT));
+        assertEquals(0, audit.checked(AccessibilityAudit.Rule.TABLE_HEADER), "Regra sem elementos avaliados");
+    }
+
+    @Test
+    @DisplayName("A11Y 2: Resumo com todas as regras e regra desconhecida rejeitada")
+    public void testSummaryAndUnknownRule() {
+        String summary = AccessibilityAudit.parse(response()).summary();
+        assertTrue(summary.startsWith("INFO A11Y: 1840 elementos (1 iframes, 2 shadow roots)"), summary);
+        assertTrue(summary.contains("alt 3/30") && summary.contains("table-header 0/0")
+                  && summary.contains("contrast 25/400"), summary);
+
+        assertThrows(IllegalArgumentException.class, () -> AccessibilityAudit.parse(Map.of(
+            "checked", Map.of("aria-roles", 1L), "failed", Map.of(), "violations", List.of())));
+    }
+}
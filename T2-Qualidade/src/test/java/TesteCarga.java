@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.*;
+import suporte.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carga sintética com o roteiro do Teste ({@link LoadGenerator}). Os testes do histograma e das
+ * chegadas rodam sempre (sem navegador); a carga com o Chrome só roda com -Dteste.load=true e,
+ * fora dos modos replay/record/fixture, contra o site de teste local, nunca contra o site real.
+ */
+@Tag("load")
+public class TesteCarga {
+
+    @Test
+    @DisplayName("Carga 1: Percentis do histograma com erro abaixo de 1%")
+    public void testRecorderPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<Long> values = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // Cauda longa: a maioria entre 1 e 50 ms, algumas até 5 s
+            long micros = i % 100 == 0 ? 1_000 + random.nextInt(5_000_000) : 1_000 + random.nextInt(49_000);
+            values.add(micros);
+            recorder.recordMicros(micros);
+        }
+        values.sort(null);
+
+        for (double percentile : new double[] {50, 95, 99, 99.9}) {
+            double exact = values.get((int) Math.ceil(percentile / 100 * values.size()) - 1) / 1e3;
+            double measured = recorder.percentileMillis(percentile);
+            assertEquals(exact, measured, exact * 0.01, "p" + percentile);
+        }
+        assertEquals(values.get(values.size() - 1) / 1e3, recorder.maxMillis(), "Máximo deve ser exato");
+        assertEquals(100_000, recorder.count());
+
+        // Valor acima do limite do histograma ainda conta, com o máximo exato
+        recorder.recordMicros(LatencyRecorder.HIGHEST_MICROS * 2);
+        assertEquals(100_001, recorder.count());
+        assertEquals(LatencyRecorder.HIGHEST_MICROS * 2 / 1e3, recorder.maxMillis());
+    }
+
+    @Test
+    @DisplayName("Carga 2: Várias threads gravando no mesmo histograma")
+    public void testConcurrentRecording() throws Exception {
+        LatencyRecorder shared = new LatencyRecorder();
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            threads.submit(() -> {
+                for (int i = 1; i <= 25_000; i++) {
+                    shared.recordNanos(i * 1_000L);
+                }
+            });
+        }
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(100_000, shared.count(), "Nenhuma gravação perdida");
+        assertEquals(25.0, shared.maxMillis());
+        assertEquals(12.5, shared.percentileMillis(50), 12.5 * 0.01);
+
+        LatencyRecorder merged = new LatencyRecorder().add(shared).add(shared);
+        assertEquals(200_000, merged.count());
+        assertEquals(shared.percentileMillis(99), merged.percentileMillis(99));
+    }
+
+    @Test
+    @DisplayName("Carga 3: Chegadas com rampa até a taxa alvo")
+    public void testSchedule() {
+        long[] schedule = LoadGenerator.schedule(10, Duration.ofSeconds(2), Duration.ofMillis(5_050));
+
+        // 10/s x 2 s / 2 na rampa + 10/s x 3 s depois dela (a última em 5 s)
+        assertEquals(40, schedule.length);
+        for (int i = 1; i < schedule.length; i++) {
+            assertTrue(schedule[i] > schedule[i - 1], "Horários devem ser crescentes");
+        }
+        assertTrue(schedule[1] - schedule[0] > 2 * (schedule[39] - schedule[38]), "Início da rampa tem chegadas mais espaçadas");
+        assertEquals(100_000_000, schedule[39] - schedule[38], 1_000, "Depois da rampa, uma chegada a cada 100 ms");
+        assertEquals(5_000_000_000L, schedule[39], 1_000);
+
+        assertEquals(5, LoadGenerator.schedule(1, Duration.ZERO, Duration.ofMillis(5_500)).length, "Sem rampa: taxa constante");
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoadGenerator.Options(2, 1, Duration.ofSeconds(10), Duration.ofSeconds(5), true));
+    }
+
+    @Test
+    @DisplayName("Carga 4: Usuários simultâneos no Chrome contra o servidor local (-Dteste.load=true)")
+    public void testLoad() {
+        Assumptions.assumeTrue(SuiteConfig.flag("load", false), "Carga desligada (-Dteste.load=true)");
+        ReplayServer fixture = null;
+        try {
+            String baseUrl;
+            if (SiteMode.isLive()) {
+                fixture = ReplayServer.start(SiteArchive.ofDirectory(SiteMode.fixtureDir()), 0);
+                baseUrl = fixture.baseUrl();
+            } else {
+                baseUrl = SiteMode.baseUrl("http://www.rwth-aachen.de/");
+            }
+            LoadGenerator.Report report = new LoadGenerator(baseUrl, LoadGenerator.Options.fromConfig()).run();
+            System.out.println(report.summary());
+
+            assertTrue(report.completed() > 0, "Nenhuma iteração concluída");
+            assertEquals(0, report.errorCount(), "Passos com erro: " + report.errors());
+            long maxP95 = SuiteConfig.integer("load.p95", 5_000);
+            double p95 = report.step("iteracao").percentileMillis(95);
+            assertTrue(p95 <= maxP95, "p95 da iteração " + p95 + " ms acima de " + maxP95 + " ms");
+        } finally {
+            if (fixture != null) {
+                fixture.close();
+            }
+        }
+    }
+}
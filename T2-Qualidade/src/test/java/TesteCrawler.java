@@ -0,0 +1,111 @@
+import org.junit.jupiter.api.*;
+import suporte.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Crawl do site com as verificações de {@link SiteChecks} em cada página.
+ * Os testes do site de teste local rodam sempre (sem navegador); o crawl do site real
+ * só roda com -Dteste.crawl=true e grava a matriz em target/crawl-report.csv.
+ */
+@Tag("crawl")
+public class TesteCrawler {
+    private static final SiteCrawler.Options FIXTURE_OPTIONS = new SiteCrawler.Options(100, 4, 0);
+    private static ReplayServer fixture;
+
+    @BeforeAll
+    public static void setup() {
+        fixture = ReplayServer.start(SiteArchive.ofDirectory(SiteMode.fixtureDir()), 0);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (fixture != null) {
+            fixture.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Crawl 1: Visitar cada página do site de teste uma vez, só no mesmo host")
+    public void testFixturePages() {
+        String base = fixture.baseUrl();
+        CrawlReport report = SiteCrawler.crawl(base, SiteChecks.all(), null, FIXTURE_OPTIONS);
+        System.out.println(report.summary());
+
+        Set<String> visited = report.pages().stream().map(CrawlReport.Page::url).collect(Collectors.toSet());
+        Set<String> expected = Set.of("", "studium.html", "forschung.html", "fakultaeten.html", "events.html",
+                "kontakt.html", "anfahrt.html", "impressum.html", "datenschutz.html", "barrierefreiheit.html",
+                "archiv.html").stream().map(path -> base + path).collect(Collectors.toSet());
+        assertEquals(expected, visited, "Páginas visitadas (links de nav/footer, sem externos nem fragmentos)");
+
+        // Página de segundo nível só é achada pelo link em kontakt.html
+        assertNotNull(report.page(base + "anfahrt.html"), "Link do footer de uma página interna deve ser seguido");
+    }
+
+    @Test
+    @DisplayName("Crawl 2: Matriz de resultados por página e por verificação")
+    public void testResultMatrix() {
+        String base = fixture.baseUrl();
+        CrawlReport report = SiteCrawler.crawl(base, SiteChecks.all(), null, FIXTURE_OPTIONS);
+
+        CrawlReport.Page events = report.page(base + "events.html");
+        assertEquals("falha", events.cell("imagens"), "events.html tem imagens sem alt");
+        assertEquals("ok", events.cell("navegacao"));
+        assertEquals("-", events.cell("imagens-visiveis"), "Sem pool, verificações de navegador não rodam");
+
+        CrawlReport.Page missing = report.page(base + "archiv.html");
+        assertNotNull(missing.error(), "Página inexistente deve aparecer como erro");
+        assertTrue(missing.error().contains("404"), "Erro deve trazer o status HTTP: " + missing.error());
+
+        List<String> failures = report.failures();
+        assertEquals(2, failures.size(), "Só as falhas propositais do site de teste: " + failures);
+        for (CrawlReport.Page page : report.pages()) {
+            if (page != events && page != missing) {
+                for (String check : report.checks()) {
+                    assertTrue(page.passed(check) || page.cell(check).equals("-"),
+                              page.url() + " falhou em " + check);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Crawl 3: Respeitar o limite de páginas")
+    public void testPageLimit() {
+        CrawlReport report = SiteCrawler.crawl(fixture.baseUrl(), SiteChecks.markupOnly(), null,
+                new SiteCrawler.Options(3, 2, 0));
+        assertEquals(3, report.pages().size(), "Crawl deve parar no limite de páginas");
+        assertTrue(report.summary().contains("links além do limite"), report.summary());
+    }
+
+    @Test
+    @DisplayName("Crawl 4: Verificações em todas as páginas do site (-Dteste.crawl=true)")
+    public void testSiteCrawl() {
+        Assumptions.assumeTrue(SuiteConfig.flag("crawl", false), "Crawl do site desligado (-Dteste.crawl=true)");
+        String baseUrl = SiteMode.baseUrl("http://www.rwth-aachen.de/");
+        boolean withBrowser = SuiteConfig.flag("crawl.browser", true);
+        DriverPool pool = withBrowser ? DriverPool.start(baseUrl, SuiteConfig.poolSize()) : null;
+        CrawlReport report;
+        try {
+            report = SiteCrawler.crawl(baseUrl, withBrowser ? SiteChecks.all() : SiteChecks.markupOnly(), pool,
+                    SiteCrawler.Options.fromConfig());
+        } finally {
+            if (pool != null) {
+                pool.close();
+            }
+        }
+        Path csv = Path.of(SuiteConfig.string("crawl.report", "target/crawl-report.csv"));
+        report.writeCsv(csv);
+        System.out.println(report.summary());
+        System.out.println("INFO CRAWL: matriz gravada em " + csv.toAbsolutePath());
+
+        List<String> failures = report.failures();
+        assertTrue(failures.isEmpty(), failures.size() + " falhas no crawl, primeiras: "
+                + String.join(System.lineSeparator(), failures.subList(0, Math.min(20, failures.size()))));
+    }
+}
@@ -0,0 +1,181 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import suporte.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link ImageDiff} e do {@link VisualBaseline} com imagens sintéticas, sem navegador.
+ * As imagens têm uma textura de blocos com cores abaixo de 250, para que "ruído" (+1 em todos os canais)
+ * não estoure nenhum canal.
+ */
+public class TesteImageDiff {
+    private static final ImageDiff EXACT = new ImageDiff(0, false, null);
+
+    @TempDir
+    Path tempDir;
+
+    private static PixelBuffer texture(int width, int height) {
+        PixelBuffer image = new PixelBuffer(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int shade = (x / 7 * 37 + y / 5 * 53) % 240;
+                image.set(x, y, 0xFF000000 | shade << 16 | (240 - shade) << 8 | (shade / 2));
+            }
+        }
+        return image;
+    }
+
+    private static void fill(PixelBuffer image, int x0, int y0, int width, int height, int argb) {
+        for (int y = y0; y < y0 + height; y++) {
+            for (int x = x0; x < x0 + width; x++) {
+                image.set(x, y, argb);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Visual 1: Imagens iguais param na comparação de linhas")
+    public void testIdentical() {
+        ImageDiff.Result result = EXACT.compare(texture(300, 200), texture(300, 200), List.of());
+
+        assertTrue(result.identical());
+        assertEquals(0.0, result.score());
+        assertEquals(300 * 200, result.comparedPixels());
+        // 300x200 em blocos de 32: 10 x 7
+        assertEquals(70, result.identicalTiles(), "Todos os blocos devem ser iguais sem comparar pixel a pixel");
+    }
+
+    @Test
+    @DisplayName("Visual 2: Contar pixels diferentes e respeitar a tolerância")
+    public void testChangedPixels() {
+        PixelBuffer current = texture(300, 200);
+        fill(current, 100, 50, 20, 10, 0xFFFFFFFF);
+
+        ImageDiff.Result result = EXACT.compare(texture(300, 200), current, List.of());
+        assertEquals(200, result.differentPixels(), "20x10 pixels trocados por branco");
+        assertEquals(1, result.changedTiles());
+
+        // Mudança de 10 níveis em um canal fica dentro da tolerância de 16
+        PixelBuffer shifted = texture(300, 200);
+        for (int i = 0; i < 300 * 200; i++) {
+            shifted.pixels()[i] += 10;
+        }
+        assertTrue(new ImageDiff(16, false, null).compare(texture(300, 200), shifted, List.of()).identical());
+        assertFalse(EXACT.compare(texture(300, 200), shifted, List.of()).identical());
+    }
+
+    @Test
+    @DisplayName("Visual 3: Hash perceptual dá como iguais blocos que só têm ruído")
+    public void testPerceptualNoise() {
+        // Ruído esparso: um nível a mais em todos os canais de 1 pixel a cada 137 (uns 7 por bloco)
+        PixelBuffer noisy = texture(256, 128);
+        for (int i = 0; i < 256 * 128; i += 137) {
+            noisy.pixels()[i] += 0x010101;
+        }
+        PixelBuffer replaced = texture(256, 128);
+        fill(replaced, 10, 10, 40, 40, 0xFF000000);
+
+        ImageDiff perceptual = new ImageDiff(0, true, null);
+        ImageDiff.Result noise = perceptual.compare(texture(256, 128), noisy, List.of());
+        assertTrue(noise.identical(), "Ruído esparso não muda o hash: " + noise);
+        assertEquals(32, noise.noiseTiles());
+
+        // O bloco inteiro mudou: mesmo com o hash e o brilho iguais, é diferença, não ruído
+        PixelBuffer shifted = texture(256, 128);
+        for (int i = 0; i < 256 * 128; i++) {
+            shifted.pixels()[i] += 0x010101;
+        }
+        ImageDiff.Result everywhere = perceptual.compare(texture(256, 128), shifted, List.of());
+        assertEquals(0, everywhere.noiseTiles(), "Acima do limite de pixels nenhum bloco é ruído: " + everywhere);
+        assertEquals(256 * 128, everywhere.differentPixels());
+
+        ImageDiff.Result change = perceptual.compare(texture(256, 128), replaced, List.of());
+        assertEquals(1600, change.differentPixels(), "Conteúdo trocado muda o hash e conta como diferença");
+
+        // Fundo liso que muda de cor tem o mesmo dHash (nenhum gradiente), mas não o mesmo brilho
+        PixelBuffer white = new PixelBuffer(64, 64);
+        PixelBuffer gray = new PixelBuffer(64, 64);
+        fill(white, 0, 0, 64, 64, 0xFFFFFFFF);
+        fill(gray, 0, 0, 64, 64, 0xFFEEEEEE);
+        assertEquals(64 * 64, perceptual.compare(white, gray, List.of()).differentPixels(), "Cor de fundo não é ruído");
+    }
+
+    @Test
+    @DisplayName("Visual 4: Máscaras excluem áreas dinâmicas da comparação")
+    public void testMasks() {
+        PixelBuffer current = texture(300, 200);
+        fill(current, 0, 0, 120, 80, 0xFF102030);
+        fill(current, 200, 150, 10, 10, 0xFFFFFFFF);
+
+        ImageDiff.Result result = EXACT.compare(texture(300, 200), current,
+            List.of(new ImageDiff.Mask(0, 0, 120, 80)));
+        assertEquals(100, result.differentPixels(), "Só a mudança fora da máscara conta");
+        assertEquals(300 * 200 - 120 * 80, result.comparedPixels());
+    }
+
+    @Test
+    @DisplayName("Visual 5: Divisão em blocos entre threads dá o mesmo resultado")
+    public void testParallelMatchesSequential() {
+        PixelBuffer baseline = texture(1920, 2400);
+        PixelBuffer current = texture(1920, 2400);
+        for (int i = 0; i < 40; i++) {
+            fill(current, (i * 397) % 1900, (i * 613) % 2380, 15, 15, 0xFFFFFFFF);
+        }
+        List<ImageDiff.Mask> masks = List.of(new ImageDiff.Mask(500, 500, 300, 300));
+
+        ImageDiff.Result sequential = new ImageDiff(8, true, null).compare(baseline, current, masks);
+        ImageDiff.Result parallel = new ImageDiff(8, true, ForkJoinPool.commonPool()).compare(baseline, current, masks);
+        assertEquals(sequential, parallel);
+        assertTrue(sequential.differentPixels() > 0);
+    }
+
+    @Test
+    @DisplayName("Visual 6: Imagem de diferenças e tamanho diferente")
+    public void testHighlightAndSize() {
+        PixelBuffer current = texture(100, 100);
+        fill(current, 10, 10, 5, 5, 0xFFFFFFFF);
+        PixelBuffer out = new PixelBuffer();
+        EXACT.highlight(texture(100, 100), current, List.of(), out);
+
+        assertEquals(0xFFFF0000, out.get(12, 12), "Pixel diferente em vermelho");
+        assertNotEquals(0xFFFF0000, out.get(50, 50), "Pixel igual não é destacado");
+
+        ImageDiff.Result resized = EXACT.compare(texture(100, 100), texture(100, 120), List.of());
+        assertTrue(resized.sizeChanged());
+        assertEquals(1.0, resized.score());
+    }
+
+    @Test
+    @DisplayName("Visual 7: PNG reaproveita o buffer e a referência é gravada na primeira execução, por página")
+    public void testBaselineLifecycle() throws Exception {
+        PixelBuffer buffer = new PixelBuffer().decode(texture(120, 90).encodePng());
+        int[] array = buffer.pixels();
+        buffer.decode(texture(100, 80).encodePng());
+        assertSame(array, buffer.pixels(), "Imagem menor deve caber no mesmo array");
+        assertEquals(texture(100, 80).get(42, 17), buffer.get(42, 17), "PNG deve voltar com os mesmos pixels");
+
+        VisualBaseline visual = new VisualBaseline(new VisualBaseline.Options(
+            tempDir.resolve("ref"), tempDir.resolve("diff"), 0.001, 0, true, false));
+        String page = "fixture/index";
+        assertEquals(VisualBaseline.Outcome.CRIADA, visual.compare(page, "header", "1920x1080", texture(120, 90), List.of()).outcome());
+        assertEquals(VisualBaseline.Outcome.IGUAL, visual.compare(page, "header", "1920x1080", texture(120, 90), List.of()).outcome());
+
+        PixelBuffer changed = texture(120, 90);
+        fill(changed, 0, 0, 30, 30, 0xFFFFFFFF);
+        // Outra página com a mesma região tem a própria referência
+        assertEquals(VisualBaseline.Outcome.CRIADA, visual.compare("fixture/studium.html", "header", "1920x1080", changed, List.of()).outcome());
+        VisualBaseline.Check check = visual.compare(page, "header", "1920x1080", changed, List.of());
+        assertTrue(check.failed(), check.toString());
+        assertTrue(Files.exists(check.diffImage()), "Imagem de diferenças deve ser gravada");
+        assertTrue(Files.exists(tempDir.resolve("diff/fixture/index/1920x1080/header.atual.png")), "Captura atual deve ser gravada");
+
+        assertEquals("www.rwth-aachen.de/index", VisualBaseline.pageKey("https://www.rwth-aachen.de/"));
+        assertEquals("www.rwth-aachen.de/go_id_a", VisualBaseline.pageKey("https://www.rwth-aachen.de/go/id/a"));
+    }
+}
@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import suporte.*;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do hash de conteúdo e do armazenamento de vereditos usados pelo modo incremental.
+ */
+public class TesteIncremental {
+    private static final String PAGE = "<html><head><title>RWTH</title><script>var t = %s;</script></head>"
+        + "<body><header><img src=\"logo.svg?v=%s\" alt=\"Logo\"></header>"
+        + "<p class=\"news-date\">%s</p><p>Stand: %s</p><time>%s</time>"
+        + "<input type=\"hidden\" name=\"csrf\" title=\"%s\"><ul><li>%s</li></ul></body></html>";
+
+    @TempDir
+    Path tempDir;
+
+    private static String hash(String timestamp, String date, String token, String item) {
+        return ContentHash.of(HtmlDocument.parse(
+            String.format(PAGE, timestamp, timestamp, date, date + " 10:15", date, token, item)));
+    }
+
+    @Test
+    @DisplayName("Incremental 1: Hash ignora datas, horários, scripts e tokens")
+    public void testVolatileContentIgnored() {
+        String first = hash("1718000000000", "12.06.2024", "a8f3c0d9e1b24f6a8f3c0d9e1b24f6a8f3c0", "Studium");
+        String second = hash("1718000360000", "13.06.2024", "ffe0c1d2e3b4a5968778695a4b3c2d1e0f00", "Studium");
+        assertEquals(first, second, "Conteúdo igual com partes voláteis diferentes deve ter o mesmo hash");
+    }
+
+    @Test
+    @DisplayName("Incremental 2: Hash muda quando o conteúdo muda")
+    public void testContentChangeDetected() {
+        String before = hash("1", "12.06.2024", "x", "Studium");
+        String after = hash("1", "12.06.2024", "x", "Forschung");
+        assertNotEquals(before, after, "Texto diferente deve mudar o hash");
+
+        String labeled = ContentHash.of(HtmlDocument.parse("<label for=\"busca\">Busca</label><input id=\"busca\">"));
+        String unlabeled = ContentHash.of(HtmlDocument.parse("<label for=\"busca\">Busca</label><input id=\"pesquisa\">"));
+        assertNotEquals(labeled, unlabeled, "id decide qual campo o label descreve e deve mudar o hash");
+    }
+
+    @Test
+    @DisplayName("Incremental 3: Vereditos gravados valem só para o mesmo hash")
+    public void testResultStore() {
+        Path file = tempDir.resolve("results.tsv");
+        ResultStore store = new ResultStore(file);
+        store.recordPass("http://site/", "abc", "Teste#testLists", 1200);
+        store.recordPass("http://site/", "abc", "Teste#testTables", 800);
+        store.forget("http://site/", "Teste#testTables");
+        store.save();
+
+        ResultStore reloaded = new ResultStore(file);
+        ResultStore.Verdict verdict = reloaded.passed("http://site/", "abc", "Teste#testLists");
+        assertNotNull(verdict, "Aprovação deve sobreviver entre execuções");
+        assertEquals(1200, verdict.millis());
+        assertNull(reloaded.passed("http://site/", "def", "Teste#testLists"), "Hash diferente não reaproveita o veredito");
+        assertNull(reloaded.passed("http://site/", "abc", "Teste#testTables"), "Veredito esquecido não volta");
+    }
+}
@@ -0,0 +1,214 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import suporte.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link LinkValidator} contra um servidor local que devolve o status e o atraso pedidos:
+ * /status/CODIGO, /delay/MILISSEGUNDOS, /sem-head (405 no HEAD) e /redireciona (301 para /status/200).
+ * O parâmetro t= (primeiro da query) separa as URLs e os contadores de cada teste, já que os métodos rodam em paralelo.
+ */
+public class TesteLinkValidator {
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static String base;
+    // Requisições por "MÉTODO caminho?query"
+    private static final Map<String, AtomicInteger> REQUESTS = new ConcurrentHashMap<>();
+    // Requisições simultâneas em /delay por valor de t=: {atuais, máximo}
+    private static final Map<String, int[]> CONCURRENCY = new ConcurrentHashMap<>();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", TesteLinkValidator::handle);
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getQuery();
+            REQUESTS.computeIfAbsent(exchange.getRequestMethod() + " " + path + (query == null ? "" : "?" + query),
+                key -> new AtomicInteger()).incrementAndGet();
+            int status;
+            if (path.startsWith("/status/")) {
+                status = Integer.parseInt(path.substring("/status/".length()));
+            } else if (path.startsWith("/delay/")) {
+                String group = query == null ? "" : query.split("&")[0];
+                int[] gauge = CONCURRENCY.computeIfAbsent(group, key -> new int[2]);
+                synchronized (gauge) {
+                    gauge[0]++;
+                    gauge[1] = Math.max(gauge[1], gauge[0]);
+                }
+                try {
+                    Thread.sleep(Long.parseLong(path.substring("/delay/".length())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    synchronized (gauge) {
+                        gauge[0]--;
+                    }
+                }
+                status = 200;
+            } else if (path.equals("/sem-head")) {
+                status = exchange.getRequestMethod().equals("HEAD") ? 405 : 200;
+            } else if (path.equals("/redireciona")) {
+                exchange.getResponseHeaders().set("Location", "/status/200?" + query);
+                status = 301;
+            } else {
+                status = 404;
+            }
+            exchange.sendResponseHeaders(status, -1);
+        }
+    }
+
+    private static int requests(String key) {
+        AtomicInteger count = REQUESTS.get(key);
+        return count == null ? 0 : count.get();
+    }
+
+    private LinkValidator validator(Duration ttl, int maxEntries, int perHost, Duration timeout) {
+        return new LinkValidator(new LinkValidator.Options(tempDir.resolve("links.tsv"), ttl, maxEntries, perHost, timeout));
+    }
+
+    private LinkValidator validator() {
+        return validator(Duration.ofHours(1), 100, 4, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Links 1: Classificar status HTTP e seguir redirecionamentos")
+    public void testStatusCodes() {
+        Map<String, LinkResult> results = validator().validate(List.of(
+            base + "/status/200?t=status", base + "/status/404?t=status", base + "/status/500?t=status",
+            base + "/status/403?t=status", base + "/redireciona?t=status"));
+
+        assertTrue(results.get(base + "/status/200?t=status").ok(), "200 deve ser válido");
+        assertTrue(results.get(base + "/status/404?t=status").broken(), "404 deve ser quebrado");
+        assertTrue(results.get(base + "/status/500?t=status").broken(), "500 deve ser quebrado");
+        assertFalse(results.get(base + "/status/403?t=status").broken(), "403 é acesso recusado, não link quebrado");
+        assertEquals(200, results.get(base + "/redireciona?t=status").status(), "Redirecionamento deve ser seguido");
+    }
+
+    @Test
+    @DisplayName("Links 2: Repetir com GET quando o servidor não aceita HEAD")
+    public void testHeadFallback() {
+        LinkResult result = validator().validate(List.of(base + "/sem-head?t=fallback")).get(base + "/sem-head?t=fallback");
+
+        assertTrue(result.ok(), "GET deve confirmar o link: " + result);
+        assertEquals("GET", result.method());
+        assertEquals(1, requests("HEAD /sem-head?t=fallback"));
+        assertEquals(1, requests("GET /sem-head?t=fallback"));
+    }
+
+    @Test
+    @DisplayName("Links 3: Normalizar e verificar cada URL uma vez")
+    public void testDeduplication() {
+        Map<String, LinkResult> results = validator().validate(List.of(
+            base + "/status/200?t=dedup#topo", base + "/status/200?t=dedup#rodape",
+            base + "/status/200?t=dedup", "HTTP://127.0.0.1:"
+                + server.getAddress().getPort() + "/status/200?t=dedup", "mailto:kontakt@rwth-aachen.de"));
+
+        assertEquals(1, results.size(), "Fragmentos e maiúsculas no esquema não criam URLs novas: " + results.keySet());
+        assertEquals(1, requests("HEAD /status/200?t=dedup"), "URL deve ser verificada uma única vez");
+    }
+
+    @Test
+    @DisplayName("Links 4: Limitar requisições simultâneas por host")
+    public void testPerHostLimit() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            urls.add(base + "/delay/150?t=limite&i=" + i);
+        }
+        long start = System.nanoTime();
+        Map<String, LinkResult> results = validator(Duration.ofHours(1), 100, 2, Duration.ofSeconds(5)).validate(urls);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(results.values().stream().allMatch(LinkResult::ok), "Todos os links devem responder");
+        assertEquals(8, results.size());
+        assertEquals(2, CONCURRENCY.get("t=limite")[1], "No máximo 2 requisições simultâneas ao mesmo host");
+        // 8 URLs de 150 ms, 2 por vez: pelo menos 4 rodadas
+        assertTrue(elapsedMs >= 4 * 150, "Com 2 requisições por host, 8 URLs levam 4 rodadas (" + elapsedMs + " ms)");
+    }
+
+    @Test
+    @DisplayName("Links 5: Timeout vira link quebrado e não entra no cache")
+    public void testTimeout() {
+        LinkValidator validator = validator(Duration.ofHours(1), 100, 4, Duration.ofMillis(300));
+        LinkResult result = validator.validate(List.of(base + "/delay/2000?t=timeout")).get(base + "/delay/2000?t=timeout");
+
+        assertTrue(result.broken(), "Timeout deve contar como link quebrado");
+        assertNotNull(result.error());
+        assertEquals(1, requests("HEAD /delay/2000?t=timeout"), "Sem resposta, não adianta repetir com GET");
+
+        validator.validate(List.of(base + "/delay/2000?t=timeout"));
+        assertEquals(2, requests("HEAD /delay/2000?t=timeout"), "Erros não devem ficar no cache");
+    }
+
+    @Test
+    @DisplayName("Links 6: Cache em disco com TTL")
+    public void testPersistentCache() {
+        String url = base + "/status/200?t=cache";
+        LinkValidator first = validator();
+        first.validate(List.of(url));
+        first.save();
+        assertEquals(1, requests("HEAD /status/200?t=cache"));
+
+        // Nova execução lendo o mesmo arquivo: resposta do cache
+        validator().validate(List.of(url));
+        assertEquals(1, requests("HEAD /status/200?t=cache"), "Resultado gravado deve ser reaproveitado");
+
+        // TTL zero: o resultado gravado já venceu
+        validator(Duration.ZERO, 100, 4, Duration.ofSeconds(5)).validate(List.of(url));
+        assertEquals(2, requests("HEAD /status/200?t=cache"), "Resultado vencido deve ser verificado de novo");
+    }
+
+    @Test
+    @DisplayName("Links 7: Cache mantém só as verificações mais recentes")
+    public void testEviction() throws Exception {
+        LinkValidator validator = validator(Duration.ofHours(1), 2, 4, Duration.ofSeconds(5));
+        for (int i = 1; i <= 3; i++) {
+            validator.validate(List.of(base + "/status/200?t=evict&i=" + i));
+            Thread.sleep(5);
+        }
+        validator.save();
+
+        String saved = Files.readString(tempDir.resolve("links.tsv"));
+        assertFalse(saved.contains("t=evict&i=1\t"), "O resultado mais antigo deve sair do cache");
+        assertTrue(saved.contains("t=evict&i=2\t") && saved.contains("t=evict&i=3\t"), saved);
+    }
+}
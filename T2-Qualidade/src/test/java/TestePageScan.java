@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.*;
+import suporte.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da análise em pedaços ({@link PageScan}): o resultado deve ser o mesmo do
+ * {@link HtmlDocument} e do {@link KeywordMatcher} sobre o HTML inteiro, com qualquer tamanho de pedaço.
+ */
+public class TestePageScan {
+    private static final KeywordMatcher EVENTS = KeywordMatcher.of("events", "calendar", "veranstaltung", "kalender");
+    private static final KeywordMatcher CONTACT = KeywordMatcher.of("kontakt", "contact", "rwth-aachen.de", "@rwth", "aachen");
+    private static final KeywordMatcher ABSENT = KeywordMatcher.of("semesterticket", "hochschulsport");
+    private static final PageScan.Spec SPEC = PageScan.Spec.of(List.of(EVENTS, CONTACT, ABSENT), "viewport", "description");
+
+    // Entrega no máximo "size" caracteres por leitura e conta quantos foram lidos
+    private static final class SmallReads extends Reader {
+        private final StringReader source;
+        private final int size;
+        int read;
+
+        SmallReads(String text, int size) {
+            this.source = new StringReader(text);
+            this.size = size;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int n = source.read(buffer, offset, Math.min(length, size));
+            read += Math.max(0, n);
+            return n;
+        }
+
+        @Override
+        public void close() {
+            source.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Scan 1: Mesmo resultado do HtmlDocument e do KeywordMatcher nas páginas do site de teste")
+    public void testMatchesFullDocument() throws IOException {
+        List<Path> pages;
+        try (Stream<Path> files = Files.list(SiteMode.fixtureDir())) {
+            pages = files.filter(file -> file.toString().endsWith(".html")).sorted().toList();
+        }
+        assertFalse(pages.isEmpty(), "Site de teste sem páginas");
+        for (Path file : pages) {
+            String html = Files.readString(file, StandardCharsets.UTF_8);
+            HtmlDocument document = HtmlDocument.parse(html);
+            for (int size : new int[] {1, 7, 4096}) {
+                PageScan.Result scan = PageScan.read(new SmallReads(html, size), SPEC);
+                String where = file.getFileName() + " em pedaços de " + size;
+                assertEquals(document.title(), scan.title(), "Título: " + where);
+                for (String name : List.of("viewport", "description")) {
+                    HtmlDocument.Element expected = document.meta(name);
+                    HtmlDocument.Element actual = scan.meta(name);
+                    assertEquals(expected == null ? null : expected.attr("content"),
+                        actual == null ? null : actual.attr("content"), "Meta " + name + ": " + where);
+                }
+                for (KeywordMatcher keywords : SPEC.keywords()) {
+                    assertEquals(keywords.containsAny(html), scan.containsAny(keywords),
+                        "Palavras " + keywords.keywords() + ": " + where);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Scan 2: Título e meta só em tags de verdade, com maiúsculas, entidades e '>' em atributos")
+    public void testMarkupEdgeCases() {
+        String html = "<!DOCTYPE html><HTML><HEAD>"
+            + "<!-- <title>comentário</title> <meta name=\"viewport\" content=\"errado\"> -->"
+            + "<script>if (a < b && c > d) document.write('<title>script</title>');</script>"
+            + "<meta data-x=\"a > b\" name=\"viewport\" content=\"width=device-width, initial-scale=1\">"
+            + "<TITLE>\n  RWTH &amp; Aachen   University\n</TITLE>"
+            + "<meta name=\"description\" content=\"Kontakt\"><title>segundo</title>"
+            + "</HEAD><body>1 < 2 <p>ok</p></body></HTML>";
+        PageScan.Result scan = PageScan.read(new SmallReads(html, 3), SPEC);
+
+        assertEquals("RWTH & Aachen University", scan.title());
+        assertEquals("width=device-width, initial-scale=1", scan.meta("viewport").attr("content"));
+        assertEquals("Kontakt", scan.meta("description").attr("content"));
+        assertTrue(scan.containsAny(CONTACT), "Palavras sem diferenciar maiúsculas");
+        assertFalse(scan.containsAny(EVENTS));
+        assertThrows(IllegalArgumentException.class, () -> scan.containsAny(KeywordMatcher.of("rwth")),
+            "Grupo fora da análise");
+    }
+
+    @Test
+    @DisplayName("Scan 3: Leitura para quando tudo foi encontrado")
+    public void testStopsEarly() {
+        PageScan.Spec spec = PageScan.Spec.of(List.of(CONTACT), "viewport");
+        String head = "<html><head><meta name=\"viewport\" content=\"width=device-width\"><title>Kontakt</title></head>";
+        String html = head + "<body>" + "<p>Lorem ipsum dolor sit amet</p>".repeat(100_000) + "</body></html>";
+        SmallReads reader = new SmallReads(html, 16 * 1024);
+
+        PageScan.Result scan = PageScan.read(reader, spec);
+
+        assertEquals("Kontakt", scan.title());
+        assertTrue(scan.containsAny(CONTACT));
+        assertTrue(reader.read <= 16 * 1024, "Só o primeiro pedaço deveria ser lido (" + reader.read + " de " + html.length() + ")");
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.*;
+import suporte.*;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de desempenho do carregamento da página inicial (Chrome DevTools Protocol).
+ * As métricas são capturadas uma vez, comparadas com limites configuráveis (-Dteste.perf.*)
+ * e acrescentadas ao histórico em perf-history/page-load.csv.
+ */
+@Tag("performance")
+// Os testes leem as métricas capturadas uma vez no @BeforeAll: ficam no mesmo shard
+@ShardGroup("desempenho")
+public class TestePerformance {
+    private static final String BASE_URL = SiteMode.baseUrl("http://www.rwth-aachen.de/");
+    private static DriverPool pool;
+    private static PageLoadMetrics metrics;
+
+    @BeforeAll
+    public static void setup() {
+        pool = DriverPool.start(BASE_URL, 1);
+        BrowserSession session = pool.lease();
+        try {
+            metrics = PageLoadMetrics.capture(session, BASE_URL);
+        } finally {
+            pool.release(session);
+        }
+        metrics.appendTo(Path.of(SuiteConfig.string("perf.history", "perf-history/page-load.csv")));
+        System.out.println("INFO DESEMPENHO: " + metrics);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Desempenho 1: Navigation Timing (TTFB, DOMContentLoaded, load)")
+    public void testNavigationTiming() {
+        assertTrue(metrics.ttfbMs() <= SuiteConfig.integer("perf.ttfb", 2_000),
+                  "TTFB: " + metrics.ttfbMs() + " ms acima do limite");
+        assertTrue(metrics.domContentLoadedMs() <= SuiteConfig.integer("perf.dcl", 5_000),
+                  "DOMContentLoaded: " + metrics.domContentLoadedMs() + " ms acima do limite");
+        assertTrue(metrics.loadMs() <= SuiteConfig.integer("perf.load", 10_000),
+                  "LOAD: " + metrics.loadMs() + " ms acima do limite");
+    }
+
+    @Test
+    @DisplayName("Desempenho 2: Largest Contentful Paint e Cumulative Layout Shift")
+    public void testCoreWebVitals() {
+        assertTrue(metrics.lcpMs() <= SuiteConfig.integer("perf.lcp", 4_000),
+                  "LCP: " + metrics.lcpMs() + " ms acima do limite");
+        double maxCls = Double.parseDouble(SuiteConfig.string("perf.cls", "0.25"));
+        assertTrue(metrics.cls() <= maxCls, "CLS: " + metrics.cls() + " acima do limite " + maxCls);
+    }
+
+    @Test
+    @DisplayName("Desempenho 3: Quantidade de requisições e bytes transferidos")
+    public void testRequestsAndBytes() {
+        assertTrue(metrics.requestCount() <= SuiteConfig.integer("perf.requests", 250),
+                  "REQUISIÇÕES: " + metrics.requestCount() + " acima do limite");
+        long maxBytes = SuiteConfig.integer("perf.bytes", 15_000_000);
+        assertTrue(metrics.transferBytes() <= maxBytes,
+                  "BYTES: " + metrics.transferBytes() + " transferidos " + metrics.bytesByType());
+    }
+
+    @Test
+    @DisplayName("Desempenho 4: Tarefas longas na thread principal")
+    public void testLongTasks() {
+        assertTrue(metrics.longTaskMs() <= SuiteConfig.integer("perf.longtasks", 2_000),
+                  "TAREFAS LONGAS: " + metrics.longTasks() + " tarefas somando " + metrics.longTaskMs() + " ms");
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.*;
+import suporte.*;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da condição de prontidão ({@link Readiness}): leitura das declarações e a ordem
+ * método > classe > tag > carregamento completo, sem abrir o navegador.
+ */
+public class TesteReadiness {
+    @Ready("selector:footer")
+    static class Declared {
+        @Ready("idle:500")
+        public void withMethod() {
+        }
+
+        public void withoutMethod() {
+        }
+    }
+
+    static class Undeclared {
+        public void plain() {
+        }
+    }
+
+    private static Readiness forTest(Class<?> type, String method, String... tags) throws NoSuchMethodException {
+        Method testMethod = type.getMethod(method);
+        return Readiness.forTest(Optional.of(type), Optional.of(testMethod), Set.of(tags));
+    }
+
+    @Test
+    @DisplayName("Prontidão 1: Leitura de dom, selector, images, idle e load")
+    public void testParse() {
+        assertEquals(Readiness.DOM, Readiness.parse("dom"));
+        assertEquals(Readiness.LOAD, Readiness.parse(" LOAD "));
+        assertEquals(new Readiness(Readiness.Kind.SELECTOR, "footer a[href]", 0), Readiness.parse("selector: footer a[href]"));
+        assertEquals(new Readiness(Readiness.Kind.IMAGES, null, 0), Readiness.parse("images"));
+        assertEquals(new Readiness(Readiness.Kind.IDLE, null, 500), Readiness.parse("idle:500"));
+        assertEquals("selector:footer", Readiness.parse("selector:footer").toString());
+
+        for (String invalid : new String[] {"parsed", "selector", "selector:", "idle", "idle:0", "idle:meio", "dom:body"}) {
+            assertThrows(IllegalArgumentException.class, () -> Readiness.parse(invalid), "Deveria recusar " + invalid);
+        }
+    }
+
+    @Test
+    @DisplayName("Prontidão 2: Método > classe > tag > carregamento completo")
+    public void testPrecedence() throws NoSuchMethodException {
+        assertEquals(Readiness.parse("idle:500"), forTest(Declared.class, "withMethod", "static"));
+        assertEquals(Readiness.parse("selector:footer"), forTest(Declared.class, "withoutMethod", "static"));
+        assertEquals(Readiness.DOM, forTest(Undeclared.class, "plain", "static"));
+        assertEquals(Readiness.LOAD, forTest(Undeclared.class, "plain", "crawl"));
+    }
+
+    @Test
+    @DisplayName("Prontidão 3: Tags com a mesma condição valem, com condições diferentes são recusadas")
+    public void testTagConflicts() {
+        Properties mapping = new Properties();
+        mapping.setProperty("tag.static", "dom");
+        mapping.setProperty("tag.layout", "selector:footer");
+        mapping.setProperty("tag.markup", "DOM");
+
+        assertEquals(Readiness.DOM, Readiness.forTags(Set.of("static", "markup", "crawl"), mapping));
+        assertEquals(Readiness.LOAD, Readiness.forTags(Set.of("crawl"), mapping));
+        IllegalArgumentException conflict = assertThrows(IllegalArgumentException.class,
+                () -> Readiness.forTags(Set.of("static", "layout"), mapping));
+        assertTrue(conflict.getMessage().contains("tag.layout=selector:footer")
+                && conflict.getMessage().contains("tag.static=dom"), conflict.getMessage());
+    }
+}
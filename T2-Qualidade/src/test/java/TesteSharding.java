@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import suporte.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link ShardPlan} (divisão LPT) e do {@link DurationHistory}, sem rodar shards de verdade.
+ */
+public class TesteSharding {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Shard 1: Maior duração primeiro, no shard com menos carga")
+    public void testLongestProcessingTime() {
+        Map<String, Long> groups = new LinkedHashMap<>();
+        groups.put("f", 5L);
+        groups.put("a", 10L);
+        groups.put("d", 7L);
+        groups.put("b", 9L);
+        groups.put("e", 6L);
+        groups.put("c", 8L);
+        ShardPlan plan = ShardPlan.create(groups, 2);
+
+        // a(10)->1, b(9)->2, c(8)->2, d(7)->1, e(6)->1 (empate fica com o shard 1), f(5)->2
+        assertEquals(23, plan.predictedMillis(1));
+        assertEquals(22, plan.predictedMillis(2));
+        assertEquals(plan.shardOf("a"), plan.shardOf("d"));
+        assertEquals(plan.shardOf("b"), plan.shardOf("c"));
+    }
+
+    @Test
+    @DisplayName("Shard 2: Testes lentos do navegador ficam em shards diferentes")
+    public void testSlowTestsSpread() {
+        Map<String, Long> groups = new LinkedHashMap<>();
+        for (int i = 0; i < 12; i++) {
+            groups.put("Teste#rapido" + i, 2_000L);
+        }
+        for (int i = 0; i < 4; i++) {
+            groups.put("Teste#lento" + i, 60_000L);
+        }
+        ShardPlan plan = ShardPlan.create(groups, 4);
+
+        Set<Integer> slowShards = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            slowShards.add(plan.shardOf("Teste#lento" + i));
+        }
+        assertEquals(4, slowShards.size(), "Cada shard deve receber um teste lento");
+        for (int shard = 1; shard <= 4; shard++) {
+            assertEquals(66_000, plan.predictedMillis(shard), "Shards equilibrados: 60 s + 3 x 2 s");
+        }
+    }
+
+    @Test
+    @DisplayName("Shard 3: Grupo fica junto e grupo novo tem o mesmo shard em toda máquina")
+    public void testGroupsAndUnknownTests() {
+        DurationHistory history = new DurationHistory(tempDir);
+        history.record("TestePerformance#testNavigationTiming", "desempenho", 20_000);
+        history.record("TestePerformance#testCoreWebVitals", "desempenho", 1_000);
+        history.record("Teste#testFooter", "Teste#testFooter", 15_000);
+        history.record("Teste#testLists", "Teste#testLists", 12_000);
+        ShardPlan plan = ShardPlan.fromHistory(history, 2);
+
+        // desempenho (21 s) -> 1, testFooter (15 s) -> 2, testLists (12 s) -> 2
+        assertEquals(21_000, plan.predictedMillis(plan.shardOf("desempenho")), "Os dois testes do grupo ficam juntos");
+        assertEquals(27_000, plan.predictedMillis(plan.shardOf("Teste#testFooter")));
+        assertEquals(plan.shardOf("Teste#testFooter"), plan.shardOf("Teste#testLists"));
+
+        int unknown = plan.shardOf("TesteNovo#testAlgo");
+        assertTrue(unknown >= 1 && unknown <= 2);
+        assertEquals(unknown, ShardPlan.create(Map.of(), 2).shardOf("TesteNovo#testAlgo"),
+            "Teste sem histórico não depende do plano");
+    }
+
+    @Test
+    @DisplayName("Shard 4: Histórico com média móvel e arquivos de vários shards")
+    public void testHistoryMerge() throws Exception {
+        DurationHistory first = new DurationHistory(tempDir);
+        first.record("Teste#testForms", "Teste#testForms", 10_000);
+        first.record("Teste#testForms", "Teste#testForms", 20_000);
+        assertEquals(13_000, first.get("Teste#testForms").millis(), "70% da média anterior + 30% da nova medição");
+        assertEquals(2, first.get("Teste#testForms").runs());
+        first.save("durations-1.tsv");
+
+        Thread.sleep(5);
+        DurationHistory second = new DurationHistory(tempDir.resolve("outra-maquina"));
+        second.record("Teste#testForms", "Teste#testForms", 4_000);
+        second.record("Teste#testTables", "Teste#testTables", 3_000);
+        second.save("durations-2.tsv");
+        Files.move(tempDir.resolve("outra-maquina/durations-2.tsv"), tempDir.resolve("durations-2.tsv"));
+
+        DurationHistory merged = new DurationHistory(tempDir);
+        assertEquals(4_000, merged.get("Teste#testForms").millis(), "Vale a medição mais recente entre os arquivos");
+        assertEquals(List.of("Teste#testForms", "Teste#testTables"), List.copyOf(merged.entries().keySet()));
+        assertEquals(4_000, merged.typicalMillis(5_000));
+        assertEquals(5_000, new DurationHistory(tempDir.resolve("vazio")).typicalMillis(5_000));
+    }
+
+    @Test
+    @DisplayName("Shard 5: Índice fora do intervalo é rejeitado")
+    public void testInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardPlan.Options(0, 3, tempDir, 5_000));
+        assertThrows(IllegalArgumentException.class, () -> new ShardPlan.Options(4, 3, tempDir, 5_000));
+        assertFalse(new ShardPlan.Options(1, 1, tempDir, 5_000).enabled());
+        assertEquals("durations-2.tsv", new ShardPlan.Options(2, 3, tempDir, 5_000).historyFile());
+    }
+}
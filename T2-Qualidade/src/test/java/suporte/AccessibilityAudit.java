@@ -0,0 +1,149 @@
+package suporte;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Auditoria de acessibilidade da página inteira com um único executeScript: o script
+ * accessibility-audit.js percorre o DOM uma vez, entrando nos iframes do mesmo domínio e nos
+ * shadow roots abertos, e avalia cada elemento com as regras de {@link Rule}. Em vez de uma ida
+ * ao chromedriver por imagem, campo ou tabela, volta uma lista compacta de violações.
+ * <p>
+ * Elementos dentro de aria-hidden="true" ficam de fora; imagens, campos e links só contam quando
+ * estão renderizados. As contagens são completas, mas só as primeiras -Dteste.a11y.limit violações
+ * de cada regra (padrão 20) vêm com caminho e detalhe.
+ */
+public final class AccessibilityAudit {
+    private static final String SCRIPT = load();
+
+    public enum Rule {
+        // img e input type=image com alt (vazio vale, imagem decorativa), aria-label ou title
+        ALT("alt"),
+        // input, textarea e select com label associado, aria-label, aria-labelledby ou title
+        LABEL("label"),
+        // table (exceto role=presentation) com th ou role=columnheader/rowheader
+        TABLE_HEADER("table-header"),
+        // ul/ol com itens, só li como filhos e pelo menos metade dos itens com conteúdo; li só dentro de lista
+        LIST("list"),
+        // a[href] com texto, aria-label, aria-labelledby, title ou imagem com alt
+        LINK_NAME("link-name"),
+        // texto com contraste mínimo de 4.5:1 (3:1 para texto grande) pela cor calculada e o fundo efetivo
+        CONTRAST("contrast");
+
+        private final String id;
+
+        Rule(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        static Rule of(String id) {
+            for (Rule rule : values()) {
+                if (rule.id.equals(id)) {
+                    return rule;
+                }
+            }
+            throw new IllegalArgumentException("Regra de acessibilidade desconhecida: " + id);
+        }
+    }
+
+    /** Uma violação: regra, caminho CSS curto (" >> " separa iframe e shadow root) e detalhe. */
+    public record Violation(Rule rule, String path, String detail) {
+        @Override
+        public String toString() {
+            return rule.id() + " " + path + ": " + detail;
+        }
+    }
+
+    /**
+     * Resultado da auditoria: elementos percorridos, iframes e shadow roots visitados, elementos
+     * avaliados e reprovados por regra e as violações devolvidas (no máximo o limite por regra).
+     */
+    public record Result(int elements, int frames, int shadowRoots, Map<Rule, Integer> checked,
+                         Map<Rule, Integer> failed, List<Violation> violations) {
+        public int checked(Rule rule) {
+            return checked.getOrDefault(rule, 0);
+        }
+
+        public int failed(Rule rule) {
+            return failed.getOrDefault(rule, 0);
+        }
+
+        public boolean passed(Rule rule) {
+            return failed(rule) == 0;
+        }
+
+        public List<Violation> violations(Rule rule) {
+            return violations.stream().filter(violation -> violation.rule() == rule).toList();
+        }
+
+        public String summary() {
+            StringJoiner rules = new StringJoiner(", ");
+            for (Rule rule : Rule.values()) {
+                rules.add(rule.id() + " " + failed(rule) + "/" + checked(rule));
+            }
+            return String.format("INFO A11Y: %d elementos (%d iframes, %d shadow roots); violações/avaliados: %s",
+                elements, frames, shadowRoots, rules);
+        }
+    }
+
+    private AccessibilityAudit() {
+    }
+
+    public static Result run(WebDriver driver) {
+        return run(driver, SuiteConfig.integer("a11y.limit", 20));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Result run(WebDriver driver, int limit) {
+        Object result = ((JavascriptExecutor) driver).executeScript(SCRIPT, limit);
+        return parse((Map<String, Object>) result);
+    }
+
+    // Resposta do script (números chegam como Long e arrays como List); público para os testes sem navegador
+    public static Result parse(Map<String, Object> values) {
+        List<Violation> violations = new ArrayList<>();
+        for (Object item : (List<?>) values.get("violations")) {
+            List<?> fields = (List<?>) item;
+            violations.add(new Violation(Rule.of((String) fields.get(0)), (String) fields.get(1), (String) fields.get(2)));
+        }
+        return new Result(number(values.get("elements")), number(values.get("frames")), number(values.get("shadowRoots")),
+            counts(values.get("checked")), counts(values.get("failed")), List.copyOf(violations));
+    }
+
+    private static Map<Rule, Integer> counts(Object value) {
+        Map<Rule, Integer> counts = new EnumMap<>(Rule.class);
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+            counts.put(Rule.of((String) entry.getKey()), number(entry.getValue()));
+        }
+        return counts;
+    }
+
+    private static int number(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    private static String load() {
+        try (InputStream in = AccessibilityAudit.class.getResourceAsStream("/accessibility-audit.js")) {
+            if (in == null) {
+                throw new IllegalStateException("accessibility-audit.js não encontrado no classpath");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler accessibility-audit.js", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package suporte;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Lista de padrões de URL que o Chrome não deve baixar (Network.setBlockedURLs).
+ * Os perfis vêm de block-profiles.properties no classpath; -Dteste.block=false desliga
+ * todos os perfis, o que permite comparar os resultados dos testes com e sem bloqueio.
+ */
+public record BlockProfile(String name, List<String> patterns) {
+    public static final BlockProfile NONE = new BlockProfile("nenhum", List.of());
+
+    private static final Properties PROFILES = load();
+
+    public boolean isNone() {
+        return patterns.isEmpty();
+    }
+
+    public static BlockProfile named(String name) {
+        if (!SuiteConfig.flag("block", true)) {
+            return NONE;
+        }
+        Set<String> patterns = new LinkedHashSet<>();
+        collect(name, patterns, new LinkedHashSet<>());
+        return new BlockProfile(name, new ArrayList<>(patterns));
+    }
+
+    // Método > classe > tag (tag.<nome>=perfil) > nenhum
+    public static BlockProfile forTest(Optional<Class<?>> testClass, Optional<Method> testMethod, Set<String> tags) {
+        Optional<Blocking> annotation = testMethod.map(method -> method.getAnnotation(Blocking.class));
+        if (annotation.isEmpty()) {
+            annotation = testClass.map(type -> type.getAnnotation(Blocking.class));
+        }
+        if (annotation.isPresent()) {
+            return named(annotation.get().value());
+        }
+        for (String tag : tags) {
+            String profile = PROFILES.getProperty("tag." + tag);
+            if (profile != null) {
+                return named(profile.trim());
+            }
+        }
+        return NONE;
+    }
+
+    private static void collect(String name, Set<String> patterns, Set<String> visiting) {
+        String value = PROFILES.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Perfil de bloqueio desconhecido: " + name);
+        }
+        if (!visiting.add(name)) {
+            throw new IllegalArgumentException("Perfil de bloqueio inclui a si mesmo: " + name);
+        }
+        for (String pattern : value.split(",")) {
+            String trimmed = pattern.trim();
+            if (trimmed.startsWith("@")) {
+                collect(trimmed.substring(1), patterns, visiting);
+            } else if (!trimmed.isEmpty()) {
+                patterns.add(trimmed);
+            }
+        }
+        visiting.remove(name);
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = BlockProfile.class.getResourceAsStream("/block-profiles.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler block-profiles.properties", e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,16 @@
+package suporte;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Perfil de bloqueio de URLs (definido em block-profiles.properties) usado ao carregar a página
+ * para a classe ou para o método. A anotação do método tem prioridade sobre a da classe.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Blocking {
+    String value();
+}
@@ -0,0 +1,273 @@
+package suporte;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Navegador que continua aberto entre execuções do Maven, para que o {@link DriverPool} não pague
+ * a subida do Chrome e comece com o cache HTTP da página já cheio. Duas formas:
+ * <ul>
+ *   <li>um nó Selenium standalone local ({@code -Dteste.daemon.node=http://localhost:4444}), com
+ *   um perfil persistente por sessão do pool em {@code browser-profiles/sessao-N} (o cache em disco
+ *   fica entre execuções);</li>
+ *   <li>Chrome já aberto com porta de depuração, um por sessão do pool
+ *   ({@code -Dteste.daemon.debugger=127.0.0.1:9222,127.0.0.1:9223}), ao qual o ChromeDriver se
+ *   conecta por {@code debuggerAddress} sem abrir outro navegador.</li>
+ * </ul>
+ * Se o daemon não responde em {@code teste.daemon.probe} ms, ou sobram sessões sem endereço, a
+ * sessão abre o próprio Chrome como antes. Ao conectar, a sessão limpa o estado da execução
+ * anterior (abas extras, cookies e armazenamento da página inicial), mas não o cache HTTP.
+ * <p>
+ * O tempo até o primeiro teste, com a subida do pool, vai para um histórico CSV por modo
+ * ("frio" = Chrome local, "quente" = daemon) e tamanho do pool, e o relatório compara a execução
+ * atual com a mediana de cada modo e tamanho.
+ */
+public final class BrowserDaemon {
+    private static final String HISTORY_HEADER = "recorded_at,mode,sessions,pool_ms,first_test_ms";
+    private static final Pattern NODE_READY = Pattern.compile("\"ready\"\\s*:\\s*true");
+    private static final AtomicBoolean FALLBACK_REPORTED = new AtomicBoolean();
+
+    /** Como a sessão foi aberta: Chrome próprio, sessão em um nó Selenium ou Chrome já aberto com porta de depuração. */
+    public enum Mode {
+        LOCAL, NODE, DEBUGGER;
+
+        public boolean warm() {
+            return this != LOCAL;
+        }
+    }
+
+    /** Nó Selenium (null = nenhum), endereços de depuração, pasta dos perfis, timeout da verificação e histórico. */
+    public record Options(URI node, List<String> debuggers, Path profiles, Duration probe, Path history) {
+        // -Dteste.daemon.node, -Dteste.daemon.debugger (host:porta separados por vírgula), -Dteste.daemon.profiles,
+        // -Dteste.daemon.probe (ms) e -Dteste.daemon.history
+        public static Options fromConfig() {
+            String node = SuiteConfig.string("daemon.node", null);
+            String debuggers = SuiteConfig.string("daemon.debugger", "");
+            return new Options(
+                node == null ? null : URI.create(node),
+                Arrays.stream(debuggers.split(",")).map(String::trim).filter(address -> !address.isEmpty()).toList(),
+                Path.of(SuiteConfig.string("daemon.profiles", "browser-profiles")).toAbsolutePath(),
+                SuiteConfig.millis("daemon.probe", 1_000),
+                Path.of(SuiteConfig.string("daemon.history", "perf-history/startup.csv")));
+        }
+
+        boolean configured() {
+            return node != null || !debuggers.isEmpty();
+        }
+    }
+
+    /** Driver da sessão e de onde ele veio (endereço do nó ou da porta de depuração; null no modo local). */
+    record Connection(WebDriver driver, Mode mode, String address) {
+    }
+
+    private static final Options OPTIONS = Options.fromConfig();
+    private static final HttpClient CLIENT = HttpClient.newBuilder().connectTimeout(OPTIONS.probe()).build();
+
+    private BrowserDaemon() {
+    }
+
+    // Sessão id (1..N): daemon se houver e responder, senão ChromeDriver local com as opções dadas
+    static Connection connect(int id, ChromeOptions options) {
+        if (id <= OPTIONS.debuggers().size()) {
+            String address = OPTIONS.debuggers().get(id - 1);
+            if (responds(URI.create("http://" + address + "/json/version"))) {
+                try {
+                    ChromeOptions attach = new ChromeOptions().merge(options);
+                    attach.setExperimentalOption("debuggerAddress", address);
+                    return new Connection(new ChromeDriver(attach), Mode.DEBUGGER, address);
+                } catch (WebDriverException e) {
+                    reportFallback(address + " (" + firstLine(e) + ")");
+                }
+            } else {
+                reportFallback(address);
+            }
+        } else if (OPTIONS.node() != null) {
+            if (nodeReady(OPTIONS.node())) {
+                try {
+                    ChromeOptions remote = new ChromeOptions().merge(options);
+                    // Perfil próprio da sessão: dois Chrome não podem usar o mesmo perfil ao mesmo tempo
+                    remote.addArguments("--user-data-dir=" + OPTIONS.profiles().resolve("sessao-" + id));
+                    WebDriver driver = new RemoteWebDriver(OPTIONS.node().toURL(), remote);
+                    // Augmenter acrescenta HasCdp ao driver remoto (bloqueio de URLs, métricas, viewports)
+                    return new Connection(new Augmenter().augment(driver), Mode.NODE, OPTIONS.node().toString());
+                } catch (MalformedURLException | WebDriverException e) {
+                    reportFallback(OPTIONS.node() + " (" + firstLine(e) + ")");
+                }
+            } else {
+                reportFallback(OPTIONS.node().toString());
+            }
+        }
+        return new Connection(new ChromeDriver(options), Mode.LOCAL, null);
+    }
+
+    /**
+     * Estado deixado pela execução anterior em um navegador reaproveitado: fecha as abas extras e
+     * apaga cookies e armazenamento (localStorage, sessionStorage, IndexedDB, service workers, Cache
+     * Storage) da página inicial. O cache HTTP fica, que é o que torna o daemon mais rápido.
+     */
+    static void resetState(WebDriver driver, WebDriver rawDriver, String baseUrl) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        for (String handle : handles.subList(1, handles.size())) {
+            driver.switchTo().window(handle).close();
+        }
+        driver.switchTo().window(handles.get(0));
+        if (rawDriver instanceof HasCdp cdp) {
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of(
+                "origin", origin(baseUrl),
+                "storageTypes", "local_storage,session_storage,indexeddb,websql,service_workers,cache_storage"));
+        } else {
+            // Sem CDP só os cookies da página atual podem ser apagados
+            driver.manage().deleteAllCookies();
+        }
+    }
+
+    static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static boolean nodeReady(URI node) {
+        String status = get(node.resolve("/status"));
+        return status != null && NODE_READY.matcher(status).find();
+    }
+
+    private static boolean responds(URI uri) {
+        return get(uri) != null;
+    }
+
+    // Corpo da resposta 200, ou null se o daemon não respondeu a tempo
+    private static String get(URI uri) {
+        try {
+            HttpResponse<String> response = CLIENT.send(
+                HttpRequest.newBuilder(uri).timeout(OPTIONS.probe()).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? response.body() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static void reportFallback(String address) {
+        if (FALLBACK_REPORTED.compareAndSet(false, true)) {
+            System.out.println("INFO DAEMON: " + address + " não respondeu, abrindo Chrome local");
+        }
+    }
+
+    private static String firstLine(Exception e) {
+        String message = String.valueOf(e.getMessage());
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    // Milissegundos desde o início da JVM (do fork do Surefire)
+    static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    /**
+     * Modo do pool, tempo de subida e tempo até o primeiro teste desta execução, gravados no
+     * histórico, e a mediana de cada modo e tamanho de pool nas execuções gravadas.
+     */
+    static String report(List<Mode> modes, long poolMillis, long firstTestMillis) {
+        long warm = modes.stream().filter(Mode::warm).count();
+        String mode = warm == 0 ? "frio" : warm == modes.size() ? "quente" : "misto";
+        String summary = String.format("INFO DAEMON: modo %s (%d de %d sessões no daemon), pool pronto em %d ms",
+            mode, warm, modes.size(), poolMillis);
+        if (firstTestMillis < 0) {
+            return summary + ", nenhum lease";
+        }
+        StringBuilder report = new StringBuilder(summary)
+            .append(String.format(", primeiro teste aos %d ms desde o início da JVM", firstTestMillis));
+        Path history = OPTIONS.history();
+        append(history, String.format(Locale.ROOT, "%s,%s,%d,%d,%d",
+            Instant.now(), mode, modes.size(), poolMillis, firstTestMillis));
+        medians(history).forEach((group, medians) -> report.append(String.format(
+            "%n  %-7s %3d sessões, mediana: pool %d ms, primeiro teste %d ms (%d execuções)",
+            group.mode(), group.sessions(), medians[0], medians[1], medians[2])));
+        if (!OPTIONS.configured()) {
+            report.append(String.format("%n  sem daemon configurado (-Dteste.daemon.node ou -Dteste.daemon.debugger)"));
+        }
+        return report.toString();
+    }
+
+    private static void append(Path history, String line) {
+        try {
+            if (history.getParent() != null) {
+                Files.createDirectories(history.getParent());
+            }
+            if (!Files.exists(history)) {
+                Files.writeString(history, HISTORY_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+            }
+            Files.writeString(history, line + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o histórico de inicialização em " + history, e);
+        }
+    }
+
+    /** Execuções comparáveis: pools de 1 e de N sessões sobem em tempos diferentes. */
+    record Group(String mode, int sessions) {
+        static final Comparator<Group> ORDER = Comparator.comparing(Group::mode).thenComparingInt(Group::sessions);
+    }
+
+    // (modo, sessões) -> {mediana do pool, mediana do primeiro teste, execuções}
+    static Map<Group, long[]> medians(Path history) {
+        Map<Group, List<long[]>> runs = new TreeMap<>(Group.ORDER);
+        try {
+            for (String line : Files.readAllLines(history, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(",");
+                if (fields.length != 5 || line.equals(HISTORY_HEADER)) {
+                    continue;
+                }
+                try {
+                    Group group = new Group(fields[1], Integer.parseInt(fields[2]));
+                    long[] run = {Long.parseLong(fields[3]), Long.parseLong(fields[4])};
+                    runs.computeIfAbsent(group, key -> new ArrayList<>()).add(run);
+                } catch (NumberFormatException e) {
+                    // Linha corrompida (gravação interrompida, edição manual): fica fora das medianas
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o histórico de inicialização em " + history, e);
+        }
+        Map<Group, long[]> medians = new TreeMap<>(Group.ORDER);
+        runs.forEach((group, values) -> {
+            long[] pool = values.stream().mapToLong(value -> value[0]).sorted().toArray();
+            long[] firstTest = values.stream().mapToLong(value -> value[1]).sorted().toArray();
+            medians.put(group, new long[] {pool[pool.length / 2], firstTest[firstTest.length / 2], values.size()});
+        });
+        return medians;
+    }
+}
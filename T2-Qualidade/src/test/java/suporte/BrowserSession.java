@@ -0,0 +1,344 @@
+package suporte;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Uma sessão do Chrome mantida pelo {@link DriverPool}.
+ * A sessão só é usada por uma thread de cada vez (a thread que fez o lease).
+ */
+public class BrowserSession {
+    private final int id;
+    private final WebDriver rawDriver;
+    private final WebDriver driver;
+    private final PageSnapshot snapshot;
+    private final LocatorEngine locators;
+    private final ElementRegistry elements;
+    private final BrowserDaemon.Mode mode;
+    private String requestedUrl;
+    private String landedUrl;
+    private BlockProfile blockProfile = BlockProfile.NONE;
+    // Por perfil de bloqueio: {navegações, nanos em driver.get}
+    private final Map<String, long[]> loadTimes = new TreeMap<>();
+    // Por teste: {esperas medidas, nanos esperando a condição, nanos economizados até o fim do load,
+    // medidas sem o fim do load (economia mínima), esperas que estouraram o timeout}
+    private final Map<String, long[]> readyTimes = new TreeMap<>();
+    // A próxima espera mede a navegação mais recente; depois dela a página já estava pronta
+    private boolean navigatedSinceReady;
+    // Espera que terminou antes do evento load: a economia é fechada na próxima chamada ao navegador
+    private PendingLoad pendingLoad;
+    private volatile Thread owner;
+    // Domínios CDP ligados na sessão do chromedriver: cada um é desligado só por quem o ligou
+    private final Set<String> cdpDomains = new HashSet<>();
+
+    BrowserSession(int id, WebDriver rawDriver, BrowserDaemon.Mode mode) {
+        this.id = id;
+        this.rawDriver = rawDriver;
+        this.mode = mode;
+        // Todos os comandos passam pelo profiler; o driver original fica para CDP e afins
+        this.driver = new EventFiringDecorator<WebDriver>(CommandProfiler.INSTANCE, new StaleElementListener())
+            .decorate(rawDriver);
+        this.snapshot = new PageSnapshot(driver);
+        this.locators = new LocatorEngine(driver, SuiteConfig.millis("locator.budget", 30_000));
+        this.elements = new ElementRegistry(driver, locators);
+    }
+
+    // Conecta ao daemon (ou cria o ChromeDriver), abre a página inicial e fecha o diálogo de cookies
+    static BrowserSession open(int id, String baseUrl) {
+        return open(id, baseUrl, new ChromeOptions());
+    }
+
+    static BrowserSession open(int id, String baseUrl, ChromeOptions options) {
+        BrowserDaemon.Connection connection = BrowserDaemon.connect(id, options);
+        WebDriver driver = connection.driver();
+        BrowserSession session = new BrowserSession(id, driver, connection.mode());
+        try {
+            if (connection.mode().warm()) {
+                // Navegador reaproveitado: nada da execução anterior pode vazar para os testes
+                BrowserDaemon.resetState(session.driver(), driver, baseUrl);
+            }
+            // Sem implicit wait: as esperas são declaradas por busca no LocatorEngine
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            // A espera de prontidão termina sozinha no timeout dela; o do script só cobre uma página travada
+            driver.manage().timeouts().scriptTimeout(Readiness.timeout().plusSeconds(5));
+            // idle:<ms> precisa ver as requisições em andamento desde o início de cada documento
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", Readiness.REQUEST_TRACKER));
+            driver.manage().window().maximize();
+            session.warmUp(baseUrl);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+        return session;
+    }
+
+    // O carregamento do warm-up é a frio e fica fora do tempo por perfil de bloqueio; depois dele,
+    // um carregamento sem bloqueio com o cache aquecido é o controle do perfil "nenhum" no relatório
+    void warmUp(String baseUrl) {
+        load(baseUrl, false);
+        waitForBody();
+        acceptCookies();
+        load(baseUrl, true);
+    }
+
+    // Os passos do warm-up ficam separados para o LoadGenerator medir cada um
+    void waitForBody() {
+        new WebDriverWait(driver, Duration.ofSeconds(15))
+            .until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
+    }
+
+    // Tenta aceitar cookies se o diálogo aparecer (o diálogo é montado por script, então espera um pouco);
+    // false quando não apareceu nenhum diálogo
+    boolean acceptCookies() {
+        try {
+            WebElement cookieButton = new WebDriverWait(driver, SuiteConfig.millis("cookie.wait", 3_000))
+                .until(ExpectedConditions.visibilityOfElementLocated(
+                    By.xpath("//button[contains(., 'Akzeptieren') or contains(., 'Accept') or contains(., 'I agree')]")
+                ));
+            cookieButton.click();
+            return true;
+        } catch (Exception e) {
+            // Ignora se não houver diálogo de cookies
+            return false;
+        } finally {
+            // O clique no diálogo altera o DOM
+            snapshot.invalidate();
+        }
+    }
+
+    // Toda navegação passa por aqui para invalidar o snapshot e o registro de elementos da página
+    public void navigate(String url) {
+        load(url, true);
+    }
+
+    private void load(String url, boolean timed) {
+        settlePendingLoad();
+        snapshot.invalidate();
+        elements.invalidate();
+        long start = System.nanoTime();
+        driver.get(url);
+        if (timed) {
+            long[] times = loadTimes.computeIfAbsent(blockProfile.name(), name -> new long[2]);
+            times[0]++;
+            times[1] += System.nanoTime() - start;
+        }
+        requestedUrl = url;
+        landedUrl = driver.getCurrentUrl();
+        navigatedSinceReady = true;
+    }
+
+    /**
+     * Espera a condição do teste dentro da página, com um executeAsyncScript pelo driver sem o
+     * profiler (a espera é da infraestrutura e não conta no {@link CommandBudget} do teste). A
+     * economia é o tempo entre a condição ficar verdadeira e o fim do evento load, no relógio da
+     * página; se a página já estava pronta (nenhuma navegação desde a última espera) nada é medido.
+     * Uma condição que não fica verdadeira no timeout é avisada com o nome do teste e a condição;
+     * com -Dteste.ready.strict=true, falha antes do teste começar.
+     */
+    @SuppressWarnings("unchecked")
+    public void awaitReady(Readiness readiness, String test) {
+        settlePendingLoad();
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) rawDriver)
+            .executeAsyncScript(Readiness.SCRIPT, readiness.scriptArguments());
+        boolean ready = Boolean.TRUE.equals(result.get("ready"));
+        if (!ready) {
+            String message = test + ": página não ficou pronta (" + readiness + ") em "
+                + Readiness.timeout().toMillis() + " ms";
+            if (SuiteConfig.flag("ready.strict", false)) {
+                throw new TimeoutException(message);
+            }
+            System.out.println("AVISO PRONTIDÃO: " + message);
+        }
+        if (!navigatedSinceReady) {
+            return;
+        }
+        navigatedSinceReady = false;
+        long[] times = readyTimes.computeIfAbsent(test + " (" + readiness + ")", name -> new long[5]);
+        times[0]++;
+        times[1] += nanos(number(result.get("waited")));
+        if (!ready) {
+            times[4]++;
+        }
+        double readyAt = number(result.get("readyAt"));
+        double load = number(result.get("load"));
+        if (load > 0) {
+            times[2] += nanos(Math.max(0, load - readyAt));
+        } else {
+            pendingLoad = new PendingLoad(times, number(result.get("origin")), readyAt);
+        }
+    }
+
+    // Fim do load da página em que a última espera terminou; a próxima navegação apagaria a medida
+    @SuppressWarnings("unchecked")
+    void settlePendingLoad() {
+        PendingLoad pending = pendingLoad;
+        if (pending == null) {
+            return;
+        }
+        pendingLoad = null;
+        Map<String, Object> page = (Map<String, Object>) ((JavascriptExecutor) rawDriver).executeScript(
+            "const nav = performance.getEntriesByType('navigation')[0];" +
+            "return {origin: performance.timeOrigin, load: nav ? nav.loadEventEnd : 0, now: performance.now()};");
+        double load = number(page.get("load"));
+        if (number(page.get("origin")) != pending.origin()) {
+            // O teste saiu da página (clique em link): o fim do load dela não existe mais
+            pending.times()[3]++;
+        } else if (load > 0) {
+            pending.times()[2] += nanos(load - pending.readyAt());
+        } else {
+            // O teste terminou antes do load: economizou pelo menos até agora
+            pending.times()[2] += nanos(number(page.get("now")) - pending.readyAt());
+            pending.times()[3]++;
+        }
+    }
+
+    private record PendingLoad(long[] times, double origin, double readyAt) {
+    }
+
+    private static double number(Object value) {
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    private static long nanos(double millis) {
+        return Math.round(millis * 1_000_000);
+    }
+
+    // Considera também o destino de redirecionamentos (http -> https) da última navegação
+    public boolean isOn(String url, String currentUrl) {
+        return currentUrl.equals(url) || (url.equals(requestedUrl) && currentUrl.equals(landedUrl));
+    }
+
+    // Troca a lista de URLs bloqueadas e recarrega a página inicial para que o bloqueio valha para ela
+    void applyBlockProfile(BlockProfile profile, String baseUrl) {
+        if (profile.equals(blockProfile)) {
+            return;
+        }
+        // O bloqueio precisa do Network ligado enquanto a sessão existir
+        enableCdpDomain("Network");
+        ((HasCdp) rawDriver).executeCdpCommand("Network.setBlockedURLs", Map.of("urls", profile.patterns()));
+        blockProfile = profile;
+        navigate(baseUrl);
+    }
+
+    // Liga o domínio se ainda estava desligado; true quando esta chamada o ligou
+    boolean enableCdpDomain(String domain) {
+        if (!cdpDomains.add(domain)) {
+            return false;
+        }
+        ((HasCdp) rawDriver).executeCdpCommand(domain + ".enable", Map.of());
+        return true;
+    }
+
+    void disableCdpDomain(String domain) {
+        if (cdpDomains.remove(domain)) {
+            ((HasCdp) rawDriver).executeCdpCommand(domain + ".disable", Map.of());
+        }
+    }
+
+    // Deixa a sessão pronta para o próximo teste: uma aba só, na página inicial
+    void reset(String baseUrl) {
+        String mainWindow = driver.getWindowHandle();
+        for (String handle : driver.getWindowHandles()) {
+            if (!handle.equals(mainWindow)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(mainWindow);
+        String currentUrl = driver.getCurrentUrl();
+        if (!isOn(baseUrl, currentUrl)) {
+            navigate(baseUrl);
+        } else {
+            snapshot.sync(currentUrl);
+        }
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    // Driver sem o decorator do profiler
+    public WebDriver rawDriver() {
+        return rawDriver;
+    }
+
+    public PageSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public LocatorEngine locators() {
+        return locators;
+    }
+
+    public ElementRegistry elements() {
+        return elements;
+    }
+
+    public BrowserDaemon.Mode mode() {
+        return mode;
+    }
+
+    public BlockProfile blockProfile() {
+        return blockProfile;
+    }
+
+    Map<String, long[]> loadTimes() {
+        return loadTimes;
+    }
+
+    Map<String, long[]> readyTimes() {
+        return readyTimes;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    void claim() {
+        owner = Thread.currentThread();
+    }
+
+    void unclaim() {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalStateException("Sessão " + id + " devolvida por uma thread diferente da que fez o lease");
+        }
+        owner = null;
+    }
+
+    // Elemento obsoleto em qualquer comando: as referências guardadas no registro não valem mais
+    private final class StaleElementListener implements WebDriverListener {
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            if (e.getCause() instanceof StaleElementReferenceException) {
+                elements.staleElement();
+            }
+        }
+    }
+
+    // No modo DEBUGGER o quit encerra só a conexão do ChromeDriver; o Chrome do daemon continua aberto
+    void close() {
+        try {
+            rawDriver.quit();
+        } catch (Exception e) {
+            // Ignora erro ao fechar um navegador que já caiu
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package suporte;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limite de comandos WebDriver e de tempo total em comandos para um teste.
+ * O {@link CommandProfilerExtension} falha o teste quando o limite é ultrapassado,
+ * o que pega regressões como um novo laço de getAttribute por elemento.
+ * Valores negativos (padrão) desligam o limite correspondente.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CommandBudget {
+    int maxCommands() default -1;
+
+    long maxMillis() default -1;
+}
@@ -0,0 +1,116 @@
+package suporte;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Listener do Selenium 4 que mede cada comando WebDriver e o atribui ao teste
+ * que está rodando na thread atual (as sessões do pool são confinadas a uma thread).
+ * As sessões são decoradas com este listener em {@link BrowserSession#open}.
+ */
+public final class CommandProfiler implements WebDriverListener {
+    public static final CommandProfiler INSTANCE = new CommandProfiler();
+
+    // Acessores locais (manage(), switchTo(), ...) não vão ao chromedriver
+    private static final Set<Class<?>> LOCAL_ACCESSORS = Set.of(
+        WebDriver.Options.class, WebDriver.TargetLocator.class, WebDriver.Navigation.class,
+        WebDriver.Timeouts.class, WebDriver.Window.class);
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Long>> STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ConcurrentLinkedQueue<Recording> FINISHED = new ConcurrentLinkedQueue<>();
+
+    /** Comandos de um teste: nome do comando -> durações em nanos. */
+    public static final class Recording {
+        private final String testName;
+        private final Map<String, List<Long>> commands = new TreeMap<>();
+
+        Recording(String testName) {
+            this.testName = testName;
+        }
+
+        public String testName() {
+            return testName;
+        }
+
+        public Map<String, List<Long>> commands() {
+            return commands;
+        }
+
+        public int commandCount() {
+            return commands.values().stream().mapToInt(List::size).sum();
+        }
+
+        public long totalNanos() {
+            return commands.values().stream().flatMap(List::stream).mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private CommandProfiler() {
+    }
+
+    public static void begin(String testName) {
+        CURRENT.set(new Recording(testName));
+        STARTS.get().clear();
+    }
+
+    public static Recording end() {
+        Recording recording = CURRENT.get();
+        CURRENT.remove();
+        if (recording != null) {
+            FINISHED.add(recording);
+        }
+        return recording;
+    }
+
+    public static List<Recording> finished() {
+        return new ArrayList<>(FINISHED);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (CURRENT.get() != null) {
+            STARTS.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, args);
+    }
+
+    private static void record(Method method, Object[] args) {
+        Recording recording = CURRENT.get();
+        Deque<Long> starts = STARTS.get();
+        if (recording == null || starts.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - starts.pop();
+        boolean local = (args == null || args.length == 0) && LOCAL_ACCESSORS.contains(method.getReturnType());
+        if (!local) {
+            recording.commands.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(elapsed);
+        }
+    }
+
+    // Percentil por "nearest rank" sobre a lista ordenada
+    static long percentile(List<Long> sorted, double p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+    }
+}
@@ -0,0 +1,129 @@
+package suporte;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Extensão JUnit 5 que registra os comandos WebDriver do corpo de cada teste (via {@link CommandProfiler}),
+ * aplica o {@link CommandBudget} declarado no método e, ao final da execução, grava
+ * target/command-profile.csv e target/command-profile.json (-Dteste.profile.dir para outro diretório).
+ */
+public class CommandProfilerExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    // Só o corpo do teste: o lease, a navegação do @BeforeEach e o reset do @AfterEach ficam de fora
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        // Um único relatório por execução, gravado quando o contexto raiz do JUnit fecha
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+            .getOrComputeIfAbsent(ReportWriter.class, key -> new ReportWriter(), ReportWriter.class);
+        CommandProfiler.begin(context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        CommandProfiler.Recording recording = CommandProfiler.end();
+        CommandBudget budget = context.getRequiredTestMethod().getAnnotation(CommandBudget.class);
+        if (recording == null || budget == null) {
+            return;
+        }
+        if (budget.maxCommands() >= 0 && recording.commandCount() > budget.maxCommands()) {
+            fail("ORÇAMENTO: " + recording.testName() + " usou " + recording.commandCount()
+                + " comandos WebDriver (limite " + budget.maxCommands() + "): " + summary(recording));
+        }
+        long millis = recording.totalNanos() / 1_000_000;
+        if (budget.maxMillis() >= 0 && millis > budget.maxMillis()) {
+            fail("ORÇAMENTO: " + recording.testName() + " gastou " + millis
+                + " ms em comandos WebDriver (limite " + budget.maxMillis() + " ms): " + summary(recording));
+        }
+    }
+
+    private static String summary(CommandProfiler.Recording recording) {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, List<Long>> entry : recording.commands().entrySet()) {
+            out.append(out.length() == 0 ? "" : ", ").append(entry.getKey()).append('=').append(entry.getValue().size());
+        }
+        return out.toString();
+    }
+
+    // Conteúdo de uma string JSON (sem as aspas): nomes de testes podem ter aspas, barras e controles
+    static String json(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    static final class ReportWriter implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            List<CommandProfiler.Recording> recordings = CommandProfiler.finished();
+            if (recordings.isEmpty()) {
+                return;
+            }
+            Path dir = Path.of(SuiteConfig.string("profile.dir", "target"));
+            List<String> csv = new ArrayList<>();
+            csv.add("test,command,count,total_ms,p50_ms,p99_ms");
+            StringBuilder json = new StringBuilder("[\n");
+            for (CommandProfiler.Recording recording : recordings) {
+                if (json.length() > 2) {
+                    json.append(",\n");
+                }
+                json.append(String.format(Locale.ROOT, "  {\"test\": \"%s\", \"commands\": %d, \"total_ms\": %.3f, \"by_command\": {",
+                    json(recording.testName()), recording.commandCount(), recording.totalNanos() / 1e6));
+                boolean first = true;
+                for (Map.Entry<String, List<Long>> entry : recording.commands().entrySet()) {
+                    List<Long> sorted = new ArrayList<>(entry.getValue());
+                    sorted.sort(null);
+                    long total = sorted.stream().mapToLong(Long::longValue).sum();
+                    double p50 = CommandProfiler.percentile(sorted, 50) / 1e6;
+                    double p99 = CommandProfiler.percentile(sorted, 99) / 1e6;
+                    csv.add(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f",
+                        recording.testName(), entry.getKey(), sorted.size(), total / 1e6, p50, p99));
+                    json.append(first ? "" : ",").append(String.format(Locale.ROOT,
+                        "\n    \"%s\": {\"count\": %d, \"total_ms\": %.3f, \"p50_ms\": %.3f, \"p99_ms\": %.3f}",
+                        json(entry.getKey()), sorted.size(), total / 1e6, p50, p99));
+                    first = false;
+                }
+                json.append(first ? "}}" : "\n  }}");
+            }
+            json.append("\n]\n");
+            try {
+                Files.createDirectories(dir);
+                Files.write(dir.resolve("command-profile.csv"), csv, StandardCharsets.UTF_8);
+                Files.writeString(dir.resolve("command-profile.json"), json, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar o relatório de comandos em " + dir, e);
+            }
+            System.out.println("INFO PROFILER: " + recordings.size() + " testes gravados em "
+                + dir.resolve("command-profile.json").toAbsolutePath());
+        }
+    }
+}
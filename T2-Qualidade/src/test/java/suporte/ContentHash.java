@@ -0,0 +1,76 @@
+package suporte;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Hash SHA-256 do conteúdo de uma página: tags, alguns atributos e texto normalizado.
+ * Partes que mudam a cada carregamento sem mudar o conteúdo ficam de fora: scripts, estilos,
+ * iframes, elementos de data/hora (tag time ou classe date/timestamp/clock/countdown),
+ * datas e horários no texto, números longos e tokens (nonce, CSRF, cache-busting).
+ */
+public final class ContentHash {
+    private static final Set<String> VOLATILE_TAGS = Set.of("script", "style", "noscript", "template", "iframe", "time");
+    private static final Pattern VOLATILE_CLASS =
+        Pattern.compile("\\b(date|timestamp|clock|countdown)\\b", Pattern.CASE_INSENSITIVE);
+    // Só atributos que as verificações olham, em ordem alfabética (id junto com for: label associado)
+    private static final List<String> HASHED_ATTRIBUTES = List.of(
+        "alt", "aria-label", "content", "for", "href", "id", "lang", "name", "role", "src", "title", "type");
+    private static final Pattern VOLATILE_TEXT = Pattern.compile(
+        "\\d{1,4}[-./]\\d{1,2}[-./]\\d{1,4}"      // datas
+        + "|\\d{1,2}:\\d{2}(:\\d{2})?"             // horários
+        + "|\\d{6,}"                               // timestamps e ids
+        + "|[A-Za-z0-9+/=_-]{32,}");               // tokens
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private ContentHash() {
+    }
+
+    public static String of(HtmlDocument document) {
+        StringBuilder canonical = new StringBuilder();
+        append(document.root(), canonical);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static void append(HtmlDocument.Element element, StringBuilder out) {
+        if (VOLATILE_TAGS.contains(element.tag())) {
+            return;
+        }
+        String classes = element.attr("class");
+        if (classes != null && VOLATILE_CLASS.matcher(classes).find()) {
+            return;
+        }
+        out.append('<').append(element.tag());
+        for (String name : HASHED_ATTRIBUTES) {
+            String value = element.attr(name);
+            if (value != null) {
+                out.append(' ').append(name).append('=').append(normalize(value));
+            }
+        }
+        out.append('>');
+        String text = normalize(element.ownText());
+        if (!text.isEmpty()) {
+            out.append(text);
+        }
+        for (HtmlDocument.Element child : element.children()) {
+            append(child, out);
+        }
+        out.append("</").append(element.tag()).append('>');
+    }
+
+    private static String normalize(String text) {
+        String withoutVolatile = VOLATILE_TEXT.matcher(text).replaceAll("#");
+        return SPACES.matcher(withoutVolatile).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,125 @@
+package suporte;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Matriz de resultados do {@link SiteCrawler}: uma linha por página, uma coluna por verificação.
+ * As páginas são adicionadas pelas threads do crawler; a leitura é feita depois do fim do crawl.
+ */
+public class CrawlReport {
+
+    /**
+     * Resultado de uma página. error vem preenchido quando a página não pôde ser baixada;
+     * failures tem a mensagem de cada verificação que falhou e checked as que rodaram.
+     */
+    public record Page(String url, String error, Map<String, String> failures, List<String> checked, long millis) {
+        public boolean passed(String check) {
+            return error == null && checked.contains(check) && !failures.containsKey(check);
+        }
+
+        // ok, falha, erro (página não baixada) ou - (verificação não executada)
+        public String cell(String check) {
+            if (error != null) {
+                return "erro";
+            }
+            if (!checked.contains(check)) {
+                return "-";
+            }
+            return failures.containsKey(check) ? "falha" : "ok";
+        }
+    }
+
+    private final List<String> checks;
+    private final Map<String, Page> pages = new ConcurrentSkipListMap<>();
+    private final AtomicLong overLimit = new AtomicLong();
+    private final long started = System.nanoTime();
+    private volatile long elapsedNanos;
+
+    CrawlReport(List<PageCheck> checks) {
+        this.checks = checks.stream().map(PageCheck::name).toList();
+    }
+
+    void add(Page page) {
+        pages.put(page.url(), page);
+    }
+
+    // Link novo que ficou de fora por causa do limite de páginas
+    void overLimit() {
+        overLimit.incrementAndGet();
+    }
+
+    void finish() {
+        elapsedNanos = System.nanoTime() - started;
+    }
+
+    public List<String> checks() {
+        return checks;
+    }
+
+    public Collection<Page> pages() {
+        return pages.values();
+    }
+
+    public Page page(String url) {
+        return pages.get(url);
+    }
+
+    // "url [verificação]: mensagem" para cada falha e cada página com erro
+    public List<String> failures() {
+        List<String> failures = new ArrayList<>();
+        for (Page page : pages.values()) {
+            if (page.error() != null) {
+                failures.add(page.url() + ": " + page.error());
+            }
+            page.failures().forEach((check, message) -> failures.add(page.url() + " [" + check + "]: " + message));
+        }
+        return failures;
+    }
+
+    public String summary() {
+        long errors = pages.values().stream().filter(page -> page.error() != null).count();
+        long failed = pages.values().stream().mapToLong(page -> page.failures().size()).sum();
+        return String.format("INFO CRAWL: %d páginas em %.1f s, %d verificações com falha, %d páginas com erro, %d links além do limite",
+            pages.size(), elapsedNanos / 1e9, failed, errors, overLimit.get());
+    }
+
+    public void writeCsv(Path file) {
+        List<String> csv = new ArrayList<>();
+        csv.add("url," + String.join(",", checks) + ",ms,detalhes");
+        for (Page page : pages.values()) {
+            StringBuilder line = new StringBuilder(quote(page.url()));
+            for (String check : checks) {
+                line.append(',').append(page.cell(check));
+            }
+            List<String> details = new ArrayList<>();
+            if (page.error() != null) {
+                details.add(page.error());
+            }
+            page.failures().forEach((check, message) -> details.add(check + ": " + message));
+            line.append(',').append(page.millis()).append(',').append(quote(String.join(" | ", details)));
+            csv.add(line.toString());
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o relatório do crawl em " + file, e);
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,19 @@
+package suporte;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um teste cujo resultado depende só do conteúdo da página (estrutura e texto),
+ * e não de horário, rede ou layout. No modo incremental o {@link IncrementalExtension}
+ * pula esses testes quando a página não mudou desde a última aprovação.
+ * <p>
+ * Só vale junto com {@link StaticTier}: o hash é do HTML baixado, e um teste no navegador olha o
+ * DOM depois dos scripts, que o hash não cobre. Sem {@link StaticTier} a marca é ignorada.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Deterministic {
+}
@@ -0,0 +1,95 @@
+package suporte;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extrai de uma vez, com um único executeScript, as propriedades de todos os
+ * elementos de um seletor CSS. Substitui os laços de getAttribute/isDisplayed/getSize
+ * por elemento, que custam uma ida ao chromedriver cada.
+ */
+public final class DomExtractor {
+
+    // Função properties(el) com as propriedades de um elemento; também usada pelo ElementRegistry.
+    // Mesmas regras do getAttribute do Selenium: atributo, senão a propriedade do elemento.
+    // A visibilidade usa checkVisibility (display, visibility, opacity) e exige caixa com área.
+    static final String PROPERTIES_FUNCTION =
+        "const attr = (el, name) => {" +
+        "  const value = el.getAttribute(name);" +
+        "  if (value !== null) return value;" +
+        "  const prop = el[name];" +
+        "  return prop === undefined || prop === null ? null : String(prop);" +
+        "};" +
+        "const visible = (el, rect) => rect.width > 0 && rect.height > 0 &&" +
+        "  (el.checkVisibility ? el.checkVisibility({checkOpacity: true, checkVisibilityCSS: true})" +
+        "                      : getComputedStyle(el).visibility !== 'hidden');" +
+        "const properties = el => {" +
+        "  const rect = el.getBoundingClientRect();" +
+        "  return {" +
+        "    tag: el.tagName.toLowerCase()," +
+        "    src: 'src' in el && el.hasAttribute('src') ? el.src : null," +
+        "    alt: attr(el, 'alt')," +
+        "    href: el.hasAttribute('href') ? (el.href || el.getAttribute('href')) : null," +
+        "    text: (el.innerText || '').trim()," +
+        "    ariaLabel: el.getAttribute('aria-label')," +
+        "    title: el.title || ''," +
+        "    displayed: visible(el, rect)," +
+        "    enabled: !el.disabled," +
+        "    hasChildElements: el.firstElementChild !== null," +
+        "    x: Math.round(rect.left + window.scrollX)," +
+        "    y: Math.round(rect.top + window.scrollY)," +
+        "    width: Math.round(rect.width)," +
+        "    height: Math.round(rect.height)" +
+        "  };" +
+        "};";
+
+    private static final String EXTRACT_SCRIPT = PROPERTIES_FUNCTION +
+        "const root = arguments[1] || document;" +
+        "return Array.from(root.querySelectorAll(arguments[0]), properties);";
+
+    private DomExtractor() {
+    }
+
+    public static List<ElementData> extract(WebDriver driver, String cssSelector) {
+        return extract(driver, null, cssSelector);
+    }
+
+    // Busca apenas dentro de root (ex.: os links de um footer já localizado)
+    @SuppressWarnings("unchecked")
+    public static List<ElementData> extract(WebDriver driver, WebElement root, String cssSelector) {
+        Object result = ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT, cssSelector, root);
+        List<ElementData> elements = new ArrayList<>();
+        for (Object item : (List<Object>) result) {
+            elements.add(toElementData((Map<String, Object>) item));
+        }
+        return elements;
+    }
+
+    static ElementData toElementData(Map<String, Object> values) {
+        return new ElementData(
+            (String) values.get("tag"),
+            (String) values.get("src"),
+            (String) values.get("alt"),
+            (String) values.get("href"),
+            (String) values.get("text"),
+            (String) values.get("ariaLabel"),
+            (String) values.get("title"),
+            Boolean.TRUE.equals(values.get("displayed")),
+            Boolean.TRUE.equals(values.get("enabled")),
+            Boolean.TRUE.equals(values.get("hasChildElements")),
+            number(values.get("x")),
+            number(values.get("y")),
+            number(values.get("width")),
+            number(values.get("height"))
+        );
+    }
+
+    private static int number(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+}
@@ -0,0 +1,239 @@
+package suporte;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.CapabilityType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de sessões do Chrome já aquecidas (na página inicial, sem diálogo de cookies).
+ * Cada teste faz o lease de uma sessão no @BeforeEach e devolve no @AfterEach,
+ * o que permite rodar os testes em paralelo com o JUnit 5.
+ */
+public class DriverPool implements AutoCloseable {
+    private final String baseUrl;
+    private final List<BrowserSession> sessions;
+    private final BlockingQueue<BrowserSession> idle = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedQueue<Long> leaseWaits = new ConcurrentLinkedQueue<>();
+    private final long startMillis;
+    // Milissegundos desde o início da JVM no primeiro lease (-1 = nenhum)
+    private final AtomicLong firstLease = new AtomicLong(-1);
+
+    private DriverPool(String baseUrl, List<BrowserSession> sessions, long startMillis) {
+        this.baseUrl = baseUrl;
+        this.sessions = sessions;
+        this.startMillis = startMillis;
+        idle.addAll(sessions);
+    }
+
+    // Abre as sessões em paralelo: cada ChromeDriver leva alguns segundos para subir
+    public static DriverPool start(String baseUrl, int size) {
+        return start(baseUrl, size, new ChromeOptions());
+    }
+
+    // Opções do Chrome para todas as sessões (ex.: headless no LoadGenerator); sem estratégia de
+    // carregamento nas opções, vale a de -Dteste.pageload (EAGER, com a espera no Readiness)
+    public static DriverPool start(String baseUrl, int size, ChromeOptions options) {
+        long start = System.nanoTime();
+        ChromeOptions sessionOptions = new ChromeOptions().merge(options);
+        if (options.getCapability(CapabilityType.PAGE_LOAD_STRATEGY) == null) {
+            sessionOptions.setPageLoadStrategy(Readiness.pageLoadStrategy());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(size);
+        List<Future<BrowserSession>> pending = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int id = i + 1;
+            pending.add(executor.submit(() -> BrowserSession.open(id, baseUrl, sessionOptions)));
+        }
+        executor.shutdown();
+
+        List<BrowserSession> sessions = new ArrayList<>();
+        RuntimeException failure = null;
+        for (Future<BrowserSession> future : pending) {
+            try {
+                sessions.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = new IllegalStateException("Interrompido ao abrir as sessões do pool", e);
+            } catch (ExecutionException e) {
+                failure = new IllegalStateException("Falha ao abrir sessão do Chrome", e.getCause());
+            }
+        }
+        if (failure != null) {
+            sessions.forEach(BrowserSession::close);
+            throw failure;
+        }
+        System.out.println("INFO POOL: " + size + " sessões do Chrome prontas em " + baseUrl);
+        return new DriverPool(baseUrl, sessions, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public BrowserSession lease() {
+        return lease(BlockProfile.NONE);
+    }
+
+    // Prefere uma sessão livre que já esteja com o mesmo perfil de bloqueio, evitando recarregar a página
+    public BrowserSession lease(BlockProfile profile) {
+        long start = System.nanoTime();
+        BrowserSession session = null;
+        for (BrowserSession candidate : idle) {
+            if (candidate.blockProfile().equals(profile) && idle.remove(candidate)) {
+                session = candidate;
+                break;
+            }
+        }
+        try {
+            if (session == null) {
+                session = idle.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando uma sessão livre no pool", e);
+        }
+        leaseWaits.add(System.nanoTime() - start);
+        firstLease.compareAndSet(-1, BrowserDaemon.uptimeMillis());
+        session.claim();
+        try {
+            session.applyBlockProfile(profile, baseUrl);
+        } catch (RuntimeException e) {
+            release(session);
+            throw e;
+        }
+        return session;
+    }
+
+    public void release(BrowserSession session) {
+        release(session, true);
+    }
+
+    // Sem reset a sessão volta ao pool na página em que estiver; quem fizer o próximo lease
+    // precisa navegar (o crawler navega a cada página, e o Teste confere a URL no @BeforeEach)
+    void release(BrowserSession session, boolean reset) {
+        session.unclaim();
+        try {
+            if (reset) {
+                session.reset(baseUrl);
+            }
+        } finally {
+            idle.add(session);
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    // Tempo que os testes ficaram esperando por uma sessão livre
+    public String leaseReport() {
+        List<Long> waits = new ArrayList<>(leaseWaits);
+        if (waits.isEmpty()) {
+            return "INFO POOL: nenhum lease realizado";
+        }
+        waits.sort(null);
+        long total = 0;
+        for (long wait : waits) {
+            total += wait;
+        }
+        return String.format("INFO POOL: %d sessões, %d leases, espera média %.1f ms, p50 %.1f ms, máx %.1f ms",
+            sessions.size(), waits.size(),
+            total / 1e6 / waits.size(),
+            waits.get(waits.size() / 2) / 1e6,
+            waits.get(waits.size() - 1) / 1e6);
+    }
+
+    // Quantas leituras do código-fonte foram atendidas pelo snapshot sem ir ao navegador
+    public String snapshotReport() {
+        long fetches = 0;
+        long reads = 0;
+        long audits = 0;
+        for (BrowserSession session : sessions) {
+            fetches += session.snapshot().fetches();
+            reads += session.snapshot().reads();
+            audits += session.snapshot().audits();
+        }
+        return "INFO SNAPSHOT: " + reads + " leituras do código-fonte, " + fetches + " chamadas a getPageSource(), "
+            + audits + " auditorias de acessibilidade";
+    }
+
+    // Tempo médio de carregamento da página por perfil de bloqueio, sem os carregamentos a frio do warm-up;
+    // o perfil "nenhum" tem pelo menos o carregamento de controle de cada sessão
+    public String loadTimeReport() {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (BrowserSession session : sessions) {
+            session.loadTimes().forEach((profile, times) -> {
+                long[] total = totals.computeIfAbsent(profile, name -> new long[2]);
+                total[0] += times[0];
+                total[1] += times[1];
+            });
+        }
+        if (totals.isEmpty()) {
+            return "INFO BLOQUEIO: nenhuma navegação";
+        }
+        StringBuilder report = new StringBuilder("INFO BLOQUEIO: driver.get com o cache aquecido; \"nenhum\" inclui "
+            + "um carregamento de controle sem bloqueio por sessão (-Dteste.block=false roda tudo sem bloqueio)");
+        totals.forEach((profile, total) -> report
+            .append(System.lineSeparator())
+            .append(String.format("INFO BLOQUEIO: perfil %s, %d carregamentos, média %.1f ms",
+                profile, total[0], total[1] / 1e6 / total[0])));
+        return report.toString();
+    }
+
+    // Tempo esperando a condição de prontidão e tempo economizado em relação ao load completo, por teste
+    public String readyReport() {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (BrowserSession session : sessions) {
+            session.readyTimes().forEach((test, times) -> {
+                long[] total = totals.computeIfAbsent(test, name -> new long[times.length]);
+                for (int i = 0; i < total.length; i++) {
+                    total[i] += times[i];
+                }
+            });
+        }
+        if (totals.isEmpty()) {
+            return "INFO PRONTIDÃO: nenhuma espera medida";
+        }
+        StringBuilder report = new StringBuilder("INFO PRONTIDÃO: estratégia " + Readiness.pageLoadStrategy()
+            .toString().toLowerCase(Locale.ROOT) + ", economia em relação ao fim do load");
+        long saved = 0;
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long[] total = entry.getValue();
+            saved += total[2];
+            report.append(String.format("%n  %-45s %3d esperas, média %.1f ms, economia média %.1f ms%s%s",
+                entry.getKey(), total[0], total[1] / 1e6 / total[0], total[2] / 1e6 / total[0],
+                total[3] > 0 ? String.format(" (%d sem fim do load, economia mínima)", total[3]) : "",
+                total[4] > 0 ? String.format(", %d no timeout", total[4]) : ""));
+        }
+        return report.append(String.format("%n  economia total %.1f ms", saved / 1e6)).toString();
+    }
+
+    @Override
+    public void close() {
+        for (BrowserSession session : sessions) {
+            try {
+                session.settlePendingLoad();
+            } catch (RuntimeException e) {
+                // Navegador que já caiu: a medida fica sem o fim do load
+            }
+        }
+        System.out.println(leaseReport());
+        System.out.println(snapshotReport());
+        System.out.println(loadTimeReport());
+        System.out.println(LocatorEngine.report(sessions.stream().map(BrowserSession::locators).toList()));
+        System.out.println(BrowserDaemon.report(sessions.stream().map(BrowserSession::mode).toList(),
+            startMillis, firstLease.get()));
+        System.out.println(ElementRegistry.report(sessions.stream().map(BrowserSession::elements).toList()));
+        System.out.println(readyReport());
+        sessions.forEach(BrowserSession::close);
+    }
+}
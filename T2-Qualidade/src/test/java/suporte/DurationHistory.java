@@ -0,0 +1,108 @@
+package suporte;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Duração de cada teste nas execuções anteriores, usada pelo {@link ShardPlan}. Cada execução
+ * grava o histórico inteiro em um arquivo próprio do shard (durations-2.tsv, ou durations.tsv
+ * sem sharding); ao carregar, todos os .tsv da pasta são lidos e vale a medição mais recente de
+ * cada teste. Assim os arquivos de vários shards ou máquinas podem ser simplesmente copiados
+ * para a mesma pasta. A duração é uma média móvel exponencial, para que uma execução lenta
+ * isolada não desloque o plano inteiro; testes que não rodam há {@link #MAX_AGE} saem do histórico.
+ */
+public class DurationHistory {
+    private static final String HEADER = "test\tgroup\tmillis\truns\trecorded_at";
+    // Peso da medição nova na média
+    private static final double WEIGHT = 0.3;
+    private static final Duration MAX_AGE = Duration.ofDays(30);
+
+    /** Duração média (ms) de um teste, o grupo de shard dele, quantas execuções entraram na média e quando foi medido. */
+    public record Entry(String test, String group, long millis, int runs, long recordedAt) {
+    }
+
+    private final Path directory;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public DurationHistory(Path directory) {
+        this.directory = directory;
+        if (Files.isDirectory(directory)) {
+            load();
+        }
+    }
+
+    public Entry get(String test) {
+        return entries.get(test);
+    }
+
+    // Ordenado por teste, para que o plano não dependa da ordem de leitura dos arquivos
+    public Map<String, Entry> entries() {
+        return new TreeMap<>(entries);
+    }
+
+    // Mediana das durações conhecidas, ou o valor dado quando o histórico está vazio
+    public long typicalMillis(long whenEmpty) {
+        long[] millis = entries.values().stream().mapToLong(Entry::millis).sorted().toArray();
+        return millis.length == 0 ? whenEmpty : millis[millis.length / 2];
+    }
+
+    public void record(String test, String group, long millis) {
+        entries.merge(test, new Entry(test, group, millis, 1, System.currentTimeMillis()), (old, measured) ->
+            new Entry(test, group, Math.round(old.millis() * (1 - WEIGHT) + measured.millis() * WEIGHT),
+                old.runs() + 1, measured.recordedAt()));
+    }
+
+    public synchronized void save(String fileName) {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (Entry entry : entries().values()) {
+            lines.add(String.join("\t", entry.test(), entry.group(), String.valueOf(entry.millis()),
+                String.valueOf(entry.runs()), String.valueOf(entry.recordedAt())));
+        }
+        Path file = directory.resolve(fileName);
+        try {
+            Files.createDirectories(directory);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o histórico de durações em " + file, e);
+        }
+    }
+
+    private void load() {
+        long oldest = System.currentTimeMillis() - MAX_AGE.toMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.tsv")) {
+            for (Path file : files) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    String[] fields = line.split("\t");
+                    if (fields.length != 5 || line.equals(HEADER)) {
+                        continue;
+                    }
+                    try {
+                        Entry entry = new Entry(fields[0], fields[1], Long.parseLong(fields[2]),
+                            Integer.parseInt(fields[3]), Long.parseLong(fields[4]));
+                        if (entry.recordedAt() >= oldest) {
+                            entries.merge(entry.test(), entry, (a, b) -> a.recordedAt() >= b.recordedAt() ? a : b);
+                        }
+                    } catch (NumberFormatException e) {
+                        // Linha corrompida: o teste volta a ser estimado pela mediana
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o histórico de durações em " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package suporte;
+
+/**
+ * Propriedades de um elemento extraídas pelo {@link DomExtractor} em uma única chamada ao navegador.
+ * Campos que não se aplicam ao elemento (ex.: src em um link) vêm como null.
+ */
+public record ElementData(
+    String tag,
+    String src,
+    String alt,
+    String href,
+    String text,
+    String ariaLabel,
+    String title,
+    boolean displayed,
+    boolean enabled,
+    boolean hasChildElements,
+    int x,
+    int y,
+    int width,
+    int height
+) {
+}
@@ -0,0 +1,222 @@
+package suporte;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Localizadores nomeados da página (header, logo, footer, links da navegação e do footer, campo
+ * de busca) com os elementos encontrados guardados por página. Cada {@link BrowserSession} tem o
+ * seu registro, e a sessão fica na mesma página entre testes, então o segundo teste que pede o
+ * footer recebe a mesma referência (e as mesmas {@link ElementData}) sem refazer a busca.
+ * <p>
+ * A validação é uma chamada curta ao navegador: na primeira busca da página um MutationObserver
+ * passa a contar as mudanças no DOM (nós, atributos e texto, fora das áreas dinâmicas de
+ * visual-masks.properties, como carrosséis) e a página recebe um token. A entrada vale enquanto o
+ * token e o contador forem os mesmos de quando ela foi resolvida; senão a busca é refeita na mesma
+ * chamada. Navegar pela sessão limpa o registro, e um StaleElementReferenceException em qualquer
+ * comando da sessão também (a sessão avisa pelo listener do driver).
+ */
+public final class ElementRegistry {
+    /** Localizador por seletor CSS ou por cadeia de XPaths alternativos (vale o primeiro que encontrar algo). */
+    public record Locator(String name, String css, List<String> xpaths) {
+        public static Locator css(String name, String css) {
+            return new Locator(name, css, List.of());
+        }
+
+        public static Locator firstOf(String name, String... xpaths) {
+            return new Locator(name, null, List.of(xpaths));
+        }
+    }
+
+    private static final String LOWER = "translate(@alt, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz')";
+
+    // Header e, como alternativa, o logo
+    public static final Locator HEADER = Locator.firstOf("header",
+        "//header | //*[contains(@class, 'header') or contains(@class, 'navbar') or contains(@class, 'site-header')]",
+        "//img[contains(" + LOWER + ", 'logo') or contains(" + LOWER + ", 'rwth')] | //a[@href='/'] | //*[contains(@class, 'logo')]");
+    public static final Locator LOGO_LINK = Locator.firstOf("logo link",
+        "//a[img[contains(" + LOWER + ", 'logo') or contains(" + LOWER + ", 'rwth')]] | //a[@href='/']/img");
+    public static final Locator FOOTER = Locator.css("footer", "footer");
+    public static final Locator FOOTER_LINKS = Locator.css("footer links", "footer a");
+    public static final Locator NAV_LINKS = Locator.css("nav links", "nav a, header a, .navigation a, .navbar a");
+    public static final Locator SEARCH_INPUT = Locator.firstOf("search input",
+        "//input[@type='search']",
+        "//input[contains(@placeholder, 'search') or contains(@placeholder, 'Search')]",
+        "//input[contains(@name, 'search') or contains(@id, 'search')]");
+
+    // Valida token e contador; se mudaram, resolve o localizador (e as propriedades, se pedidas) na mesma chamada
+    private static final String LOOKUP_SCRIPT = DomExtractor.PROPERTIES_FUNCTION +
+        "const [token, generation, css, xpaths, withData, dynamic] = arguments;" +
+        "let state = window.__elementRegistry;" +
+        "if (!state) {" +
+        "  state = window.__elementRegistry = {token: Date.now().toString(36) + Math.random().toString(36).slice(2), generation: 0};" +
+        "  new MutationObserver(records => {" +
+        "    for (const record of records) {" +
+        "      const target = record.target.nodeType === 1 ? record.target : record.target.parentElement;" +
+        "      if (!dynamic || !target || !target.closest(dynamic)) { state.generation++; return; }" +
+        "    }" +
+        "  }).observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+        "}" +
+        "if (state.token === token && state.generation === generation) return {hit: true};" +
+        "let found = [];" +
+        "if (css) {" +
+        "  found = Array.from(document.querySelectorAll(css));" +
+        "} else {" +
+        "  for (const xpath of xpaths) {" +
+        "    const result = document.evaluate(xpath, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "    for (let i = 0; i < result.snapshotLength; i++) {" +
+        "      const node = result.snapshotItem(i);" +
+        "      if (node.nodeType === Node.ELEMENT_NODE) found.push(node);" +
+        "    }" +
+        "    if (found.length > 0) break;" +
+        "  }" +
+        "}" +
+        "return {hit: false, token: state.token, generation: state.generation, elements: found," +
+        "  data: withData ? found.map(properties) : null};";
+
+    private static final String DYNAMIC_AREAS = VisualBaseline.dynamicAreas();
+
+    // Elementos de um localizador, com o token e o contador da página quando foram resolvidos
+    private static final class Entry {
+        final String token;
+        final long generation;
+        final List<WebElement> elements;
+        List<ElementData> data;
+
+        Entry(String token, long generation, List<WebElement> elements) {
+            this.token = token;
+            this.generation = generation;
+            this.elements = elements;
+        }
+    }
+
+    private final WebDriver driver;
+    private final LocatorEngine locators;
+    private final Map<String, Entry> entries = new HashMap<>();
+    // nome -> {buscas, no cache, refeitas por mudança no DOM, nanos}
+    private final Map<String, long[]> stats = new TreeMap<>();
+    private long navigations;
+    private long staleElements;
+
+    public ElementRegistry(WebDriver driver, LocatorEngine locators) {
+        this.driver = driver;
+        this.locators = locators;
+    }
+
+    public List<WebElement> all(Locator locator) {
+        return lookup(locator, false).elements;
+    }
+
+    // Propriedades dos elementos (como o DomExtractor), também guardadas até a página mudar
+    public List<ElementData> data(Locator locator) {
+        return lookup(locator, true).data;
+    }
+
+    /**
+     * Primeiro elemento de um localizador CSS; se ainda não existe, espera como o
+     * {@link LocatorEngine#mustAppear} e guarda o que aparecer.
+     */
+    public WebElement mustAppear(Locator locator) {
+        List<WebElement> elements = all(locator);
+        if (!elements.isEmpty()) {
+            return elements.get(0);
+        }
+        if (locator.css() == null) {
+            throw new IllegalArgumentException("mustAppear precisa de um localizador CSS: " + locator.name());
+        }
+        WebElement element = locators.mustAppear(locator.name(), By.cssSelector(locator.css()));
+        // O elemento novo mudou o DOM: a próxima busca refaz a entrada com o contador atual
+        entries.remove(locator.name());
+        return element;
+    }
+
+    // Chamado pela sessão ao navegar
+    void invalidate() {
+        if (!entries.isEmpty()) {
+            navigations++;
+            entries.clear();
+        }
+    }
+
+    // Chamado pela sessão quando um comando falha com StaleElementReferenceException
+    void staleElement() {
+        staleElements++;
+        entries.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry lookup(Locator locator, boolean withData) {
+        long start = System.nanoTime();
+        Entry entry = entries.get(locator.name());
+        boolean cached = entry != null && (!withData || entry.data != null);
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(LOOKUP_SCRIPT,
+            cached ? entry.token : null, cached ? entry.generation : -1, locator.css(), locator.xpaths(), withData,
+            DYNAMIC_AREAS);
+        long[] entryStats = stats.computeIfAbsent(locator.name(), key -> new long[4]);
+        entryStats[0]++;
+        if (Boolean.TRUE.equals(result.get("hit"))) {
+            entryStats[1]++;
+        } else {
+            String token = (String) result.get("token");
+            if (entry != null && token.equals(entry.token)) {
+                entryStats[2]++;
+            }
+            entry = new Entry(token, ((Number) result.get("generation")).longValue(),
+                new ArrayList<>((List<WebElement>) result.get("elements")));
+            if (withData) {
+                List<ElementData> data = new ArrayList<>();
+                for (Object item : (List<Object>) result.get("data")) {
+                    data.add(DomExtractor.toElementData((Map<String, Object>) item));
+                }
+                entry.data = data;
+            }
+            entries.put(locator.name(), entry);
+        }
+        entryStats[3] += System.nanoTime() - start;
+        return entry;
+    }
+
+    Map<String, long[]> stats() {
+        return stats;
+    }
+
+    // Soma as estatísticas de várias sessões: taxa de acerto por localizador e invalidações
+    static String report(List<ElementRegistry> registries) {
+        Map<String, long[]> total = new TreeMap<>();
+        long navigations = 0;
+        long stale = 0;
+        for (ElementRegistry registry : registries) {
+            navigations += registry.navigations;
+            stale += registry.staleElements;
+            for (Map.Entry<String, long[]> entry : registry.stats().entrySet()) {
+                long[] sum = total.computeIfAbsent(entry.getKey(), key -> new long[4]);
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += entry.getValue()[i];
+                }
+            }
+        }
+        StringBuilder report = new StringBuilder(String.format(
+            "INFO REGISTRO: cache limpo em %d navegações e %d elementos obsoletos", navigations, stale));
+        long lookups = 0;
+        long hits = 0;
+        for (Map.Entry<String, long[]> entry : total.entrySet()) {
+            long[] sum = entry.getValue();
+            lookups += sum[0];
+            hits += sum[1];
+            report.append(String.format("%n  %-20s %4d buscas, %4d no cache (%.0f%%), %4d refeitas por mudança no DOM, média %.1f ms",
+                entry.getKey(), sum[0], sum[1], 100.0 * sum[1] / sum[0], sum[2], sum[3] / 1e6 / sum[0]));
+        }
+        if (lookups > 0) {
+            report.append(String.format("%n  %-20s %4d buscas, %4d no cache (%.0f%%)", "total", lookups, hits, 100.0 * hits / lookups));
+        }
+        return report.toString();
+    }
+}
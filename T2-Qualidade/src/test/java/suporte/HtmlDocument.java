@@ -0,0 +1,317 @@
+package suporte;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DOM simplificado para as verificações que só olham a marcação (título, meta tags, texto).
+ * O parser é tolerante como o de um navegador para o HTML comum: ignora comentários e
+ * doctype, trata script/style como texto bruto, conhece os elementos vazios e fecha
+ * elementos abertos quando encontra a tag de fechamento de um ancestral.
+ * Não executa JavaScript nem calcula layout.
+ */
+public final class HtmlDocument {
+    private static final Set<String> VOID_ELEMENTS = Set.of(
+        "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta",
+        "param", "source", "track", "wbr");
+    private static final Set<String> RAW_TEXT_ELEMENTS = Set.of("script", "style", "textarea", "title");
+
+    /** Um elemento do documento: nome da tag, atributos, filhos e texto direto. */
+    public static final class Element {
+        private final String tag;
+        private final Map<String, String> attributes;
+        private final List<Element> children = new ArrayList<>();
+        private final StringBuilder ownText = new StringBuilder();
+
+        Element(String tag, Map<String, String> attributes) {
+            this.tag = tag;
+            this.attributes = attributes;
+        }
+
+        public String tag() {
+            return tag;
+        }
+
+        // null quando o atributo não existe, como em Element.getAttribute do DOM
+        public String attr(String name) {
+            return attributes.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        public List<Element> children() {
+            return children;
+        }
+
+        // Este elemento e os descendentes com a tag, em ordem de documento
+        public List<Element> select(String tag) {
+            return HtmlDocument.select(this, tag);
+        }
+
+        public String ownText() {
+            return ownText.toString();
+        }
+
+        // Texto deste elemento e de todos os descendentes (sem script/style)
+        public String text() {
+            StringBuilder out = new StringBuilder();
+            appendText(this, out);
+            return out.toString().replaceAll("\\s+", " ").trim();
+        }
+
+        private static void appendText(Element element, StringBuilder out) {
+            if (element.tag.equals("script") || element.tag.equals("style")) {
+                return;
+            }
+            out.append(element.ownText).append(' ');
+            for (Element child : element.children) {
+                appendText(child, out);
+            }
+        }
+    }
+
+    private final Element root;
+
+    private HtmlDocument(Element root) {
+        this.root = root;
+    }
+
+    public Element root() {
+        return root;
+    }
+
+    // Todos os elementos com a tag, em ordem de documento
+    public List<Element> select(String tag) {
+        return select(root, tag);
+    }
+
+    private static List<Element> select(Element from, String tag) {
+        String wanted = tag.toLowerCase(Locale.ROOT);
+        List<Element> found = new ArrayList<>();
+        Deque<Element> stack = new ArrayDeque<>();
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            Element element = stack.pop();
+            if (element.tag.equals(wanted)) {
+                found.add(element);
+            }
+            for (int i = element.children.size() - 1; i >= 0; i--) {
+                stack.push(element.children.get(i));
+            }
+        }
+        return found;
+    }
+
+    public String title() {
+        List<Element> titles = select("title");
+        return titles.isEmpty() ? "" : titles.get(0).ownText().replaceAll("\\s+", " ").trim();
+    }
+
+    // Primeira <meta name="...">, com o nome exato como no XPath //meta[@name='...']
+    public Element meta(String name) {
+        for (Element meta : select("meta")) {
+            String metaName = meta.attr("name");
+            if (name.equals(metaName)) {
+                return meta;
+            }
+        }
+        return null;
+    }
+
+    public static HtmlDocument parse(String html) {
+        Element root = new Element("#document", Map.of());
+        Deque<Element> open = new ArrayDeque<>();
+        open.push(root);
+        int i = 0;
+        int n = html.length();
+        while (i < n) {
+            int lt = html.indexOf('<', i);
+            if (lt < 0) {
+                open.peek().ownText.append(decode(html.substring(i)));
+                break;
+            }
+            if (lt > i) {
+                open.peek().ownText.append(decode(html.substring(i, lt)));
+            }
+            if (html.startsWith("<!--", lt)) {
+                int end = html.indexOf("-->", lt + 4);
+                i = end < 0 ? n : end + 3;
+            } else if (html.startsWith("<!", lt) || html.startsWith("<?", lt)) {
+                int end = html.indexOf('>', lt);
+                i = end < 0 ? n : end + 1;
+            } else if (html.startsWith("</", lt)) {
+                int end = html.indexOf('>', lt);
+                String tag = tagName(html, lt + 2, end < 0 ? n : end);
+                close(open, tag);
+                i = end < 0 ? n : end + 1;
+            } else if (lt + 1 < n && Character.isLetter(html.charAt(lt + 1))) {
+                i = openTag(html, lt, open);
+            } else {
+                open.peek().ownText.append('<');
+                i = lt + 1;
+            }
+        }
+        return new HtmlDocument(root);
+    }
+
+    // Lê "<tag atributos...>" a partir de start e devolve a posição depois do '>'
+    private static int openTag(String html, int start, Deque<Element> open) {
+        int n = html.length();
+        int i = start + 1;
+        int nameStart = i;
+        while (i < n && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '>' && html.charAt(i) != '/') {
+            i++;
+        }
+        String tag = html.substring(nameStart, i).toLowerCase(Locale.ROOT);
+        Map<String, String> attributes = new LinkedHashMap<>();
+        boolean selfClosing = false;
+        while (i < n) {
+            char c = html.charAt(i);
+            if (c == '>') {
+                i++;
+                break;
+            }
+            if (c == '/' || Character.isWhitespace(c)) {
+                selfClosing = c == '/';
+                i++;
+                continue;
+            }
+            int attrStart = i;
+            while (i < n && "=>/ \t\r\n\f".indexOf(html.charAt(i)) < 0) {
+                i++;
+            }
+            String name = html.substring(attrStart, i).toLowerCase(Locale.ROOT);
+            while (i < n && Character.isWhitespace(html.charAt(i))) {
+                i++;
+            }
+            String value = "";
+            if (i < n && html.charAt(i) == '=') {
+                i++;
+                while (i < n && Character.isWhitespace(html.charAt(i))) {
+                    i++;
+                }
+                if (i < n && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+                    char quote = html.charAt(i);
+                    int end = html.indexOf(quote, i + 1);
+                    end = end < 0 ? n : end;
+                    value = html.substring(i + 1, end);
+                    i = Math.min(n, end + 1);
+                } else {
+                    int valueStart = i;
+                    while (i < n && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '>') {
+                        i++;
+                    }
+                    value = html.substring(valueStart, i);
+                }
+            }
+            attributes.putIfAbsent(name, decode(value));
+        }
+
+        Element element = new Element(tag, attributes);
+        open.peek().children.add(element);
+        if (VOID_ELEMENTS.contains(tag) || selfClosing) {
+            return i;
+        }
+        if (RAW_TEXT_ELEMENTS.contains(tag)) {
+            int end = indexOfIgnoreCase(html, "</" + tag, i);
+            end = end < 0 ? n : end;
+            String raw = html.substring(i, end);
+            element.ownText.append(tag.equals("title") || tag.equals("textarea") ? decode(raw) : raw);
+            int close = html.indexOf('>', end);
+            return close < 0 ? n : close + 1;
+        }
+        open.push(element);
+        return i;
+    }
+
+    // Fecha até o elemento com a tag; tags de fechamento sem abertura são ignoradas
+    private static void close(Deque<Element> open, String tag) {
+        for (Element element : open) {
+            if (element.tag.equals(tag)) {
+                while (open.peek() != element) {
+                    open.pop();
+                }
+                open.pop();
+                return;
+            }
+        }
+    }
+
+    private static String tagName(String html, int start, int end) {
+        int i = start;
+        while (i < end && !Character.isWhitespace(html.charAt(i))) {
+            i++;
+        }
+        return html.substring(start, i).toLowerCase(Locale.ROOT);
+    }
+
+    private static int indexOfIgnoreCase(String text, String needle, int from) {
+        for (int i = from; i <= text.length() - needle.length(); i++) {
+            if (text.regionMatches(true, i, needle, 0, needle.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Entidades mais comuns; as demais ficam como estão
+    static String decode(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int semicolon = c == '&' ? text.indexOf(';', i) : -1;
+            if (semicolon > i && semicolon - i <= 10) {
+                String entity = text.substring(i + 1, semicolon);
+                String decoded = decodeEntity(entity);
+                if (decoded != null) {
+                    out.append(decoded);
+                    i = semicolon + 1;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    private static String decodeEntity(String entity) {
+        switch (entity) {
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            case "nbsp":
+                return " ";
+            case "copy":
+                return "©";
+            default:
+                break;
+        }
+        try {
+            if (entity.startsWith("#x") || entity.startsWith("#X")) {
+                return new String(Character.toChars(Integer.parseInt(entity.substring(2), 16)));
+            }
+            if (entity.startsWith("#")) {
+                return new String(Character.toChars(Integer.parseInt(entity.substring(1))));
+            }
+        } catch (IllegalArgumentException e) {
+            // Entidade numérica inválida: mantém o texto original
+        }
+        return null;
+    }
+}
@@ -0,0 +1,313 @@
+package suporte;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Compara duas imagens de mesmo tamanho em blocos de {@link #TILE}x{@link #TILE} pixels,
+ * divididos entre as threads de um ForkJoinPool. Cada bloco passa por três etapas, da mais barata
+ * para a mais cara:
+ * <ol>
+ *   <li>Linhas iguais: Arrays.mismatch em cada linha (a JVM compara vários pixels por instrução)
+ *       pula direto para o primeiro pixel diferente; blocos idênticos, o caso da maioria das
+ *       regiões entre duas execuções, nunca são comparados pixel a pixel.</li>
+ *   <li>Tolerância: a partir do primeiro pixel diferente, um pixel conta quando algum canal muda
+ *       mais que a tolerância; pixels dentro de uma {@link Mask} não entram na conta.</li>
+ *   <li>Hash perceptual, só nos blocos com poucos pixels diferentes (até 1/64 do bloco, 16 pixels
+ *       em um bloco inteiro): se o brilho médio e os {@link PixelBuffer#differenceHash dHash}
+ *       horizontal e vertical dos dois blocos são os mesmos, a diferença é ruído de renderização
+ *       (anti-aliasing, subpixel) e o bloco conta como igual. Blocos de 32 pixels deixam cada
+ *       célula do hash com uns 4x4 pixels: um caractere trocado quase sempre inverte algum bit, e
+ *       o limite de pixels impede que uma palavra ou um ícone trocado que não inverta nenhum passe
+ *       como ruído.</li>
+ * </ol>
+ * O hash fica por último porque custa mais que a comparação com tolerância (lê os dois blocos
+ * inteiros); calculado só onde há diferença, ele não pesa nas capturas iguais.
+ * Nenhuma etapa aloca arrays de pixels; a imagem de diferenças de {@link #highlight} é escrita
+ * em um {@link PixelBuffer} recebido.
+ */
+public final class ImageDiff {
+    public static final int TILE = 32;
+    // Blocos por tarefa antes de dividir entre threads
+    private static final int TILES_PER_TASK = 64;
+    private static final int CHANGED = 0xFFFF0000;
+    private static final int MASKED = 0xFF3060C0;
+    // Diferença máxima de luminância média (0 a 255) para um bloco com o mesmo hash contar como ruído
+    private static final double MAX_NOISE_LUMINANCE = 2.0;
+    // Fração máxima de pixels diferentes (1/64) para um bloco ainda poder contar como ruído
+    private static final int NOISE_PIXEL_FRACTION = 64;
+    // Células do hash (9x8), reaproveitadas por thread entre as tarefas
+    private static final ThreadLocal<long[]> SCRATCH = ThreadLocal.withInitial(() -> new long[72]);
+
+    /** Retângulo ignorado na comparação (área dinâmica, como um carrossel de notícias). */
+    public record Mask(int x, int y, int width, int height) {
+        boolean contains(int px, int py) {
+            return px >= x && px < x + width && py >= y && py < y + height;
+        }
+
+        boolean intersects(int x0, int y0, int x1, int y1) {
+            return x < x1 && x + width > x0 && y < y1 && y + height > y0;
+        }
+    }
+
+    /**
+     * Resultado da comparação: pixels comparados (fora das máscaras) e diferentes, e quantos
+     * blocos pararam em cada etapa. Imagens de tamanhos diferentes não são comparadas.
+     */
+    public record Result(int width, int height, long comparedPixels, long differentPixels,
+                         int identicalTiles, int noiseTiles, int changedTiles, boolean sizeChanged) {
+        // Fração dos pixels comparados que mudou (1.0 quando o tamanho mudou)
+        public double score() {
+            if (sizeChanged) {
+                return 1.0;
+            }
+            return comparedPixels == 0 ? 0.0 : (double) differentPixels / comparedPixels;
+        }
+
+        public boolean identical() {
+            return !sizeChanged && differentPixels == 0;
+        }
+
+        @Override
+        public String toString() {
+            if (sizeChanged) {
+                return "tamanho mudou";
+            }
+            return String.format("%.3f%% (%d de %d pixels; blocos: %d iguais, %d só com ruído, %d com diferença)",
+                score() * 100, differentPixels, comparedPixels, identicalTiles, noiseTiles, changedTiles);
+        }
+    }
+
+    private final int tolerance;
+    private final boolean perceptual;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param tolerance  diferença máxima por canal (0 a 255) ainda considerada igual
+     * @param perceptual usa o hash perceptual para dar como iguais blocos que só têm ruído
+     * @param pool       pool que divide os blocos; null compara tudo na thread atual
+     */
+    public ImageDiff(int tolerance, boolean perceptual, ForkJoinPool pool) {
+        if (tolerance < 0 || tolerance > 255) {
+            throw new IllegalArgumentException("Tolerância deve estar entre 0 e 255: " + tolerance);
+        }
+        this.tolerance = tolerance;
+        this.perceptual = perceptual;
+        this.pool = pool;
+    }
+
+    public Result compare(PixelBuffer baseline, PixelBuffer current, List<Mask> masks) {
+        if (baseline.width() != current.width() || baseline.height() != current.height()) {
+            return new Result(current.width(), current.height(), 0, 0, 0, 0, 0, true);
+        }
+        Counts counts = run(new TileTask(baseline, current, masks, null, 0, tiles(current)));
+        return new Result(current.width(), current.height(), counts.compared, counts.different,
+            counts.identical, counts.noise, counts.changed, false);
+    }
+
+    /**
+     * Imagem de diferenças em {@code out}: a imagem atual clareada, pixels diferentes em vermelho
+     * e máscaras em azul. Só faz sentido para imagens do mesmo tamanho.
+     */
+    public void highlight(PixelBuffer baseline, PixelBuffer current, List<Mask> masks, PixelBuffer out) {
+        if (baseline.width() != current.width() || baseline.height() != current.height()) {
+            throw new IllegalArgumentException("Imagens de tamanhos diferentes: " + baseline.width() + "x"
+                + baseline.height() + " e " + current.width() + "x" + current.height());
+        }
+        out.resize(current.width(), current.height());
+        run(new TileTask(baseline, current, masks, out, 0, tiles(current)));
+    }
+
+    private Counts run(TileTask task) {
+        if (pool == null) {
+            return task.compute();
+        }
+        return pool.invoke(task);
+    }
+
+    private static int tiles(PixelBuffer image) {
+        return columns(image) * ceilDiv(image.height(), TILE);
+    }
+
+    private static int columns(PixelBuffer image) {
+        return ceilDiv(image.width(), TILE);
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+
+    private static final class Counts {
+        long compared;
+        long different;
+        int identical;
+        int noise;
+        int changed;
+
+        Counts add(Counts other) {
+            compared += other.compared;
+            different += other.different;
+            identical += other.identical;
+            noise += other.noise;
+            changed += other.changed;
+            return this;
+        }
+    }
+
+    // Blocos [from, to) em ordem de linha; divide ao meio até TILES_PER_TASK blocos
+    private final class TileTask extends RecursiveTask<Counts> {
+        private static final long serialVersionUID = 1L;
+
+        private final PixelBuffer baseline;
+        private final PixelBuffer current;
+        private final List<Mask> masks;
+        private final PixelBuffer out;
+        private final int from;
+        private final int to;
+
+        TileTask(PixelBuffer baseline, PixelBuffer current, List<Mask> masks, PixelBuffer out, int from, int to) {
+            this.baseline = baseline;
+            this.current = current;
+            this.masks = masks;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (pool != null && to - from > TILES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                TileTask left = new TileTask(baseline, current, masks, out, from, middle);
+                left.fork();
+                Counts right = new TileTask(baseline, current, masks, out, middle, to).compute();
+                return right.add(left.join());
+            }
+            Counts counts = new Counts();
+            long[] scratch = SCRATCH.get();
+            int columns = columns(current);
+            for (int tile = from; tile < to; tile++) {
+                int x0 = tile % columns * TILE;
+                int y0 = tile / columns * TILE;
+                int x1 = Math.min(x0 + TILE, current.width());
+                int y1 = Math.min(y0 + TILE, current.height());
+                boolean masked = intersectsMask(x0, y0, x1, y1);
+                long different = compareTile(x0, y0, x1, y1, masked, counts, scratch);
+                if (out != null) {
+                    render(x0, y0, x1, y1, masked, different > 0);
+                }
+            }
+            return counts;
+        }
+
+        // Pixels do bloco que mudaram além da tolerância; 0 quando o bloco é igual ou só tem ruído
+        private long compareTile(int x0, int y0, int x1, int y1, boolean masked, Counts counts, long[] scratch) {
+            long compared = (long) (x1 - x0) * (y1 - y0);
+            if (masked) {
+                for (int y = y0; y < y1; y++) {
+                    for (int x = x0; x < x1; x++) {
+                        if (isMasked(x, y)) {
+                            compared--;
+                        }
+                    }
+                }
+            }
+            counts.compared += compared;
+
+            int[] a = baseline.pixels();
+            int[] b = current.pixels();
+            int width = current.width();
+            long different = 0;
+            for (int y = y0; y < y1; y++) {
+                int offset = y * width;
+                int start = Arrays.mismatch(a, offset + x0, offset + x1, b, offset + x0, offset + x1);
+                if (start < 0) {
+                    continue;
+                }
+                for (int x = x0 + start; x < x1; x++) {
+                    int i = offset + x;
+                    if (a[i] != b[i] && exceedsTolerance(a[i], b[i]) && !(masked && isMasked(x, y))) {
+                        different++;
+                    }
+                }
+            }
+            if (different == 0) {
+                // Linhas iguais, ou só diferenças dentro da tolerância ou das máscaras
+                counts.identical++;
+                return 0;
+            }
+            if (perceptual && !masked && x1 - x0 >= 9 && y1 - y0 >= 9 && different <= compared / NOISE_PIXEL_FRACTION
+                && perceptuallyEqual(x0, y0, x1, y1, scratch)) {
+                counts.noise++;
+                return 0;
+            }
+            counts.changed++;
+            counts.different += different;
+            return different;
+        }
+
+        // Mesmo brilho médio e mesmos dHash horizontal e vertical: bordas de texto e de imagens
+        // renderizadas um pouco diferente, sem mudança de conteúdo nem de cor de fundo
+        private boolean perceptuallyEqual(int x0, int y0, int x1, int y1, long[] scratch) {
+            return Math.abs(baseline.meanLuminance(x0, y0, x1, y1) - current.meanLuminance(x0, y0, x1, y1)) <= MAX_NOISE_LUMINANCE
+                && baseline.differenceHash(x0, y0, x1, y1, scratch) == current.differenceHash(x0, y0, x1, y1, scratch)
+                && baseline.verticalDifferenceHash(x0, y0, x1, y1, scratch)
+                    == current.verticalDifferenceHash(x0, y0, x1, y1, scratch);
+        }
+
+        // Vermelho só nos blocos que contaram como mudança, para a imagem bater com o resultado
+        private void render(int x0, int y0, int x1, int y1, boolean masked, boolean changed) {
+            int[] a = baseline.pixels();
+            int[] b = current.pixels();
+            int[] target = out.pixels();
+            int width = current.width();
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    int i = y * width + x;
+                    if (masked && isMasked(x, y)) {
+                        target[i] = MASKED;
+                    } else if (changed && a[i] != b[i] && exceedsTolerance(a[i], b[i])) {
+                        target[i] = CHANGED;
+                    } else {
+                        target[i] = faded(b[i]);
+                    }
+                }
+            }
+        }
+
+        private boolean intersectsMask(int x0, int y0, int x1, int y1) {
+            for (Mask mask : masks) {
+                if (mask.intersects(x0, y0, x1, y1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isMasked(int x, int y) {
+            for (Mask mask : masks) {
+                if (mask.contains(x, y)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private boolean exceedsTolerance(int a, int b) {
+        return Math.abs((a >>> 24) - (b >>> 24)) > tolerance
+            || Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF)) > tolerance
+            || Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF)) > tolerance
+            || Math.abs((a & 0xFF) - (b & 0xFF)) > tolerance;
+    }
+
+    // Pixel sem mudança clareado a 25% da cor original, para o vermelho se destacar
+    private static int faded(int argb) {
+        int r = 191 + ((argb >> 16) & 0xFF) / 4;
+        int g = 191 + ((argb >> 8) & 0xFF) / 4;
+        int b = 191 + (argb & 0xFF) / 4;
+        return 0xFF000000 | r << 16 | g << 8 | b;
+    }
+}
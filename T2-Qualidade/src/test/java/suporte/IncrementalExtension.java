@@ -0,0 +1,134 @@
+package suporte;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Execução incremental para monitoramento (-Dteste.incremental=true).
+ * Antes de cada teste {@link Deterministic}, compara o {@link ContentHash} do HTML atual da página
+ * (baixado uma vez por execução pelo {@link StaticFetcher}) com o da última aprovação no
+ * {@link ResultStore}: se for o mesmo, o teste é pulado. Os demais testes (horário, rede, layout)
+ * sempre rodam. Ao final, informa quantos testes foram pulados e o tempo economizado, estimado
+ * pela duração registrada na execução que os aprovou (lease, navegação e corpo do teste).
+ * <p>
+ * Registrada com @RegisterExtension, recebendo a URL verificada pelos testes da classe.
+ */
+public class IncrementalExtension implements ExecutionCondition, BeforeEachCallback, AfterEachCallback, TestWatcher {
+    private final String url;
+    private final boolean enabled = SuiteConfig.flag("incremental", false);
+    private final Map<String, Long> starts = new ConcurrentHashMap<>();
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger executed = new AtomicInteger();
+    private final AtomicLong savedMillis = new AtomicLong();
+    private ResultStore store;
+    private String hash;
+
+    public IncrementalExtension(String url) {
+        this.url = url;
+    }
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (!enabled || !isDeterministic(context)) {
+            return ConditionEvaluationResult.enabled("Fora do modo incremental");
+        }
+        context.getRoot().getStore(ExtensionContext.Namespace.create(IncrementalExtension.class, url))
+            .getOrComputeIfAbsent(ReportWriter.class, key -> new ReportWriter(), ReportWriter.class);
+        String current = hash();
+        ResultStore.Verdict verdict = current == null ? null : store().passed(url, current, testId(context));
+        if (verdict == null) {
+            return ConditionEvaluationResult.enabled("Página mudou ou sem aprovação anterior");
+        }
+        skipped.incrementAndGet();
+        savedMillis.addAndGet(verdict.millis());
+        return ConditionEvaluationResult.disabled("INCREMENTAL: página sem mudanças (hash " + current.substring(0, 12)
+            + "), aprovado em " + Instant.ofEpochMilli(verdict.recordedAt()));
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (enabled && isDeterministic(context)) {
+            starts.put(context.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = starts.remove(context.getUniqueId());
+        if (start != null) {
+            durations.put(context.getUniqueId(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        Long millis = durations.remove(context.getUniqueId());
+        if (millis != null && hash() != null) {
+            executed.incrementAndGet();
+            store().recordPass(url, hash(), testId(context), millis);
+        }
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        if (durations.remove(context.getUniqueId()) != null) {
+            executed.incrementAndGet();
+            store().forget(url, testId(context));
+        }
+    }
+
+    // Só testes da camada estática: o hash não cobre o DOM depois dos scripts
+    private static boolean isDeterministic(ExtensionContext context) {
+        return context.getTestMethod()
+            .map(method -> method.isAnnotationPresent(Deterministic.class) && method.isAnnotationPresent(StaticTier.class))
+            .orElse(false);
+    }
+
+    private static String testId(ExtensionContext context) {
+        return context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName();
+    }
+
+    private synchronized ResultStore store() {
+        if (store == null) {
+            store = new ResultStore(Path.of(SuiteConfig.string("incremental.store", "incremental/results.tsv")));
+        }
+        return store;
+    }
+
+    // null quando a página não pôde ser baixada: nesse caso tudo roda normalmente
+    private synchronized String hash() {
+        if (hash == null) {
+            try {
+                hash = ContentHash.of(StaticFetcher.fetch(url).document());
+            } catch (RuntimeException e) {
+                System.out.println("INFO INCREMENTAL: hash indisponível, todos os testes rodam (" + e.getMessage() + ")");
+                hash = "";
+            }
+        }
+        return hash.isEmpty() ? null : hash;
+    }
+
+    // Grava os vereditos e imprime o relatório quando o contexto raiz do JUnit fecha
+    final class ReportWriter implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            store().save();
+            System.out.printf("INFO INCREMENTAL: %s, %d testes pulados (página sem mudanças), %d executados, "
+                    + "~%.1f s economizados%n",
+                hash() == null ? "sem hash" : "hash " + hash().substring(0, 12),
+                skipped.get(), executed.get(), savedMillis.get() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package suporte;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Autômato Aho-Corasick para responder "o texto contém alguma destas palavras?"
+ * em uma única passada, sem diferenciar maiúsculas de minúsculas.
+ * Para caracteres ASCII a transição é uma consulta em tabela; os demais
+ * (ä, ü, ©, ...) seguem os links de falha do autômato.
+ */
+public final class KeywordMatcher {
+    private static final int ASCII = 128;
+
+    private final String[] keywords;
+    private final int[] asciiNext;
+    private final List<Map<Character, Integer>> edges;
+    private final int[] fail;
+    private final long[] output;
+
+    private KeywordMatcher(String[] keywords) {
+        if (keywords.length == 0 || keywords.length > Long.SIZE) {
+            throw new IllegalArgumentException("KeywordMatcher aceita de 1 a 64 palavras-chave");
+        }
+        this.keywords = keywords;
+
+        // 1. Trie com as palavras-chave em minúsculas
+        edges = new ArrayList<>();
+        edges.add(new HashMap<>());
+        List<Long> outputs = new ArrayList<>();
+        outputs.add(0L);
+        for (int k = 0; k < keywords.length; k++) {
+            if (keywords[k].isEmpty()) {
+                throw new IllegalArgumentException("Palavra-chave vazia");
+            }
+            int state = 0;
+            for (char c : keywords[k].toCharArray()) {
+                Integer next = edges.get(state).get(c);
+                if (next == null) {
+                    next = edges.size();
+                    edges.add(new HashMap<>());
+                    outputs.add(0L);
+                    edges.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.set(state, outputs.get(state) | (1L << k));
+        }
+
+        int states = edges.size();
+        fail = new int[states];
+        output = new long[states];
+        for (int s = 0; s < states; s++) {
+            output[s] = outputs.get(s);
+        }
+
+        // 2. Links de falha em largura; a tabela ASCII vira um DFA completo
+        asciiNext = new int[states * ASCII];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (char c = 0; c < ASCII; c++) {
+            Integer child = edges.get(0).get(c);
+            asciiNext[c] = child == null ? 0 : child;
+        }
+        for (int child : edges.get(0).values()) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            output[state] |= output[fail[state]];
+            for (char c = 0; c < ASCII; c++) {
+                Integer child = edges.get(state).get(c);
+                asciiNext[state * ASCII + c] = child == null ? asciiNext[fail[state] * ASCII + c] : child;
+            }
+            for (Map.Entry<Character, Integer> edge : edges.get(state).entrySet()) {
+                int child = edge.getValue();
+                fail[child] = next(fail[state], edge.getKey());
+                queue.add(child);
+            }
+        }
+    }
+
+    public static KeywordMatcher of(String... keywords) {
+        String[] lower = new String[keywords.length];
+        for (int i = 0; i < keywords.length; i++) {
+            lower[i] = keywords[i].toLowerCase(Locale.ROOT);
+        }
+        return new KeywordMatcher(lower);
+    }
+
+    // Estado inicial para varreduras incrementais (texto lido em pedaços)
+    int start() {
+        return 0;
+    }
+
+    int next(int state, char c) {
+        c = Character.toLowerCase(c);
+        if (c < ASCII) {
+            return asciiNext[state * ASCII + c];
+        }
+        while (true) {
+            Integer child = edges.get(state).get(c);
+            if (child != null) {
+                return child;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail[state];
+        }
+    }
+
+    // Máscara com um bit por palavra-chave que termina neste estado
+    long output(int state) {
+        return output[state];
+    }
+
+    public boolean containsAny(CharSequence text) {
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, text.charAt(i));
+            if (output[state] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Bit k ligado quando keywords()[k] aparece no texto
+    public long matchMask(CharSequence text) {
+        long all = (keywords.length == Long.SIZE) ? -1L : (1L << keywords.length) - 1;
+        long found = 0;
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n && found != all; i++) {
+            state = next(state, text.charAt(i));
+            found |= output[state];
+        }
+        return found;
+    }
+
+    public List<String> keywords() {
+        return List.of(keywords);
+    }
+}
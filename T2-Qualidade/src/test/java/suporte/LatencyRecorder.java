@@ -0,0 +1,109 @@
+package suporte;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências no formato do HdrHistogram: faixas de potência de 2, cada uma dividida
+ * em {@link #SUB_BUCKETS} contadores lineares, o que dá dois dígitos significativos (erro relativo
+ * abaixo de 1%) de 1 µs a {@link #HIGHEST_MICROS} µs em um array fixo de ~3300 contadores.
+ * Gravar é um incremento atômico sem lock e sem alocação, então várias threads de usuários
+ * virtuais podem gravar no mesmo histograma; os percentis são lidos no final.
+ * Valores acima do limite contam no último contador, mas o máximo é guardado exato.
+ */
+public final class LatencyRecorder {
+    // 2^7 = 128 contadores por metade de faixa: 256 por faixa, precisão de 1/128
+    private static final int HALF_MAGNITUDE = 7;
+    static final int SUB_BUCKETS = 1 << (HALF_MAGNITUDE + 1);
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final long MASK = SUB_BUCKETS - 1;
+    /** Uma hora em microssegundos. */
+    public static final long HIGHEST_MICROS = 3_600_000_000L;
+    private static final int LENGTH = index(HIGHEST_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LENGTH);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        recordMicros(Math.max(0, nanos / 1_000));
+    }
+
+    public void recordMicros(long micros) {
+        counts.incrementAndGet(index(Math.min(micros, HIGHEST_MICROS)));
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    // Soma outro histograma a este (ex.: os de várias execuções)
+    public LatencyRecorder add(LatencyRecorder other) {
+        for (int i = 0; i < LENGTH; i++) {
+            long value = other.counts.get(i);
+            if (value != 0) {
+                counts.addAndGet(i, value);
+            }
+        }
+        count.addAndGet(other.count.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+        return this;
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public double meanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : totalMicros.get() / 1e3 / n;
+    }
+
+    public double maxMillis() {
+        return maxMicros.get() / 1e3;
+    }
+
+    /**
+     * Percentil por "nearest rank", como o CommandProfiler, mas sobre os contadores: devolve o maior
+     * valor equivalente ao contador onde o rank cai (nunca acima do máximo gravado).
+     */
+    public double percentileMillis(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), maxMicros.get()) / 1e3;
+            }
+        }
+        return maxMillis();
+    }
+
+    // Faixa = posição do bit mais alto acima dos 8 bits do contador; dentro da faixa, os 8 bits mais altos
+    static int index(long micros) {
+        int bucket = 64 - Long.numberOfLeadingZeros(micros | MASK) - (HALF_MAGNITUDE + 1);
+        int subBucket = (int) (micros >>> bucket);
+        return ((bucket + 1) << HALF_MAGNITUDE) + (subBucket - HALF);
+    }
+
+    static long highestEquivalent(int index) {
+        int bucket = (index >> HALF_MAGNITUDE) - 1;
+        int subBucket = (index & (HALF - 1)) + HALF;
+        if (bucket < 0) {
+            subBucket -= HALF;
+            bucket = 0;
+        }
+        return ((long) subBucket << bucket) + (1L << bucket) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d p50=%.1f ms p95=%.1f ms p99=%.1f ms máx=%.1f ms",
+            count(), percentileMillis(50), percentileMillis(95), percentileMillis(99), maxMillis());
+    }
+}
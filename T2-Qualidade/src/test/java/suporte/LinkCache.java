@@ -0,0 +1,120 @@
+package suporte;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de {@link LinkResult} em disco (TSV), para que execuções seguidas e páginas repetidas
+ * não voltem a consultar os mesmos endereços. Resultados mais velhos que o TTL são ignorados e
+ * removidos; ao gravar, só as maxEntries verificações mais recentes ficam no arquivo.
+ */
+public class LinkCache {
+    private static final String HEADER = "url\tstatus\tmethod\tmillis\tchecked_at";
+
+    private final Path file;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, LinkResult> entries = new ConcurrentHashMap<>();
+
+    // file null: cache só em memória
+    public LinkCache(Path file, Duration ttl, int maxEntries) {
+        this.file = file;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        if (file != null && Files.exists(file)) {
+            load();
+        }
+    }
+
+    public LinkResult get(String url) {
+        LinkResult result = entries.get(url);
+        if (result != null && expired(result, System.currentTimeMillis())) {
+            entries.remove(url, result);
+            return null;
+        }
+        return result;
+    }
+
+    // Só respostas entram no cache: erros de conexão e timeouts são tentados de novo
+    public void put(LinkResult result) {
+        if (result.error() == null) {
+            entries.put(result.url(), result);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public synchronized void save() {
+        if (file == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<LinkResult> kept = new ArrayList<>();
+        for (LinkResult result : entries.values()) {
+            if (!expired(result, now)) {
+                kept.add(result);
+            }
+        }
+        kept.sort(Comparator.comparingLong(LinkResult::checkedAt).reversed());
+        if (kept.size() > maxEntries) {
+            kept.subList(maxEntries, kept.size()).forEach(result -> entries.remove(result.url(), result));
+            kept = kept.subList(0, maxEntries);
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (LinkResult result : kept) {
+            lines.add(String.join("\t", result.url(), String.valueOf(result.status()), result.method(),
+                String.valueOf(result.millis()), String.valueOf(result.checkedAt())));
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // Grava em um arquivo temporário e troca, para não deixar um cache pela metade
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o cache de links em " + file, e);
+        }
+    }
+
+    private void load() {
+        long now = System.currentTimeMillis();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length != 5 || line.equals(HEADER)) {
+                    continue;
+                }
+                try {
+                    LinkResult result = new LinkResult(fields[0], Integer.parseInt(fields[1]), fields[2], null,
+                        Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+                    if (!expired(result, now)) {
+                        entries.put(result.url(), result);
+                    }
+                } catch (NumberFormatException e) {
+                    // Linha corrompida: ignora, o link é verificado de novo
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o cache de links em " + file, e);
+        }
+    }
+
+    private boolean expired(LinkResult result, long now) {
+        return now - result.checkedAt() >= ttlMillis;
+    }
+}
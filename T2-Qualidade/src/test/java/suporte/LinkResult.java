@@ -0,0 +1,24 @@
+package suporte;
+
+/**
+ * Resultado da verificação de um link pelo {@link LinkValidator}.
+ * status é 0 quando não houve resposta (erro de conexão ou timeout, descrito em error);
+ * method é o último método usado (GET quando o HEAD não foi aceito).
+ */
+public record LinkResult(String url, int status, String method, String error, long millis, long checkedAt) {
+
+    public boolean ok() {
+        return error == null && status >= 200 && status < 400;
+    }
+
+    // Sem resposta, página inexistente ou erro do servidor. 401/403/429 e afins contam como
+    // acessíveis: muitas redes sociais recusam clientes que não são navegadores.
+    public boolean broken() {
+        return error != null || status == 404 || status == 410 || (status >= 500 && status < 600);
+    }
+
+    @Override
+    public String toString() {
+        return url + " -> " + (error != null ? error : method + " " + status);
+    }
+}
@@ -0,0 +1,304 @@
+package suporte;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Verifica se os destinos dos links respondem, sem navegador.
+ * <ul>
+ *   <li>Um único HttpClient para todas as verificações, então as conexões são reaproveitadas.</li>
+ *   <li>As requisições são assíncronas (sendAsync): nenhuma thread fica bloqueada esperando resposta.</li>
+ *   <li>Cada host tem um limite de requisições simultâneas; as excedentes esperam em fila.</li>
+ *   <li>HEAD primeiro; se o servidor responder com status de erro, GET para confirmar. O corpo do GET
+ *       é fechado logo depois do status, sem ser baixado.</li>
+ *   <li>URLs repetidas, na mesma chamada ou em testes paralelos, geram uma única requisição;
+ *       os resultados ficam em um {@link LinkCache} em disco com TTL.</li>
+ * </ul>
+ */
+public class LinkValidator {
+    private static LinkValidator shared;
+
+    /** Cache em disco (null = só memória), TTL, tamanho máximo do cache, requisições por host e timeout. */
+    public record Options(Path cacheFile, Duration ttl, int maxEntries, int perHost, Duration timeout) {
+        // -Dteste.links.cache, -Dteste.links.ttl (ms), -Dteste.links.max, -Dteste.links.host e -Dteste.links.timeout (ms)
+        public static Options fromConfig() {
+            return new Options(
+                Path.of(SuiteConfig.string("links.cache", "link-cache/links.tsv")),
+                SuiteConfig.millis("links.ttl", Duration.ofHours(24).toMillis()),
+                SuiteConfig.integer("links.max", 5_000),
+                SuiteConfig.integer("links.host", 4),
+                SuiteConfig.millis("links.timeout", 10_000));
+        }
+    }
+
+    private final Options options;
+    private final Executor executor;
+    private final HttpClient client;
+    private final LinkCache cache;
+    private final Map<String, HostGate> gates = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<LinkResult>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong getFallbacks = new AtomicLong();
+
+    public LinkValidator(Options options) {
+        this.options = options;
+        // Threads daemon: o validador da suíte nunca é fechado
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "link-validator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+            .executor(executor)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(options.timeout())
+            .build();
+        this.cache = new LinkCache(options.cacheFile(), options.ttl(), options.maxEntries());
+    }
+
+    // Instância da suíte, configurada por -Dteste.links.*
+    public static synchronized LinkValidator shared() {
+        if (shared == null) {
+            shared = new LinkValidator(Options.fromConfig());
+        }
+        return shared;
+    }
+
+    // Todos os href da página, absolutos, sem fragmento e sem repetição
+    public static Set<String> collect(HtmlDocument document, String baseUrl) {
+        Set<String> links = new LinkedHashSet<>();
+        for (HtmlDocument.Element anchor : document.select("a")) {
+            String link = normalize(baseUrl, anchor.attr("href"));
+            if (link != null) {
+                links.add(link);
+            }
+        }
+        return links;
+    }
+
+    // null para href vazio, âncoras na própria página e esquemas que não são http(s) (mailto:, tel:, javascript:)
+    public static String normalize(String baseUrl, String href) {
+        if (href == null || href.isBlank() || href.trim().startsWith("#")) {
+            return null;
+        }
+        URI uri;
+        try {
+            uri = URI.create(baseUrl).resolve(href.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!"http".equals(scheme) && !"https".equals(scheme) || uri.getHost() == null) {
+            return null;
+        }
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        String port = uri.getPort() == -1 ? "" : ":" + uri.getPort();
+        String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + port + path + query;
+    }
+
+    /** Verifica os links (href absolutos ou já normalizados) e devolve o resultado de cada um, na ordem recebida. */
+    public Map<String, LinkResult> validate(Collection<String> hrefs) {
+        Map<String, CompletableFuture<LinkResult>> pending = new LinkedHashMap<>();
+        for (String href : hrefs) {
+            // href absoluto serve de base para ele mesmo
+            String url = normalize(href, href);
+            if (url != null && !pending.containsKey(url)) {
+                pending.put(url, check(url));
+            }
+        }
+        Map<String, LinkResult> results = new LinkedHashMap<>();
+        pending.forEach((url, future) -> results.put(url, future.join()));
+        return results;
+    }
+
+    // Só os links quebrados (ver LinkResult.broken)
+    public List<LinkResult> broken(Collection<String> hrefs) {
+        List<LinkResult> broken = new ArrayList<>();
+        for (LinkResult result : validate(hrefs).values()) {
+            if (result.broken()) {
+                broken.add(result);
+            }
+        }
+        return broken;
+    }
+
+    public CompletableFuture<LinkResult> check(String url) {
+        lookups.incrementAndGet();
+        LinkResult cached = cache.get(url);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<LinkResult> mine = new CompletableFuture<>();
+        CompletableFuture<LinkResult> running = inFlight.putIfAbsent(url, mine);
+        if (running != null) {
+            return running;
+        }
+        HostGate gate = gate(url);
+        gate.submit(() -> request(url, "HEAD"))
+            .thenCompose(head -> {
+                // Sem resposta (timeout, conexão recusada) não adianta repetir com GET
+                if (head.error() != null || head.status() < 400) {
+                    return CompletableFuture.completedFuture(head);
+                }
+                // Vários servidores não implementam HEAD (405/501) ou respondem diferente do GET
+                getFallbacks.incrementAndGet();
+                return gate.submit(() -> request(url, "GET"));
+            })
+            .whenComplete((result, error) -> {
+                if (result != null) {
+                    cache.put(result);
+                }
+                inFlight.remove(url, mine);
+                if (result != null) {
+                    mine.complete(result);
+                } else {
+                    mine.completeExceptionally(error);
+                }
+            });
+        return mine;
+    }
+
+    private CompletableFuture<LinkResult> request(String url, String method) {
+        requests.incrementAndGet();
+        long start = System.nanoTime();
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(options.timeout())
+                .header("User-Agent", StaticFetcher.USER_AGENT)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                new LinkResult(url, 0, method, "URL inválida: " + e.getMessage(), 0, System.currentTimeMillis()));
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+            .handle((response, error) -> {
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                if (response != null) {
+                    closeBody(response.body());
+                    return new LinkResult(url, response.statusCode(), method, null, millis, System.currentTimeMillis());
+                }
+                return new LinkResult(url, 0, method, describe(error), millis, System.currentTimeMillis());
+            });
+    }
+
+    // Fechar antes de ler descarta o corpo: só o status interessa, e o GET não baixa a página inteira
+    private static void closeBody(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // A conexão é descartada pelo cliente
+        }
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String kind = cause instanceof IOException ? "Erro de conexão" : "Erro";
+        return kind + " (" + cause.getClass().getSimpleName() + ")" + (cause.getMessage() == null ? "" : ": " + cause.getMessage());
+    }
+
+    private HostGate gate(String url) {
+        URI uri = URI.create(url);
+        String host = uri.getHost() + ":" + uri.getPort();
+        return gates.computeIfAbsent(host, key -> new HostGate(options.perHost(), executor));
+    }
+
+    public void save() {
+        cache.save();
+    }
+
+    public String report() {
+        return "INFO LINKS: " + lookups.get() + " links verificados, " + cacheHits.get() + " respostas do cache, "
+            + requests.get() + " requisições (" + getFallbacks.get() + " GET depois do HEAD), "
+            + cache.size() + " resultados no cache";
+    }
+
+    /** Limite de requisições simultâneas para um host, sem bloquear threads: as excedentes ficam em fila. */
+    static final class HostGate {
+        private final int limit;
+        private final Executor executor;
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+
+        HostGate(int limit, Executor executor) {
+            this.limit = Math.max(1, limit);
+            this.executor = executor;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> {
+                CompletableFuture<T> running;
+                try {
+                    running = task.get();
+                } catch (RuntimeException e) {
+                    running = CompletableFuture.failedFuture(e);
+                }
+                running.whenComplete((value, error) -> {
+                    release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            };
+            boolean now;
+            synchronized (this) {
+                now = active < limit;
+                if (now) {
+                    active++;
+                } else {
+                    waiting.add(start);
+                }
+            }
+            if (now) {
+                start.run();
+            }
+            return result;
+        }
+
+        // A vaga passa direto para o próximo da fila, sem voltar ao contador. O próximo roda no executor:
+        // se a resposta já chegou completa, rodar aqui empilharia uma chamada por item da fila.
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    active--;
+                }
+            }
+            if (next != null) {
+                executor.execute(next);
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package suporte;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carga sintética: N usuários virtuais, cada um com uma sessão do Chrome (headless por padrão)
+ * do {@link DriverPool}, repetem o roteiro do Teste: abrir a página sem cookies, esperar o body,
+ * aceitar o diálogo de cookies e verificar header, navegação, footer e busca.
+ * <p>
+ * As chegadas seguem uma taxa alvo (modelo aberto), com rampa linear de 0 até a taxa no início.
+ * Cada chegada tem um horário previsto; se todos os usuários estão ocupados ela espera na fila,
+ * e a latência da iteração é medida a partir do horário previsto, não de quando um usuário ficou
+ * livre. Assim a fila aparece nos percentis em vez de sumir ("coordinated omission").
+ * Cada passo grava em um {@link LatencyRecorder}; um passo que falha conta como erro dele e
+ * encerra a iteração.
+ */
+public final class LoadGenerator {
+    /** Passos medidos, na ordem do relatório: "espera" é o tempo na fila e "iteracao" o total desde o horário previsto. */
+    public static final List<String> STEPS = List.of(
+        "espera", "navegacao", "body", "cookies", "header", "nav", "footer", "busca", "iteracao");
+    private static final long STOP = Long.MIN_VALUE;
+
+    /** Usuários (sessões), chegadas por segundo, rampa até a taxa alvo, duração das chegadas e Chrome headless. */
+    public record Options(int users, double rate, Duration rampUp, Duration duration, boolean headless) {
+        public Options {
+            if (users < 1) {
+                throw new IllegalArgumentException("teste.load.users deve ser pelo menos 1: " + users);
+            }
+            if (rate <= 0) {
+                throw new IllegalArgumentException("teste.load.rate deve ser maior que zero: " + rate);
+            }
+            if (rampUp.compareTo(duration) > 0) {
+                throw new IllegalArgumentException("A rampa (" + rampUp + ") não pode passar da duração (" + duration + ")");
+            }
+        }
+
+        // -Dteste.load.users, -Dteste.load.rate (iterações/s), -Dteste.load.rampup e -Dteste.load.duration (ms),
+        // -Dteste.load.headless
+        public static Options fromConfig() {
+            return new Options(
+                SuiteConfig.integer("load.users", 4),
+                Double.parseDouble(SuiteConfig.string("load.rate", "1.0")),
+                SuiteConfig.millis("load.rampup", 10_000),
+                SuiteConfig.millis("load.duration", 60_000),
+                SuiteConfig.flag("load.headless", true));
+        }
+
+        ChromeOptions chromeOptions() {
+            ChromeOptions options = new ChromeOptions();
+            if (headless) {
+                // Mesmo tamanho da janela maximizada do desktop, para o layout ser o mesmo dos testes
+                options.addArguments("--headless=new", "--window-size=1920,1080");
+            }
+            return options;
+        }
+    }
+
+    /** Histogramas por passo, erros por passo e iterações previstas, iniciadas e concluídas. */
+    public record Report(Options options, Map<String, LatencyRecorder> steps, Map<String, Long> errors,
+                         int scheduled, long started, long completed, long cookieDialogs, Duration elapsed) {
+        public LatencyRecorder step(String name) {
+            return steps.get(name);
+        }
+
+        public long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        // Iterações concluídas por segundo, do início das chegadas até a última iteração terminar
+        public double throughput() {
+            return elapsed.isZero() ? 0 : completed * 1e9 / elapsed.toNanos();
+        }
+
+        public String summary() {
+            StringBuilder summary = new StringBuilder(String.format(
+                "INFO CARGA: %d usuários, meta %.2f iterações/s (rampa %d s, %d s de chegadas): "
+                    + "%d de %d iterações concluídas, %.2f iterações/s, %d erros, %d diálogos de cookies",
+                options.users(), options.rate(), options.rampUp().toSeconds(), options.duration().toSeconds(),
+                completed, scheduled, throughput(), errorCount(), cookieDialogs));
+            summary.append(System.lineSeparator())
+                .append(String.format("INFO CARGA: %-10s %7s %9s %9s %9s %9s %6s", "passo", "n", "p50 ms", "p95 ms",
+                    "p99 ms", "máx ms", "erros"));
+            steps.forEach((name, recorder) -> summary.append(System.lineSeparator())
+                .append(String.format("INFO CARGA: %-10s %7d %9.1f %9.1f %9.1f %9.1f %6d", name, recorder.count(),
+                    recorder.percentileMillis(50), recorder.percentileMillis(95), recorder.percentileMillis(99),
+                    recorder.maxMillis(), errors.getOrDefault(name, 0L))));
+            return summary.toString();
+        }
+    }
+
+    private final String baseUrl;
+    private final Options options;
+    private final Map<String, LatencyRecorder> steps = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> arrivals = new LinkedBlockingQueue<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong cookieDialogs = new AtomicLong();
+
+    public LoadGenerator(String baseUrl, Options options) {
+        this.baseUrl = baseUrl;
+        this.options = options;
+        for (String step : STEPS) {
+            steps.put(step, new LatencyRecorder());
+        }
+    }
+
+    /**
+     * Horários previstos das chegadas, em nanos desde o início: a taxa sobe linearmente até
+     * {@code rate} durante {@code rampUp} e fica constante até {@code duration}. A k-ésima chegada
+     * fica onde a integral da taxa vale k.
+     */
+    public static long[] schedule(double rate, Duration rampUp, Duration duration) {
+        double ramp = rampUp.toNanos() / 1e9;
+        double end = duration.toNanos() / 1e9;
+        double rampArrivals = rate * ramp / 2;
+        List<Long> offsets = new ArrayList<>();
+        for (long k = 1; ; k++) {
+            double seconds = k <= rampArrivals ? Math.sqrt(2 * k * ramp / rate) : ramp + (k - rampArrivals) / rate;
+            if (seconds >= end) {
+                break;
+            }
+            offsets.add((long) (seconds * 1e9));
+        }
+        return offsets.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public Report run() {
+        long[] schedule = schedule(options.rate(), options.rampUp(), options.duration());
+        long start;
+        long end;
+        // Sessões abertas e aquecidas antes das chegadas: a subida do Chrome não entra na medição
+        try (DriverPool pool = DriverPool.start(baseUrl, options.users(), options.chromeOptions())) {
+            ExecutorService users = Executors.newFixedThreadPool(options.users());
+            for (int i = 0; i < options.users(); i++) {
+                users.submit(() -> user(pool));
+            }
+            start = System.nanoTime();
+            for (long offset : schedule) {
+                long intended = start + offset;
+                for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                arrivals.add(intended);
+            }
+            for (int i = 0; i < options.users(); i++) {
+                arrivals.add(STOP);
+            }
+            users.shutdown();
+            try {
+                // A fila acumulada ainda pode levar outra duração inteira para esvaziar
+                if (!users.awaitTermination(options.duration().toMillis() + 60_000, TimeUnit.MILLISECONDS)) {
+                    users.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                users.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            end = System.nanoTime();
+        }
+        Map<String, Long> errorCounts = new LinkedHashMap<>();
+        for (String step : STEPS) {
+            AtomicLong count = errors.get(step);
+            if (count != null) {
+                errorCounts.put(step, count.get());
+            }
+        }
+        return new Report(options, steps, errorCounts, schedule.length, started.get(), completed.get(),
+            cookieDialogs.get(), Duration.ofNanos(end - start));
+    }
+
+    // Um usuário virtual: uma sessão do pool durante toda a carga, uma iteração por chegada
+    private void user(DriverPool pool) {
+        BrowserSession session = pool.lease();
+        try {
+            while (true) {
+                long intended = arrivals.take();
+                if (intended == STOP) {
+                    return;
+                }
+                iteration(session, intended);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.release(session);
+        }
+    }
+
+    private void iteration(BrowserSession session, long intended) {
+        started.incrementAndGet();
+        steps.get("espera").recordNanos(System.nanoTime() - intended);
+        LocatorEngine locators = session.locators();
+        boolean ok = step("navegacao", () -> {
+            // Sem cookies, como um visitante novo: o diálogo de cookies volta a aparecer
+            session.driver().manage().deleteAllCookies();
+            session.navigate(baseUrl);
+        })
+            && step("body", session::waitForBody)
+            && step("cookies", () -> {
+                if (session.acceptCookies()) {
+                    cookieDialogs.incrementAndGet();
+                }
+            })
+            && step("header", () -> assertFalse(locators.optional("header", By.cssSelector("header, .site-header")).isEmpty(),
+                "PRESENÇA: Página deve ter header"))
+            && step("nav", () -> {
+                List<ElementData> links = DomExtractor.extract(session.driver(), "nav a");
+                assertTrue(links.size() >= 3, "CONTEÚDO: Navegação deve ter pelo menos 3 links (" + links.size() + ")");
+            })
+            && step("footer", () -> assertFalse(locators.optional("footer", By.tagName("footer")).isEmpty(),
+                "PRESENÇA: Página deve ter footer"))
+            && step("busca", () -> assertFalse(locators.optional("search input",
+                By.cssSelector("input[type='search'], input[name*='search'], input[id*='search']")).isEmpty(),
+                "Deve haver campo de busca na página"));
+        if (ok) {
+            steps.get("iteracao").recordNanos(System.nanoTime() - intended);
+            completed.incrementAndGet();
+        }
+    }
+
+    // Mede o passo; asserção ou erro do WebDriver conta como erro do passo e encerra a iteração
+    private boolean step(String name, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+            return true;
+        } catch (AssertionError | RuntimeException e) {
+            errors.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+            return false;
+        } finally {
+            steps.get(name).recordNanos(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package suporte;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Buscas de elementos sem implicit wait. Cada busca declara o que espera:
+ * <ul>
+ *   <li>{@link #mustAppear}: espera explícita com um prazo próprio e falha se o elemento não aparecer;</li>
+ *   <li>{@link #optional}: verificação imediata, lista vazia se não houver elemento.</li>
+ * </ul>
+ * Cadeias de XPaths alternativos ficam no {@link ElementRegistry}, resolvidas no navegador.
+ * O tempo gasto em cada busca (pelo nome) é acumulado para o relatório do pool.
+ */
+public class LocatorEngine {
+    private final WebDriver driver;
+    private final Duration defaultBudget;
+    // nome -> {buscas, nanos, buscas sem resultado}
+    private final Map<String, long[]> stats = new TreeMap<>();
+
+    public LocatorEngine(WebDriver driver, Duration defaultBudget) {
+        this.driver = driver;
+        this.defaultBudget = defaultBudget;
+    }
+
+    public WebElement mustAppear(String name, By by) {
+        return mustAppear(name, by, defaultBudget);
+    }
+
+    public WebElement mustAppear(String name, By by, Duration budget) {
+        long start = System.nanoTime();
+        boolean found = false;
+        try {
+            WebElement element = new WebDriverWait(driver, budget)
+                .until(ExpectedConditions.presenceOfElementLocated(by));
+            found = true;
+            return element;
+        } finally {
+            record(name, start, found);
+        }
+    }
+
+    public List<WebElement> optional(String name, By by) {
+        return optional(name, driver, by);
+    }
+
+    public List<WebElement> optional(String name, SearchContext context, By by) {
+        long start = System.nanoTime();
+        List<WebElement> elements = context.findElements(by);
+        record(name, start, !elements.isEmpty());
+        return elements;
+    }
+
+    private void record(String name, long start, boolean found) {
+        long[] entry = stats.computeIfAbsent(name, key -> new long[3]);
+        entry[0]++;
+        entry[1] += System.nanoTime() - start;
+        if (!found) {
+            entry[2]++;
+        }
+    }
+
+    Map<String, long[]> stats() {
+        return stats;
+    }
+
+    // Soma as estatísticas de várias sessões e formata uma linha por busca
+    static String report(List<LocatorEngine> engines) {
+        Map<String, long[]> total = new TreeMap<>();
+        for (LocatorEngine engine : engines) {
+            for (Map.Entry<String, long[]> entry : engine.stats().entrySet()) {
+                long[] sum = total.computeIfAbsent(entry.getKey(), key -> new long[3]);
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += entry.getValue()[i];
+                }
+            }
+        }
+        StringBuilder report = new StringBuilder("INFO LOCATOR:");
+        for (Map.Entry<String, long[]> entry : total.entrySet()) {
+            long[] sum = entry.getValue();
+            report.append(String.format("%n  %-20s %4d buscas, %4d sem resultado, média %.1f ms, total %.1f ms",
+                entry.getKey(), sum[0], sum[2], sum[1] / 1e6 / sum[0], sum[1] / 1e6));
+        }
+        return report.toString();
+    }
+}
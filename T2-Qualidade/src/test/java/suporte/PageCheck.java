@@ -0,0 +1,31 @@
+package suporte;
+
+/**
+ * Uma verificação que o {@link SiteCrawler} roda em cada página.
+ * Verificações de marcação usam só o HTML baixado pelo HttpClient; as de navegador recebem
+ * uma sessão do pool já na página. Falhas são sinalizadas com as asserções do JUnit.
+ */
+public record PageCheck(String name, MarkupCheck markup, BrowserCheck browser) {
+
+    @FunctionalInterface
+    public interface MarkupCheck {
+        void verify(HtmlDocument document);
+    }
+
+    @FunctionalInterface
+    public interface BrowserCheck {
+        void verify(BrowserSession session);
+    }
+
+    public static PageCheck markup(String name, MarkupCheck check) {
+        return new PageCheck(name, check, null);
+    }
+
+    public static PageCheck browser(String name, BrowserCheck check) {
+        return new PageCheck(name, null, check);
+    }
+
+    public boolean needsBrowser() {
+        return browser != null;
+    }
+}
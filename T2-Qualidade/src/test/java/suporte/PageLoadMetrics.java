@@ -0,0 +1,275 @@
+package suporte;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Métricas de carregamento de uma página capturadas pelo Chrome DevTools Protocol:
+ * Navigation Timing, LCP, CLS, tarefas longas da thread principal, quantidade de
+ * requisições e bytes transferidos por tipo de recurso.
+ * Os observadores de LCP/CLS/long tasks são instalados antes dos scripts da página
+ * (Page.addScriptToEvaluateOnNewDocument) e a navegação é feita com o cache desligado.
+ * Requisições e bytes vêm dos eventos Network do DevTools, não do Resource Timing da página,
+ * que zera o transferSize de recursos de outra origem sem Timing-Allow-Origin e para de
+ * registrar depois de 250 entradas.
+ */
+public record PageLoadMetrics(
+    String url,
+    Instant capturedAt,
+    double ttfbMs,
+    double domContentLoadedMs,
+    double loadMs,
+    double lcpMs,
+    double cls,
+    int requestCount,
+    long transferBytes,
+    Map<String, Long> bytesByType,
+    int longTasks,
+    double longTaskMs,
+    double taskDurationMs
+) {
+    private static final String OBSERVERS_SCRIPT =
+        "window.__testePerf = {lcp: 0, cls: 0, longTasks: 0, longTaskMs: 0};" +
+        "try {" +
+        "  new PerformanceObserver(list => {" +
+        "    for (const entry of list.getEntries()) window.__testePerf.lcp = entry.startTime;" +
+        "  }).observe({type: 'largest-contentful-paint', buffered: true});" +
+        "  new PerformanceObserver(list => {" +
+        "    for (const entry of list.getEntries()) if (!entry.hadRecentInput) window.__testePerf.cls += entry.value;" +
+        "  }).observe({type: 'layout-shift', buffered: true});" +
+        "  new PerformanceObserver(list => {" +
+        "    for (const entry of list.getEntries()) { window.__testePerf.longTasks++; window.__testePerf.longTaskMs += entry.duration; }" +
+        "  }).observe({type: 'longtask', buffered: true});" +
+        "} catch (e) {}";
+
+    private static final String COLLECT_SCRIPT =
+        "const nav = performance.getEntriesByType('navigation')[0];" +
+        "const perf = window.__testePerf || {lcp: 0, cls: 0, longTasks: 0, longTaskMs: 0};" +
+        "return {ttfb: nav.responseStart, dcl: nav.domContentLoadedEventEnd, load: nav.loadEventEnd," +
+        "        lcp: perf.lcp, cls: perf.cls, longTasks: perf.longTasks, longTaskMs: perf.longTaskMs};";
+
+    // Quanto esperar, depois do load, pelos eventos de requisições que ainda não terminaram
+    private static final Duration NETWORK_SETTLE = Duration.ofSeconds(2);
+
+    private static final String HISTORY_HEADER =
+        "captured_at,url,ttfb_ms,dcl_ms,load_ms,lcp_ms,cls,requests,transfer_bytes,long_tasks,long_task_ms,task_duration_ms";
+
+    // Navega até url com o driver sem decorator (os comandos de medição não entram no profiler)
+    @SuppressWarnings("unchecked")
+    public static PageLoadMetrics capture(BrowserSession session, String url) {
+        WebDriver rawDriver = session.rawDriver();
+        HasCdp cdp = (HasCdp) rawDriver;
+        session.snapshot().invalidate();
+        // Só desliga no fim os domínios que esta captura ligou (o bloqueio de URLs usa o Network)
+        boolean networkEnabled = session.enableCdpDomain("Network");
+        boolean performanceEnabled = session.enableCdpDomain("Performance");
+        cdp.executeCdpCommand("Network.clearBrowserCache", Map.of());
+        cdp.executeCdpCommand("Network.setCacheDisabled", Map.of("cacheDisabled", true));
+        Map<String, Object> script = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+            Map.of("source", OBSERVERS_SCRIPT));
+        NetworkRelay relay = NetworkRelay.of(session);
+        NetworkLog network = new NetworkLog();
+        try {
+            relay.start(network);
+            rawDriver.get(url);
+            JavascriptExecutor js = (JavascriptExecutor) rawDriver;
+            new WebDriverWait(rawDriver, Duration.ofSeconds(60)).until(driver -> Boolean.TRUE.equals(js.executeScript(
+                "const nav = performance.getEntriesByType('navigation')[0]; return !!nav && nav.loadEventEnd > 0;")));
+            network.settle(NETWORK_SETTLE);
+
+            Map<String, Object> values = (Map<String, Object>) js.executeScript(COLLECT_SCRIPT);
+            Map<String, Long> bytesByType = new TreeMap<>(network.bytesByType);
+            return new PageLoadMetrics(
+                url,
+                Instant.now(),
+                number(values.get("ttfb")),
+                number(values.get("dcl")),
+                number(values.get("load")),
+                number(values.get("lcp")),
+                number(values.get("cls")),
+                network.responses.size(),
+                bytesByType.values().stream().mapToLong(Long::longValue).sum(),
+                bytesByType,
+                (int) number(values.get("longTasks")),
+                number(values.get("longTaskMs")),
+                taskDuration(cdp));
+        } finally {
+            relay.stop();
+            cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", script.get("identifier")));
+            cdp.executeCdpCommand("Network.setCacheDisabled", Map.of("cacheDisabled", false));
+            if (performanceEnabled) {
+                session.disableCdpDomain("Performance");
+            }
+            if (networkEnabled) {
+                session.disableCdpDomain("Network");
+            }
+        }
+    }
+
+    /**
+     * Eventos Network da sessão DevTools do Selenium, que precisa do próprio Network.enable. Os
+     * listeners são registrados uma vez por sessão e repassam os eventos para a captura em
+     * andamento; fora de uma captura são descartados e o Network dessa sessão fica desligado.
+     * Assim nenhuma captura remove listeners que não são dela.
+     */
+    private static final class NetworkRelay {
+        private static final Map<BrowserSession, NetworkRelay> RELAYS = Collections.synchronizedMap(new WeakHashMap<>());
+
+        private final DevTools devTools;
+        private volatile NetworkLog current;
+
+        private NetworkRelay(DevTools devTools) {
+            this.devTools = devTools;
+            devTools.addListener(event("Network.requestWillBeSent"), params -> forward(log -> log.sent(params)));
+            devTools.addListener(event("Network.responseReceived"), params -> forward(log -> log.received(params)));
+            devTools.addListener(event("Network.loadingFinished"), params -> forward(log -> log.finished(params)));
+            devTools.addListener(event("Network.loadingFailed"), params -> forward(log -> log.failed(params)));
+        }
+
+        static NetworkRelay of(BrowserSession session) {
+            return RELAYS.computeIfAbsent(session, key -> {
+                DevTools devTools = ((HasDevTools) key.rawDriver()).getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                return new NetworkRelay(devTools);
+            });
+        }
+
+        void start(NetworkLog log) {
+            current = log;
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+        }
+
+        void stop() {
+            current = null;
+            devTools.send(new Command<Void>("Network.disable", Map.of()));
+        }
+
+        private void forward(Consumer<NetworkLog> action) {
+            NetworkLog log = current;
+            if (log != null) {
+                action.accept(log);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Event<Map<String, Object>> event(String method) {
+            return new Event<>(method, input -> (Map<String, Object>) input.read(Json.MAP_TYPE));
+        }
+    }
+
+    /**
+     * Requisições da navegação pelos eventos Network: tipo do recurso no responseReceived e bytes
+     * recebidos (cabeçalhos e corpo, como chegaram na rede) no loadingFinished. Os eventos chegam
+     * na thread do DevTools.
+     */
+    private static final class NetworkLog {
+        private final Set<String> sent = ConcurrentHashMap.newKeySet();
+        private final Set<String> done = ConcurrentHashMap.newKeySet();
+        // requestId -> tipo do recurso (document, script, image...) das requisições respondidas
+        private final Map<String, String> responses = new ConcurrentHashMap<>();
+        private final Map<String, Long> bytesByType = new ConcurrentHashMap<>();
+
+        void sent(Map<String, Object> params) {
+            sent.add(requestId(params));
+        }
+
+        void received(Map<String, Object> params) {
+            responses.put(requestId(params), String.valueOf(params.get("type")).toLowerCase(Locale.ROOT));
+        }
+
+        void finished(Map<String, Object> params) {
+            String type = responses.getOrDefault(requestId(params), "other");
+            bytesByType.merge(type, (long) number(params.get("encodedDataLength")), Long::sum);
+            done.add(requestId(params));
+        }
+
+        void failed(Map<String, Object> params) {
+            done.add(requestId(params));
+        }
+
+        // Depois do load ainda podem faltar eventos de requisições iniciadas antes dele
+        void settle(Duration timeout) {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (!done.containsAll(sent) && System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private static String requestId(Map<String, Object> params) {
+            return (String) params.get("requestId");
+        }
+    }
+
+    // TaskDuration do Performance.getMetrics vem em segundos
+    @SuppressWarnings("unchecked")
+    private static double taskDuration(HasCdp cdp) {
+        Map<String, Object> result = cdp.executeCdpCommand("Performance.getMetrics", Map.of());
+        for (Map<String, Object> metric : (List<Map<String, Object>>) result.get("metrics")) {
+            if ("TaskDuration".equals(metric.get("name"))) {
+                return number(metric.get("value")) * 1000;
+            }
+        }
+        return 0;
+    }
+
+    private static double number(Object value) {
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    // Acrescenta uma linha ao histórico CSV (cria o arquivo com cabeçalho na primeira vez)
+    public void appendTo(Path history) {
+        String line = String.format(Locale.ROOT, "%s,%s,%.1f,%.1f,%.1f,%.1f,%.4f,%d,%d,%d,%.1f,%.1f",
+            capturedAt, url, ttfbMs, domContentLoadedMs, loadMs, lcpMs, cls, requestCount, transferBytes,
+            longTasks, longTaskMs, taskDurationMs);
+        try {
+            if (history.getParent() != null) {
+                Files.createDirectories(history.getParent());
+            }
+            if (!Files.exists(history)) {
+                Files.writeString(history, HISTORY_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+            }
+            Files.writeString(history, line + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o histórico de desempenho em " + history, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+            "TTFB %.0f ms, DOMContentLoaded %.0f ms, load %.0f ms, LCP %.0f ms, CLS %.3f, %d requisições, %d KB %s, "
+                + "%d tarefas longas (%.0f ms), TaskDuration %.0f ms",
+            ttfbMs, domContentLoadedMs, loadMs, lcpMs, cls, requestCount, transferBytes / 1024, bytesByType,
+            longTasks, longTaskMs, taskDurationMs);
+    }
+}
@@ -0,0 +1,311 @@
+package suporte;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Título, meta tags e grupos de palavras-chave da página em uma passada pelo HTML lido em
+ * pedaços, sem montar o documento inteiro como String (nem a cópia em minúsculas). Os pedaços
+ * vêm de um stream do HttpClient ({@link StaticFetcher#scan}) ou do navegador em fatias de
+ * {@link #BROWSER_CHUNK} caracteres ({@link #ofBrowser}) e passam por um buffer reaproveitado.
+ * <p>
+ * As palavras-chave usam o {@link KeywordMatcher} caractere a caractere, com o estado do
+ * autômato mantido entre os pedaços, então uma palavra cortada entre dois pedaços ainda conta.
+ * Só a tag em leitura (até {@link #MAX_TAG} caracteres) e o texto do título ficam guardados;
+ * comentários e o conteúdo de script, style e textarea não contam como tags. A leitura para assim
+ * que o título, todas as meta tags e todos os grupos de palavras foram encontrados.
+ */
+public final class PageScan {
+    static final int CHUNK = 16 * 1024;
+    static final int BROWSER_CHUNK = 128 * 1024;
+    private static final int MAX_TAG = 8 * 1024;
+    private static final int MAX_TITLE = 4 * 1024;
+    // Um buffer por thread: os testes e as sessões do pool leem páginas em paralelo
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[CHUNK]);
+    private static final List<String> RAW_TEXT = List.of("script", "style", "textarea");
+
+    // Guarda o HTML serializado na página e devolve uma fatia por chamada; a última fatia apaga a cópia
+    private static final String SLICE_SCRIPT =
+        "const [offset, size] = arguments;" +
+        "if (offset === 0) window.__pageScan = document.documentElement.outerHTML;" +
+        "const source = window.__pageScan || '';" +
+        "const slice = source.substring(offset, offset + size);" +
+        "if (offset + size >= source.length) delete window.__pageScan;" +
+        "return slice;";
+
+    /** Grupos de palavras-chave (até 64) e nomes das meta tags procuradas. */
+    public record Spec(List<KeywordMatcher> keywords, Set<String> metaNames) {
+        public Spec {
+            if (keywords.size() > Long.SIZE) {
+                throw new IllegalArgumentException("PageScan aceita até 64 grupos de palavras-chave");
+            }
+            keywords = List.copyOf(keywords);
+            metaNames = Set.copyOf(metaNames);
+        }
+
+        public static Spec of(List<KeywordMatcher> keywords, String... metaNames) {
+            return new Spec(keywords, Set.of(metaNames));
+        }
+    }
+
+    /** Título (vazio se não houver), meta tags encontradas, grupos encontrados (um bit por grupo) e caracteres lidos. */
+    public record Result(Spec spec, String title, Map<String, HtmlDocument.Element> meta, long found, long chars) {
+        public boolean containsAny(KeywordMatcher keywords) {
+            int index = spec.keywords().indexOf(keywords);
+            if (index < 0) {
+                throw new IllegalArgumentException("Palavras-chave fora da análise: " + keywords.keywords());
+            }
+            return (found & (1L << index)) != 0;
+        }
+
+        // Primeira <meta name="..."> com o nome exato, como HtmlDocument.meta
+        public HtmlDocument.Element meta(String name) {
+            if (!spec.metaNames().contains(name)) {
+                throw new IllegalArgumentException("Meta tag fora da análise: " + name);
+            }
+            return meta.get(name);
+        }
+    }
+
+    private enum State { TEXT, TAG, SKIP_TAG, COMMENT, TITLE, RAW }
+
+    private final Spec spec;
+    private final KeywordMatcher[] matchers;
+    private final int[] matcherStates;
+    private final long all;
+    private long found;
+    private final Map<String, HtmlDocument.Element> meta = new HashMap<>();
+    private final StringBuilder tag = new StringBuilder();
+    private final StringBuilder title = new StringBuilder();
+    private boolean titleDone;
+    private State state = State.TEXT;
+    private char quote;
+    // Fechamento esperado em TITLE/RAW ("</title", "</script"...) e quantos caracteres dele já vieram
+    private String closing;
+    private int closingMatched;
+    private int dashes;
+    private long chars;
+
+    private PageScan(Spec spec) {
+        this.spec = spec;
+        this.matchers = spec.keywords().toArray(new KeywordMatcher[0]);
+        this.matcherStates = new int[matchers.length];
+        for (int i = 0; i < matchers.length; i++) {
+            matcherStates[i] = matchers[i].start();
+        }
+        this.all = matchers.length == Long.SIZE ? -1L : (1L << matchers.length) - 1;
+    }
+
+    /** Lê o Reader em pedaços de {@link #CHUNK} até o fim ou até encontrar tudo. */
+    public static Result read(Reader reader, Spec spec) {
+        PageScan scan = new PageScan(spec);
+        char[] buffer = BUFFER.get();
+        try {
+            while (!scan.complete()) {
+                int n = reader.read(buffer);
+                if (n < 0) {
+                    break;
+                }
+                scan.feed(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler a página", e);
+        }
+        return scan.result();
+    }
+
+    /**
+     * HTML atual do navegador em fatias: a página serializa o documento uma vez e cada chamada
+     * traz só uma fatia, então a JVM nunca guarda mais que {@link #BROWSER_CHUNK} caracteres.
+     */
+    public static Result ofBrowser(WebDriver driver, Spec spec) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        PageScan scan = new PageScan(spec);
+        char[] buffer = BUFFER.get();
+        long offset = 0;
+        while (true) {
+            Object value = js.executeScript(SLICE_SCRIPT, offset, BROWSER_CHUNK);
+            String slice = value == null ? "" : (String) value;
+            for (int start = 0; start < slice.length() && !scan.complete(); start += buffer.length) {
+                int end = Math.min(slice.length(), start + buffer.length);
+                slice.getChars(start, end, buffer, 0);
+                scan.feed(buffer, 0, end - start);
+            }
+            offset += slice.length();
+            if (slice.length() < BROWSER_CHUNK) {
+                break;
+            }
+            if (scan.complete()) {
+                js.executeScript("delete window.__pageScan");
+                break;
+            }
+        }
+        return scan.result();
+    }
+
+    private boolean complete() {
+        return found == all && titleDone && meta.size() == spec.metaNames().size();
+    }
+
+    void feed(char[] buffer, int offset, int length) {
+        chars += length;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            char c = buffer[i];
+            if (found != all) {
+                for (int m = 0; m < matchers.length; m++) {
+                    matcherStates[m] = matchers[m].next(matcherStates[m], c);
+                    found |= matchers[m].output(matcherStates[m]) != 0 ? 1L << m : 0;
+                }
+            }
+            switch (state) {
+                case TEXT -> {
+                    if (c == '<') {
+                        tag.setLength(0);
+                        tag.append(c);
+                        quote = 0;
+                        state = State.TAG;
+                    }
+                }
+                case TAG -> tagChar(c);
+                case SKIP_TAG -> {
+                    if (quote != 0) {
+                        quote = c == quote ? 0 : quote;
+                    } else if (c == '"' || c == '\'') {
+                        quote = c;
+                    } else if (c == '>') {
+                        state = State.TEXT;
+                    }
+                }
+                case COMMENT -> {
+                    if (c == '>' && dashes >= 2) {
+                        state = State.TEXT;
+                    }
+                    dashes = c == '-' ? dashes + 1 : 0;
+                }
+                case TITLE -> {
+                    if (title.length() < MAX_TITLE) {
+                        title.append(c);
+                    }
+                    if (closed(c)) {
+                        title.setLength(Math.max(0, title.length() - closing.length()));
+                        titleDone = true;
+                    }
+                }
+                case RAW -> closed(c);
+            }
+        }
+    }
+
+    private void tagChar(char c) {
+        if (tag.length() == 1 && !Character.isLetter(c) && c != '/' && c != '!' && c != '?') {
+            // "<" solto no texto, como no HtmlDocument
+            state = State.TEXT;
+            if (c == '<') {
+                tag.setLength(0);
+                tag.append(c);
+                state = State.TAG;
+            }
+            return;
+        }
+        if (tag.length() == 4 && tag.charAt(1) == '!' && tag.charAt(2) == '-' && tag.charAt(3) == '-') {
+            dashes = c == '-' ? 1 : 0;
+            state = State.COMMENT;
+            return;
+        }
+        if (quote != 0) {
+            quote = c == quote ? 0 : quote;
+        } else if ((c == '"' || c == '\'') && tag.indexOf("=") > 0) {
+            quote = c;
+        } else if (c == '>') {
+            tag.append(c);
+            state = State.TEXT;
+            endTag();
+            return;
+        }
+        tag.append(c);
+        if (tag.length() > MAX_TAG) {
+            // Tag enorme (atributo com dados embutidos): não é title nem meta, só procura o fim
+            state = State.SKIP_TAG;
+        }
+    }
+
+    private void endTag() {
+        if (tag.length() < 2 || !Character.isLetter(tag.charAt(1))) {
+            return;
+        }
+        int end = 1;
+        while (end < tag.length() && !Character.isWhitespace(tag.charAt(end)) && tag.charAt(end) != '>'
+            && tag.charAt(end) != '/') {
+            end++;
+        }
+        // Só title, meta e as tags de texto cru interessam: compara sem criar uma String por tag
+        if (isTag("title", end) && !titleDone) {
+            title.setLength(0);
+            startClosing(State.TITLE, "</title");
+        } else if (isTag("title", end)) {
+            startClosing(State.RAW, "</title");
+        } else if (isTag("meta", end)) {
+            if (!spec.metaNames().isEmpty()) {
+                HtmlDocument.Element element = HtmlDocument.parse(tag.toString()).select("meta").get(0);
+                String metaName = element.attr("name");
+                if (metaName != null && spec.metaNames().contains(metaName)) {
+                    meta.putIfAbsent(metaName, element);
+                }
+            }
+        } else {
+            for (String raw : RAW_TEXT) {
+                if (isTag(raw, end)) {
+                    startClosing(State.RAW, "</" + raw);
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isTag(String name, int end) {
+        if (end - 1 != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.toLowerCase(tag.charAt(i + 1)) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startClosing(State next, String marker) {
+        state = next;
+        closing = marker;
+        closingMatched = 0;
+    }
+
+    // Acompanha o fechamento sem diferenciar maiúsculas; ao completar, o resto da tag de fechamento é pulado
+    private boolean closed(char c) {
+        if (Character.toLowerCase(c) == closing.charAt(closingMatched)) {
+            closingMatched++;
+        } else {
+            closingMatched = c == '<' ? 1 : 0;
+        }
+        if (closingMatched < closing.length()) {
+            return false;
+        }
+        quote = 0;
+        state = State.SKIP_TAG;
+        return true;
+    }
+
+    private Result result() {
+        String text = HtmlDocument.decode(title.toString()).replaceAll("\\s+", " ").trim();
+        // Título sem fechamento vai até o fim do documento, como no HtmlDocument
+        return new Result(spec, titleDone || state == State.TITLE ? text : "", Map.copyOf(meta), found, chars);
+    }
+}
@@ -0,0 +1,168 @@
+package suporte;
+
+import org.openqa.selenium.WebDriver;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Código-fonte da página buscado uma única vez por navegação.
+ * A {@link BrowserSession} invalida o snapshot sempre que navega, e o
+ * {@code beforeEach} chama {@link #sync(String)} com a URL atual.
+ * Snapshots criados com {@link #ofSource} (camada estática) já vêm com o HTML e não usam navegador;
+ * os de {@link #ofStatic} só baixam o HTML quando algum teste lê o código-fonte.
+ * {@link #scan} analisa a página em pedaços ({@link PageScan}) sem buscar o código-fonte inteiro.
+ */
+public class PageSnapshot {
+    private final WebDriver driver;
+    // Camada estática sem o HTML baixado ainda (ofStatic)
+    private String staticUrl;
+    private String url;
+    private String source;
+    private String lowerSource;
+    private HtmlDocument document;
+    private final Map<PageScan.Spec, PageScan.Result> scans = new HashMap<>();
+    private AccessibilityAudit.Result audit;
+    private long audits;
+    private long fetches;
+    private long reads;
+
+    public PageSnapshot(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static PageSnapshot ofSource(String url, String source) {
+        PageSnapshot snapshot = new PageSnapshot(null);
+        snapshot.url = url;
+        snapshot.source = source;
+        snapshot.fetches = 1;
+        return snapshot;
+    }
+
+    static PageSnapshot ofStatic(String url) {
+        PageSnapshot snapshot = new PageSnapshot(null);
+        snapshot.staticUrl = url;
+        return snapshot;
+    }
+
+    public void invalidate() {
+        url = null;
+        source = null;
+        lowerSource = null;
+        document = null;
+        scans.clear();
+        audit = null;
+    }
+
+    // Descarta o snapshot se a URL mudou desde a última busca
+    public void sync(String currentUrl) {
+        if (url != null && !url.equals(currentUrl)) {
+            invalidate();
+        }
+        url = currentUrl;
+    }
+
+    // Para snapshots estáticos, o endereço final depois de redirecionamentos
+    public synchronized String url() {
+        if (url == null && staticUrl != null) {
+            load();
+        }
+        return url;
+    }
+
+    public synchronized String source() {
+        reads++;
+        if (source == null) {
+            load();
+        }
+        return source;
+    }
+
+    private void load() {
+        if (driver != null) {
+            source = driver.getPageSource();
+        } else if (staticUrl != null) {
+            PageSnapshot downloaded = StaticFetcher.fetch(staticUrl);
+            url = downloaded.url();
+            source = downloaded.source();
+        } else {
+            throw new IllegalStateException("Snapshot estático não pode ser recarregado");
+        }
+        fetches++;
+    }
+
+    /**
+     * Título, meta tags e palavras-chave em uma passada: sobre o código-fonte se ele já foi
+     * buscado, senão em pedaços do navegador ou do stream HTTP, sem guardar o HTML.
+     */
+    public synchronized PageScan.Result scan(PageScan.Spec spec) {
+        PageScan.Result result = scans.get(spec);
+        if (result == null) {
+            if (source != null) {
+                result = PageScan.read(new StringReader(source), spec);
+            } else if (driver != null) {
+                result = PageScan.ofBrowser(driver, spec);
+            } else if (staticUrl != null) {
+                result = StaticFetcher.scan(staticUrl, spec);
+            } else {
+                throw new IllegalStateException("Snapshot estático sem código-fonte nem URL");
+            }
+            scans.put(spec, result);
+        }
+        return result;
+    }
+
+    public synchronized String lowerSource() {
+        String current = source();
+        if (lowerSource == null) {
+            lowerSource = current.toLowerCase(Locale.ROOT);
+        }
+        return lowerSource;
+    }
+
+    /**
+     * Auditoria de acessibilidade da página renderizada, feita uma vez por navegação e lida por
+     * todos os testes que olham a página na mesma sessão. Só existe com navegador.
+     */
+    public synchronized AccessibilityAudit.Result audit() {
+        if (audit == null) {
+            if (driver == null) {
+                throw new IllegalStateException("Auditoria de acessibilidade precisa do navegador");
+            }
+            audit = AccessibilityAudit.run(driver);
+            audits++;
+        }
+        return audit;
+    }
+
+    // DOM simplificado do código-fonte, montado uma vez por snapshot
+    public synchronized HtmlDocument document() {
+        String current = source();
+        if (document == null) {
+            document = HtmlDocument.parse(current);
+        }
+        return document;
+    }
+
+    public boolean contains(String text) {
+        return source().contains(text);
+    }
+
+    public boolean containsAny(KeywordMatcher keywords) {
+        return keywords.containsAny(source());
+    }
+
+    public long fetches() {
+        return fetches;
+    }
+
+    public long audits() {
+        return audits;
+    }
+
+    public long reads() {
+        return reads;
+    }
+}
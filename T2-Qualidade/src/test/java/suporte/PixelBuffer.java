@@ -0,0 +1,232 @@
+package suporte;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Imagem em um int[] ARGB reaproveitável: {@link #decode} só aloca um array novo quando a imagem
+ * não cabe no atual, então comparar várias regiões (ou várias páginas) com o mesmo buffer não gera
+ * um array de pixels por captura. Os PNGs do Chrome (RGB ou RGBA de 8 bits) são copiados direto
+ * do raster; outros formatos passam pelo getRGB do Java.
+ */
+public final class PixelBuffer {
+    // Diferença mínima de luminância média entre células vizinhas para ligar um bit do hash
+    private static final int HASH_MARGIN = 2;
+
+    private int width;
+    private int height;
+    private int[] pixels = new int[0];
+
+    public PixelBuffer() {
+    }
+
+    public PixelBuffer(int width, int height) {
+        resize(width, height);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    // Linha y começa em y * width(); o array pode ser maior que width() * height()
+    public int[] pixels() {
+        return pixels;
+    }
+
+    public int get(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    public void set(int x, int y, int argb) {
+        pixels[y * width + x] = argb;
+    }
+
+    // Muda as dimensões reaproveitando o array quando ele já é grande o bastante
+    public PixelBuffer resize(int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Dimensões inválidas: " + width + "x" + height);
+        }
+        int size = Math.multiplyExact(width, height);
+        if (pixels.length < size) {
+            pixels = new int[size];
+        }
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public PixelBuffer decode(byte[] png) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler imagem", e);
+        }
+        if (image == null) {
+            throw new IllegalArgumentException("Formato de imagem não reconhecido (" + png.length + " bytes)");
+        }
+        return copyFrom(image);
+    }
+
+    public PixelBuffer read(Path file) {
+        try {
+            return decode(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler " + file, e);
+        }
+    }
+
+    public PixelBuffer copyFrom(BufferedImage image) {
+        resize(image.getWidth(), image.getHeight());
+        int size = width * height;
+        WritableRaster raster = image.getRaster();
+        // Rasters de imagens lidas do disco não têm deslocamento; sub-imagens vão pelo caminho genérico
+        boolean plain = raster.getParent() == null && raster.getSampleModelTranslateX() == 0
+            && raster.getSampleModelTranslateY() == 0;
+        switch (plain ? image.getType() : BufferedImage.TYPE_CUSTOM) {
+            case BufferedImage.TYPE_INT_ARGB -> System.arraycopy(
+                ((DataBufferInt) raster.getDataBuffer()).getData(), 0, pixels, 0, size);
+            case BufferedImage.TYPE_INT_RGB -> {
+                int[] data = ((DataBufferInt) raster.getDataBuffer()).getData();
+                for (int i = 0; i < size; i++) {
+                    pixels[i] = 0xFF000000 | data[i];
+                }
+            }
+            case BufferedImage.TYPE_4BYTE_ABGR -> {
+                byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+                for (int i = 0, j = 0; i < size; i++, j += 4) {
+                    pixels[i] = (data[j] & 0xFF) << 24 | (data[j + 3] & 0xFF) << 16
+                        | (data[j + 2] & 0xFF) << 8 | (data[j + 1] & 0xFF);
+                }
+            }
+            case BufferedImage.TYPE_3BYTE_BGR -> {
+                byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+                for (int i = 0, j = 0; i < size; i++, j += 3) {
+                    pixels[i] = 0xFF000000 | (data[j + 2] & 0xFF) << 16 | (data[j + 1] & 0xFF) << 8 | (data[j] & 0xFF);
+                }
+            }
+            default -> image.getRGB(0, 0, width, height, pixels, 0, width);
+        }
+        return this;
+    }
+
+    public PixelBuffer copyFrom(PixelBuffer other) {
+        resize(other.width, other.height);
+        System.arraycopy(other.pixels, 0, pixels, 0, width * height);
+        return this;
+    }
+
+    public byte[] encodePng() {
+        BufferedImage image = new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, pixels, 0, width);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gerar PNG", e);
+        }
+        return out.toByteArray();
+    }
+
+    // Grava em um arquivo temporário e move, para não deixar PNG pela metade se a execução cair
+    public void write(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.write(tmp, encodePng());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar " + file, e);
+        }
+    }
+
+    // Luminância média (0 a 255) do retângulo [x0, x1) x [y0, y1)
+    public double meanLuminance(int x0, int y0, int x1, int y1) {
+        long sum = 0;
+        for (int y = y0; y < y1; y++) {
+            int offset = y * width;
+            for (int x = x0; x < x1; x++) {
+                sum += luminance(pixels[offset + x]);
+            }
+        }
+        return (double) sum / ((long) (x1 - x0) * (y1 - y0));
+    }
+
+    /**
+     * Hash perceptual (dHash) de 64 bits do retângulo [x0, x1) x [y0, y1): a área é dividida em
+     * 9x8 células, e cada bit diz se a luminância média de uma célula é menor que a da vizinha
+     * da direita (por mais de {@link #HASH_MARGIN} níveis, para que áreas lisas não oscilem).
+     * Ruído de compressão e de anti-aliasing quase nunca inverte um bit; texto, cor
+     * de fundo ou imagem trocada invertem. {@code scratch} precisa de 72 posições e é reaproveitado
+     * entre chamadas.
+     */
+    public long differenceHash(int x0, int y0, int x1, int y1, long[] scratch) {
+        return gradientHash(x0, y0, x1, y1, 9, 8, false, scratch);
+    }
+
+    // O mesmo hash comparando cada célula com a de baixo (8x9 células): pega mudanças que só
+    // alteram a luminância ao longo de uma coluna, como uma linha de texto trocada
+    public long verticalDifferenceHash(int x0, int y0, int x1, int y1, long[] scratch) {
+        return gradientHash(x0, y0, x1, y1, 8, 9, true, scratch);
+    }
+
+    private long gradientHash(int x0, int y0, int x1, int y1, int columns, int rows, boolean vertical, long[] scratch) {
+        int w = x1 - x0;
+        int h = y1 - y0;
+        if (w < columns || h < rows) {
+            throw new IllegalArgumentException("Área pequena demais para o hash: " + w + "x" + h);
+        }
+        Arrays.fill(scratch, 0, columns * rows, 0);
+        for (int y = y0; y < y1; y++) {
+            int row = (y - y0) * rows / h * columns;
+            int offset = y * width;
+            for (int x = x0; x < x1; x++) {
+                scratch[row + (x - x0) * columns / w] += luminance(pixels[offset + x]);
+            }
+        }
+        long hash = 0;
+        for (int cy = 0; cy < 8; cy++) {
+            for (int cx = 0; cx < 8; cx++) {
+                // Células podem diferir em um pixel: compara médias (soma x área da outra), não somas
+                int first = cy * columns + cx;
+                int second = vertical ? first + columns : first + 1;
+                long firstArea = (long) cellSize(w, columns, cx) * cellSize(h, rows, cy);
+                long secondArea = (long) cellSize(w, columns, vertical ? cx : cx + 1) * cellSize(h, rows, vertical ? cy + 1 : cy);
+                long left = scratch[first] * secondArea + HASH_MARGIN * firstArea * secondArea;
+                long right = scratch[second] * firstArea;
+                hash = hash << 1 | (left < right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    // Luminância (Rec. 601) em inteiros
+    private static int luminance(int argb) {
+        return (((argb >> 16) & 0xFF) * 77 + ((argb >> 8) & 0xFF) * 150 + (argb & 0xFF) * 29) >> 8;
+    }
+
+    // Pixels da parte index quando length pixels são divididos em parts partes (p * parts / length == index)
+    private static int cellSize(int length, int parts, int index) {
+        return ceilDiv((index + 1) * length, parts) - ceilDiv(index * length, parts);
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+}
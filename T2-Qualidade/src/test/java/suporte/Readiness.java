@@ -0,0 +1,168 @@
+package suporte;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * O que a página precisa ter para um teste começar: DOM analisado, um seletor presente, as
+ * imagens decodificadas, a rede parada por N ms ou o carregamento completo. As sessões navegam com
+ * a estratégia EAGER (o driver.get volta no DOMContentLoaded) e o {@link BrowserSession#awaitReady}
+ * espera só pela condição do teste, com observers dentro da página (readiness.js).
+ * <p>
+ * A condição vem de {@link Ready} no método ou na classe, ou da tag do JUnit em
+ * readiness.properties; sem nenhuma, é o carregamento completo, como antes. -Dteste.ready=false
+ * volta todos os testes para o carregamento completo, o que permite comparar os resultados.
+ */
+public record Readiness(Kind kind, String selector, long idleMillis) {
+    public enum Kind { DOM, SELECTOR, IMAGES, IDLE, LOAD }
+
+    public static final Readiness DOM = new Readiness(Kind.DOM, null, 0);
+    public static final Readiness LOAD = new Readiness(Kind.LOAD, null, 0);
+
+    static final String SCRIPT = load("readiness.js");
+    // Contador de fetch/XHR em andamento, instalado em cada documento antes dos scripts da página
+    static final String REQUEST_TRACKER = load("request-tracker.js");
+    private static final Properties TAGS = properties();
+
+    public Readiness {
+        if (kind == Kind.SELECTOR && (selector == null || selector.isBlank())) {
+            throw new IllegalArgumentException("Prontidão por seletor sem seletor CSS");
+        }
+        if (kind == Kind.IDLE && idleMillis <= 0) {
+            throw new IllegalArgumentException("Janela de rede parada deve ser positiva: " + idleMillis);
+        }
+    }
+
+    // "dom", "selector:<css>", "images", "idle:<ms>" ou "load"
+    public static Readiness parse(String spec) {
+        String trimmed = spec.trim();
+        int colon = trimmed.indexOf(':');
+        String name = (colon < 0 ? trimmed : trimmed.substring(0, colon)).trim().toLowerCase(Locale.ROOT);
+        String argument = colon < 0 ? null : trimmed.substring(colon + 1).trim();
+        Kind kind = switch (name) {
+            case "dom" -> Kind.DOM;
+            case "selector" -> Kind.SELECTOR;
+            case "images" -> Kind.IMAGES;
+            case "idle" -> Kind.IDLE;
+            case "load" -> Kind.LOAD;
+            default -> throw new IllegalArgumentException("Prontidão desconhecida: " + spec);
+        };
+        if ((kind == Kind.SELECTOR || kind == Kind.IDLE) != (argument != null)) {
+            throw new IllegalArgumentException("Prontidão mal formada: " + spec);
+        }
+        if (kind == Kind.IDLE) {
+            try {
+                return new Readiness(kind, null, Long.parseLong(argument));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Janela de rede parada inválida: " + spec, e);
+            }
+        }
+        return new Readiness(kind, argument, 0);
+    }
+
+    // Método > classe > tag (tag.<nome>=condição) > carregamento completo
+    public static Readiness forTest(Optional<Class<?>> testClass, Optional<Method> testMethod, Set<String> tags) {
+        if (!SuiteConfig.flag("ready", true)) {
+            return LOAD;
+        }
+        Optional<Ready> annotation = testMethod.map(method -> method.getAnnotation(Ready.class));
+        if (annotation.isEmpty()) {
+            annotation = testClass.map(type -> type.getAnnotation(Ready.class));
+        }
+        if (annotation.isPresent()) {
+            return parse(annotation.get().value());
+        }
+        return forTags(tags, TAGS);
+    }
+
+    /**
+     * Condição pelas tags (tag.&lt;nome&gt;=condição em mapping), em ordem alfabética; duas tags com
+     * condições diferentes são um erro de configuração, não uma escolha pela ordem do Set.
+     */
+    public static Readiness forTags(Set<String> tags, Properties mapping) {
+        Readiness chosen = null;
+        String chosenTag = null;
+        for (String tag : new TreeSet<>(tags)) {
+            String spec = mapping.getProperty("tag." + tag);
+            if (spec == null) {
+                continue;
+            }
+            Readiness readiness = parse(spec);
+            if (chosen == null) {
+                chosen = readiness;
+                chosenTag = tag;
+            } else if (!chosen.equals(readiness)) {
+                throw new IllegalArgumentException("Tags com condições de prontidão diferentes: tag." + chosenTag
+                    + "=" + chosen + " e tag." + tag + "=" + readiness + "; declare @Ready no teste ou na classe");
+            }
+        }
+        return chosen == null ? LOAD : chosen;
+    }
+
+    /**
+     * Estratégia de carregamento das sessões (-Dteste.pageload=eager|normal, padrão eager).
+     * NONE não é aceita: o driver.get voltaria antes da navegação começar e a condição poderia
+     * ser verificada ainda no documento anterior.
+     */
+    public static PageLoadStrategy pageLoadStrategy() {
+        String value = SuiteConfig.string("pageload", "eager").trim().toUpperCase(Locale.ROOT);
+        PageLoadStrategy strategy = PageLoadStrategy.valueOf(value);
+        if (strategy == PageLoadStrategy.NONE) {
+            throw new IllegalArgumentException("-Dteste.pageload=none não é suportado; use eager ou normal");
+        }
+        return strategy;
+    }
+
+    // Limite da espera dentro da página (-Dteste.ready.timeout, ms); o scriptTimeout da sessão fica acima dele
+    public static Duration timeout() {
+        return SuiteConfig.millis("ready.timeout", 30_000);
+    }
+
+    // Argumentos do readiness.js: tipo, seletor e janela de rede parada
+    Object[] scriptArguments() {
+        return new Object[] {kind.name().toLowerCase(Locale.ROOT), selector, idleMillis, timeout().toMillis()};
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case SELECTOR -> "selector:" + selector;
+            case IDLE -> "idle:" + idleMillis;
+            default -> kind.name().toLowerCase(Locale.ROOT);
+        };
+    }
+
+    private static String load(String name) {
+        try (InputStream in = Readiness.class.getResourceAsStream("/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException(name + " não encontrado no classpath");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler " + name, e);
+        }
+    }
+
+    private static Properties properties() {
+        Properties properties = new Properties();
+        try (InputStream in = Readiness.class.getResourceAsStream("/readiness.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler readiness.properties", e);
+        }
+        return properties;
+    }
+}
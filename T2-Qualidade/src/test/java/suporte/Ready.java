@@ -0,0 +1,16 @@
+package suporte;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * O que a página precisa ter antes do teste começar (veja {@link Readiness#parse}): "dom",
+ * "selector:footer", "images", "idle:500" ou "load". A anotação do método tem prioridade sobre a da classe.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Ready {
+    String value();
+}
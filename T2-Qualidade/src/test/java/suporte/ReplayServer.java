@@ -0,0 +1,80 @@
+package suporte;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP local (com.sun.net.httpserver) que serve um {@link SiteArchive}.
+ * Escuta apenas em 127.0.0.1; com porta 0 o sistema escolhe uma porta livre.
+ */
+public class ReplayServer implements AutoCloseable {
+    private final SiteArchive archive;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ReplayServer(SiteArchive archive, int port) {
+        this.archive = archive;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o servidor local na porta " + port, e);
+        }
+        // Threads daemon: várias sessões do Chrome carregam recursos ao mesmo tempo
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "replay-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public static ReplayServer start(SiteArchive archive, int port) {
+        ReplayServer replay = new ReplayServer(archive, port);
+        replay.server.start();
+        return replay;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getRawPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            SiteArchive.Entry entry = archive.get(query == null ? path : path + "?" + query);
+            if (entry == null && query != null) {
+                entry = archive.get(path);
+            }
+            if (entry == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", entry.contentType());
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, entry.body().length == 0 ? -1 : entry.body().length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(entry.body());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,92 @@
+package suporte;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vereditos aprovados de testes, por URL e hash de conteúdo, gravados entre execuções (TSV).
+ * Só aprovações são guardadas: um teste que falhou roda de novo na próxima execução.
+ * Para cada URL e teste fica apenas o hash mais recente.
+ */
+public class ResultStore {
+    private static final String HEADER = "url\thash\ttest\tmillis\trecorded_at";
+
+    /** Aprovação de um teste para a página com o hash dado, com a duração (ms) e o horário da execução. */
+    public record Verdict(String url, String hash, String test, long millis, long recordedAt) {
+    }
+
+    private final Path file;
+    private final Map<String, Verdict> verdicts = new ConcurrentHashMap<>();
+
+    public ResultStore(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            load();
+        }
+    }
+
+    // Aprovação anterior para a mesma URL e o mesmo hash, ou null
+    public Verdict passed(String url, String hash, String test) {
+        Verdict verdict = verdicts.get(key(url, test));
+        return verdict != null && verdict.hash().equals(hash) ? verdict : null;
+    }
+
+    public void recordPass(String url, String hash, String test, long millis) {
+        verdicts.put(key(url, test), new Verdict(url, hash, test, millis, System.currentTimeMillis()));
+    }
+
+    public void forget(String url, String test) {
+        verdicts.remove(key(url, test));
+    }
+
+    public synchronized void save() {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (Verdict verdict : verdicts.values()) {
+            lines.add(String.join("\t", verdict.url(), verdict.hash(), verdict.test(),
+                String.valueOf(verdict.millis()), String.valueOf(verdict.recordedAt())));
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar os vereditos em " + file, e);
+        }
+    }
+
+    private void load() {
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length != 5 || line.equals(HEADER)) {
+                    continue;
+                }
+                try {
+                    Verdict verdict = new Verdict(fields[0], fields[1], fields[2],
+                        Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+                    verdicts.put(key(verdict.url(), verdict.test()), verdict);
+                } catch (NumberFormatException e) {
+                    // Linha corrompida: o teste simplesmente roda de novo
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler os vereditos em " + file, e);
+        }
+    }
+
+    private static String key(String url, String test) {
+        return url + "\t" + test;
+    }
+}
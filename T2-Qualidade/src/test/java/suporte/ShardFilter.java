@@ -0,0 +1,33 @@
+package suporte;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Optional;
+
+/**
+ * Com -Dteste.shard.count=N (N > 1), mantém só os métodos de teste do shard
+ * -Dteste.shard.index segundo o {@link ShardPlan}. Registrado em
+ * META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter, então vale para
+ * qualquer execução pelo JUnit Platform (Surefire, IDE), sem configuração no pom.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        Optional<MethodSource> source = Sharding.methodSource(descriptor.getSource());
+        if (source.isEmpty() || !Sharding.options().enabled()) {
+            return FilterResult.included("Sem sharding");
+        }
+        String test = Sharding.testKey(source.get());
+        int shard = Sharding.plan().shardOf(Sharding.group(source.get()));
+        int count = Sharding.options().count();
+        if (shard != Sharding.options().index()) {
+            return FilterResult.excluded("Shard " + shard + "/" + count);
+        }
+        Sharding.SELECTED.put(test, Sharding.estimate(test));
+        return FilterResult.included("Shard " + shard + "/" + count);
+    }
+}
@@ -0,0 +1,17 @@
+package suporte;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Testes com o mesmo grupo sempre caem no mesmo shard, por exemplo os que usam a mesma sessão
+ * do Chrome aberta no @BeforeAll da classe. Sem a anotação, cada método é distribuído sozinho.
+ * A anotação do método tem prioridade sobre a da classe.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardGroup {
+    String value();
+}
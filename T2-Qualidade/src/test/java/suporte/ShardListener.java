@@ -0,0 +1,97 @@
+package suporte;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mede a duração de cada método de teste (incluindo @BeforeEach/@AfterEach e, nas fábricas,
+ * todos os testes dinâmicos), grava o {@link DurationHistory} ao final e, com sharding,
+ * compara a duração prevista do shard com a medida. Testes pulados não atualizam o histórico.
+ * Registrado em META-INF/services/org.junit.platform.launcher.TestExecutionListener.
+ */
+public class ShardListener implements TestExecutionListener {
+    // Segmentos do unique ID que terminam no método: teste comum, fábrica de testes dinâmicos e
+    // template (repetidos e parametrizados); o nó do método já inclui todas as invocações
+    private static final Set<String> METHOD_SEGMENTS = Set.of("method", "test-factory", "test-template");
+
+    private final Map<String, Long> starts = new ConcurrentHashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private final Map<String, String> groups = new ConcurrentHashMap<>();
+    private volatile long planStart;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        planStart = System.nanoTime();
+        measured.clear();
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        // Testes dinâmicos e invocações herdam o MethodSource do método e contariam a duração duas vezes
+        if (Sharding.methodSource(identifier.getSource()).isPresent() && isMethodNode(identifier)) {
+            starts.put(identifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        Long start = starts.remove(identifier.getUniqueId());
+        Optional<MethodSource> source = Sharding.methodSource(identifier.getSource());
+        if (start == null || source.isEmpty()) {
+            return;
+        }
+        String test = Sharding.testKey(source.get());
+        measured.merge(test, (System.nanoTime() - start) / 1_000_000, Long::sum);
+        groups.putIfAbsent(test, Sharding.group(source.get()));
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (measured.isEmpty()) {
+            return;
+        }
+        ShardPlan.Options options = Sharding.options();
+        // Previsão lida antes de a medição desta execução entrar no histórico
+        long predicted = 0;
+        long actual = 0;
+        for (Map.Entry<String, Long> test : measured.entrySet()) {
+            predicted += Sharding.SELECTED.getOrDefault(test.getKey(), Sharding.estimate(test.getKey()));
+            actual += test.getValue();
+        }
+        long wallMillis = (System.nanoTime() - planStart) / 1_000_000;
+        if (options.enabled()) {
+            ShardPlan plan = Sharding.plan();
+            StringJoiner loads = new StringJoiner(" | ");
+            for (int shard = 1; shard <= plan.count(); shard++) {
+                loads.add(shard + ": " + seconds(plan.predictedMillis(shard)));
+            }
+            System.out.printf("INFO SHARD: shard %d/%d, %d testes: previsto %s, medido %s (soma das durações), %s de relógio%n",
+                options.index(), options.count(), measured.size(), seconds(predicted), seconds(actual), seconds(wallMillis));
+            System.out.println("INFO SHARD: carga prevista pelo histórico em cada shard: " + loads);
+        }
+
+        DurationHistory history = Sharding.history();
+        measured.forEach((test, millis) -> history.record(test, groups.get(test), millis));
+        history.save(options.historyFile());
+        System.out.printf("INFO SHARD: histórico com %d testes gravado em %s%n",
+            history.entries().size(), options.historyDirectory().resolve(options.historyFile()));
+    }
+
+    private static boolean isMethodNode(TestIdentifier identifier) {
+        return METHOD_SEGMENTS.contains(UniqueId.parse(identifier.getUniqueId()).getLastSegment().getType());
+    }
+
+    private static String seconds(long millis) {
+        return String.format("%.1f s", millis / 1000.0);
+    }
+}
@@ -0,0 +1,104 @@
+package suporte;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Divisão dos testes em N shards pela regra LPT (longest processing time): os grupos do
+ * histórico, do mais demorado para o mais rápido, vão cada um para o shard com a menor carga
+ * até então. O shard mais carregado fica a no máximo 4/3 da melhor divisão possível, e os testes
+ * lentos do navegador não se acumulam em um shard só, como acontece dividindo por quantidade.
+ * <p>
+ * O plano depende só do histórico e do número de shards, nunca de quais testes foram descobertos:
+ * todas as máquinas com o mesmo histórico chegam ao mesmo plano, e uma descoberta parcial (a do
+ * Surefire, classe por classe) não muda o shard de ninguém. Grupos que não estão no histórico
+ * (testes novos) vão para o shard dado pelo hash do nome, que também é o mesmo em toda parte.
+ */
+public final class ShardPlan {
+
+    /** Shard desta execução (1 a count), número de shards, pasta do histórico e duração estimada de teste sem histórico. */
+    public record Options(int index, int count, Path historyDirectory, long defaultMillis) {
+        public Options {
+            if (count < 1 || index < 1 || index > count) {
+                throw new IllegalArgumentException("Shard inválido: teste.shard.index=" + index
+                    + " deve estar entre 1 e teste.shard.count=" + count);
+            }
+        }
+
+        // -Dteste.shard.index (1 a count), -Dteste.shard.count, -Dteste.shard.history e -Dteste.shard.estimate (ms)
+        public static Options fromConfig() {
+            return new Options(
+                SuiteConfig.integer("shard.index", 1),
+                SuiteConfig.integer("shard.count", 1),
+                Path.of(SuiteConfig.string("shard.history", "shard-history")),
+                SuiteConfig.integer("shard.estimate", 5_000));
+        }
+
+        public boolean enabled() {
+            return count > 1;
+        }
+
+        // Cada shard grava o próprio arquivo; a leitura junta todos
+        public String historyFile() {
+            return enabled() ? "durations-" + index + ".tsv" : "durations.tsv";
+        }
+    }
+
+    private final int count;
+    private final Map<String, Integer> shards = new HashMap<>();
+    private final long[] loads;
+
+    private ShardPlan(int count) {
+        this.count = count;
+        this.loads = new long[count];
+    }
+
+    // Duração (ms) de cada grupo somando os testes dele no histórico
+    public static ShardPlan fromHistory(DurationHistory history, int count) {
+        Map<String, Long> groups = new TreeMap<>();
+        for (DurationHistory.Entry entry : history.entries().values()) {
+            groups.merge(entry.group(), entry.millis(), Long::sum);
+        }
+        return create(groups, count);
+    }
+
+    public static ShardPlan create(Map<String, Long> groupMillis, int count) {
+        ShardPlan plan = new ShardPlan(count);
+        List<Map.Entry<String, Long>> groups = new ArrayList<>(groupMillis.entrySet());
+        // Mais demorado primeiro; empate pelo nome, para que a ordem seja a mesma em toda máquina
+        groups.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(
+            Comparator.<Integer>comparingLong(shard -> plan.loads[shard]).thenComparing(shard -> shard));
+        for (int shard = 0; shard < count; shard++) {
+            lightest.add(shard);
+        }
+        for (Map.Entry<String, Long> group : groups) {
+            int shard = lightest.poll();
+            plan.shards.put(group.getKey(), shard);
+            plan.loads[shard] += group.getValue();
+            lightest.add(shard);
+        }
+        return plan;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // Shard (1 a count) do grupo
+    public int shardOf(String group) {
+        Integer shard = shards.get(group);
+        return (shard != null ? shard : Math.floorMod(group.hashCode(), count)) + 1;
+    }
+
+    // Soma das durações do histórico atribuídas ao shard (1 a count)
+    public long predictedMillis(int shard) {
+        return loads[shard - 1];
+    }
+}
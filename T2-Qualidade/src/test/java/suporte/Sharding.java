@@ -0,0 +1,74 @@
+package suporte;
+
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estado do sharding compartilhado entre o {@link ShardFilter} (descoberta) e o
+ * {@link ShardListener} (execução), que o JUnit instancia separadamente na mesma JVM.
+ */
+final class Sharding {
+    private static ShardPlan.Options options;
+    private static DurationHistory history;
+    private static ShardPlan plan;
+    // Testes escolhidos para este shard e a duração prevista de cada um (ms)
+    static final Map<String, Long> SELECTED = new ConcurrentHashMap<>();
+
+    private Sharding() {
+    }
+
+    static synchronized ShardPlan.Options options() {
+        if (options == null) {
+            options = ShardPlan.Options.fromConfig();
+        }
+        return options;
+    }
+
+    static synchronized DurationHistory history() {
+        if (history == null) {
+            history = new DurationHistory(options().historyDirectory());
+        }
+        return history;
+    }
+
+    static synchronized ShardPlan plan() {
+        if (plan == null) {
+            plan = ShardPlan.fromHistory(history(), options().count());
+        }
+        return plan;
+    }
+
+    // Duração prevista de um teste: histórico, senão a mediana do histórico, senão -Dteste.shard.estimate
+    static long estimate(String test) {
+        DurationHistory.Entry entry = history().get(test);
+        return entry != null ? entry.millis() : history().typicalMillis(options().defaultMillis());
+    }
+
+    static Optional<MethodSource> methodSource(Optional<TestSource> source) {
+        return source.filter(MethodSource.class::isInstance).map(MethodSource.class::cast);
+    }
+
+    static String testKey(MethodSource source) {
+        return source.getClassName() + "#" + source.getMethodName();
+    }
+
+    // @ShardGroup do método, depois da classe; sem anotação o teste é o próprio grupo
+    static String group(MethodSource source) {
+        try {
+            Method method = source.getJavaMethod();
+            ShardGroup annotation = method.getAnnotation(ShardGroup.class);
+            if (annotation == null) {
+                annotation = source.getJavaClass().getAnnotation(ShardGroup.class);
+            }
+            return annotation != null ? annotation.value() : testKey(source);
+        } catch (RuntimeException e) {
+            // Método não resolvido (classe fora do classpath): distribui pelo nome
+            return testKey(source);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package suporte;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cópia local de uma página e dos recursos que ela carrega (imagens, scripts, CSS, fontes).
+ * No disco o arquivo é um diretório com um index.tsv (caminho, content-type, arquivo)
+ * e um arquivo por recurso. As URLs dentro do HTML e do CSS são reescritas para
+ * caminhos locais, assim o {@link ReplayServer} consegue servir tudo sem rede.
+ */
+public class SiteArchive {
+    static final String INDEX_FILE = "index.tsv";
+    // Recursos de outros hosts ficam em /__ext/<host>/<caminho>
+    static final String EXTERNAL_PREFIX = "/__ext/";
+
+    private static final Pattern HTML_RESOURCE = Pattern.compile(
+        "<(?:img|script|link|source|iframe|video|audio)\\b[^>]*?\\s(?:src|href)\\s*=\\s*[\"']([^\"']+)[\"']",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern CSS_RESOURCE = Pattern.compile(
+        "url\\(\\s*['\"]?([^'\")]+)['\"]?\\s*\\)");
+
+    public record Entry(String contentType, byte[] body) {
+    }
+
+    private final Map<String, Entry> entries;
+
+    private SiteArchive(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    public Entry get(String path) {
+        return entries.get(path);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Baixa a página e seus recursos e grava o arquivo em dir
+    public static SiteArchive record(String pageUrl, Path dir) {
+        HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(15))
+            .build();
+        Map<String, Entry> entries = new LinkedHashMap<>();
+
+        // URLs relativas são resolvidas contra o endereço final (depois de redirecionamentos)
+        HttpResponse<byte[]> response = send(client, URI.create(pageUrl));
+        URI page = response.uri();
+        Entry html = toEntry(response);
+        String rewrittenHtml = rewrite(client, page, page, text(html), HTML_RESOURCE, entries, true);
+        // A página fica sempre na raiz: o ReplayServer usa "/" como BASE_URL
+        entries.put("/", new Entry(html.contentType(), rewrittenHtml.getBytes(StandardCharsets.UTF_8)));
+
+        SiteArchive archive = new SiteArchive(entries);
+        archive.save(dir);
+        System.out.println("INFO ARQUIVO: " + entries.size() + " recursos gravados em " + dir.toAbsolutePath());
+        return archive;
+    }
+
+    public static SiteArchive load(Path dir) {
+        Path index = dir.resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            throw new IllegalStateException("Arquivo do site não encontrado em " + dir.toAbsolutePath()
+                + " - rode uma vez com -Dteste.site=record");
+        }
+        try {
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] columns = line.split("\t", 3);
+                entries.put(columns[0], new Entry(columns[1], Files.readAllBytes(dir.resolve(columns[2]))));
+            }
+            return new SiteArchive(entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o arquivo do site em " + dir, e);
+        }
+    }
+
+    // Serve um diretório comum (ex.: o site de teste em src/test/resources/fixture);
+    // index.html de cada pasta também responde pelo caminho da pasta
+    public static SiteArchive ofDirectory(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String path = "/" + dir.relativize(file).toString().replace('\\', '/');
+                Entry entry = new Entry(contentType(file), Files.readAllBytes(file));
+                entries.put(path, entry);
+                if (path.endsWith("/index.html")) {
+                    entries.put(path.substring(0, path.length() - "index.html".length()), entry);
+                }
+            }
+            return new SiteArchive(entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o diretório " + dir, e);
+        }
+    }
+
+    private static String contentType(Path file) {
+        String name = file.getFileName().toString();
+        String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        switch (extension) {
+            case "html":
+                return "text/html; charset=utf-8";
+            case "css":
+                return "text/css; charset=utf-8";
+            case "js":
+                return "text/javascript; charset=utf-8";
+            case "svg":
+                return "image/svg+xml";
+            case "png":
+                return "image/png";
+            case "jpg":
+            case "jpeg":
+                return "image/jpeg";
+            default:
+                return "application/octet-stream";
+        }
+    }
+
+    private void save(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            List<String> index = new ArrayList<>();
+            int n = 0;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                String file = String.format("r%04d.bin", n++);
+                Files.write(dir.resolve(file), entry.getValue().body());
+                index.add(entry.getKey() + "\t" + entry.getValue().contentType() + "\t" + file);
+            }
+            Files.write(dir.resolve(INDEX_FILE), index, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o arquivo do site em " + dir, e);
+        }
+    }
+
+    // Baixa cada recurso referenciado e troca a URL original pelo caminho local
+    private static String rewrite(HttpClient client, URI page, URI base, String content, Pattern pattern,
+                                  Map<String, Entry> entries, boolean followCss) {
+        Matcher matcher = pattern.matcher(content);
+        StringBuilder out = new StringBuilder(content.length());
+        while (matcher.find()) {
+            String reference = matcher.group(1).trim();
+            String replacement = reference;
+            if (!reference.startsWith("data:") && !reference.startsWith("#") && !reference.startsWith("javascript:")) {
+                try {
+                    URI resource = base.resolve(reference.replace("&amp;", "&"));
+                    if (resource.getScheme() != null && resource.getScheme().startsWith("http")) {
+                        String path = localPath(page, resource);
+                        if (!entries.containsKey(path)) {
+                            Entry entry = fetch(client, resource);
+                            if (followCss && entry.contentType().startsWith("text/css")) {
+                                String css = rewrite(client, page, resource, text(entry), CSS_RESOURCE, entries, false);
+                                entry = new Entry(entry.contentType(), css.getBytes(StandardCharsets.UTF_8));
+                            }
+                            entries.put(path, entry);
+                        }
+                        replacement = path;
+                    }
+                } catch (IllegalArgumentException | UncheckedIOException e) {
+                    // Recurso inválido ou fora do ar: mantém a URL original
+                    System.out.println("INFO ARQUIVO: recurso ignorado " + reference + " (" + e.getMessage() + ")");
+                }
+            }
+            String whole = matcher.group();
+            int start = matcher.start(1) - matcher.start();
+            int end = matcher.end(1) - matcher.start();
+            matcher.appendReplacement(out, Matcher.quoteReplacement(
+                whole.substring(0, start) + replacement + whole.substring(end)));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    static String localPath(URI page, URI resource) {
+        String path = resource.getRawPath() == null || resource.getRawPath().isEmpty() ? "/" : resource.getRawPath();
+        if (resource.getRawQuery() != null) {
+            path += "?" + resource.getRawQuery();
+        }
+        if (resource.getHost() != null && !resource.getHost().equalsIgnoreCase(page.getHost())) {
+            path = EXTERNAL_PREFIX + resource.getHost() + path;
+        }
+        return path;
+    }
+
+    private static Entry fetch(HttpClient client, URI uri) {
+        return toEntry(send(client, uri));
+    }
+
+    private static Entry toEntry(HttpResponse<byte[]> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse("application/octet-stream");
+        return new Entry(contentType, response.body());
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient client, URI uri) {
+        try {
+            HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 400) {
+                throw new UncheckedIOException(new IOException("HTTP " + response.statusCode() + " em " + uri));
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao baixar " + uri, e);
+        }
+    }
+
+    private static String text(Entry entry) {
+        return new String(entry.body(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,289 @@
+package suporte;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * As regras da classe Teste em um só lugar: a Teste e o {@link SiteCrawler} chamam os mesmos
+ * métodos. Cada regra recebe contagens e textos já extraídos, então vale tanto para o DOM do
+ * navegador quanto para o HTML baixado pelo crawler.
+ * <p>
+ * No crawl só entra o que vale para toda página: nada de conteúdo específico da página inicial
+ * (notícias, eventos, redes sociais), e listas, tabelas e formulários só são verificados quando a
+ * página os tem (a presença é exigida só na página inicial, pela Teste).
+ */
+public final class SiteChecks {
+
+    private SiteChecks() {
+    }
+
+    public static List<PageCheck> all() {
+        return List.of(
+            PageCheck.markup("cabecalho", SiteChecks::header),
+            PageCheck.markup("navegacao", SiteChecks::navigation),
+            PageCheck.markup("rodape", SiteChecks::footer),
+            PageCheck.markup("titulo", SiteChecks::title),
+            PageCheck.markup("viewport", SiteChecks::viewport),
+            PageCheck.markup("imagens", SiteChecks::images),
+            PageCheck.markup("listas", SiteChecks::lists),
+            PageCheck.markup("tabelas", SiteChecks::tables),
+            PageCheck.markup("formularios", SiteChecks::forms),
+            PageCheck.browser("imagens-visiveis", SiteChecks::visibleImages),
+            PageCheck.browser("acessibilidade", SiteChecks::accessibility));
+    }
+
+    // Só as verificações que não precisam de navegador
+    public static List<PageCheck> markupOnly() {
+        return all().stream().filter(check -> !check.needsBrowser()).toList();
+    }
+
+    // ---- Regras compartilhadas com a classe Teste ----
+
+    // Teste 1: header/logo encontrado ou, na falta dele, referência à universidade
+    public static void header(boolean found, boolean mentionsUniversity) {
+        assertTrue(found || mentionsUniversity,
+                  "PRESENÇA: Página deve conter header/logo ou referência à RWTH Aachen");
+    }
+
+    // Teste 2: links de navegação com texto e href válido
+    public static void navigation(int links, int withText, int validHrefs) {
+        assertTrue(links > 0, "PRESENÇA: Deve haver links de navegação visíveis");
+        assertTrue(withText >= 1,
+                  "CONTEÚDO: Maioria dos links visíveis deve ter texto ou aria-label (" + withText + "/" + links + ")");
+        assertTrue(validHrefs >= Math.min(2, links),
+                  "HREFS: Maioria dos links visíveis deve ter href válidos (" + validHrefs + "/" + links + ")");
+    }
+
+    // Teste 6: conteúdo do footer
+    public static void footerContent(String footerText) {
+        String text = footerText.toLowerCase(Locale.ROOT);
+        int contentScore = 0;
+
+        if (text.contains("rwth") || text.contains("aachen")) contentScore++;
+        if (text.contains("copyright") || text.contains("©")) contentScore++;
+        if (text.contains("2025") || text.contains("2024")) contentScore++;
+        if (text.contains("kontakt") || text.contains("contact")) contentScore++;
+        if (text.contains("impressum") || text.contains("datenschutz")) contentScore++;
+
+        assertTrue(contentScore >= 2,
+                  "CONTEÚDO: Footer deve conter pelo menos 2 tipos de informação relevante " +
+                  "(universidade, copyright, ano, localização, contato). Score: " + contentScore + "/5");
+    }
+
+    // Teste 6: links do footer
+    public static void footerLinks(int links) {
+        assertTrue(links > 0, "ESTRUTURA: Footer deve conter pelo menos um link");
+    }
+
+    // Teste 13
+    public static void viewport(HtmlDocument.Element viewportMeta) {
+        assertNotNull(viewportMeta, "Página deve ter meta tag viewport para responsividade");
+        String content = viewportMeta.attr("content");
+        assertNotNull(content, "Meta viewport deve ter conteúdo");
+        assertTrue(content.contains("width=device-width"),
+                  "Viewport deve estar configurado para dispositivos móveis");
+    }
+
+    // Teste 14
+    public static void title(String title) {
+        assertNotNull(title, "Página deve ter um título");
+        assertFalse(title.trim().isEmpty(), "Título não deve estar vazio");
+    }
+
+    // Teste 8: src válido (data:, é o placeholder de imagem lazy ainda não carregada)
+    public static boolean validSource(String src) {
+        return src != null && !src.trim().isEmpty() && !src.equals("data:,");
+    }
+
+    // Teste 8: carregamento
+    public static void imageSources(int validSources, int images) {
+        assertTrue(validSources > 0,
+                  "CARREGAMENTO: Pelo menos uma imagem deve ter src válido (" + validSources + "/" + images + ")");
+    }
+
+    // Teste 8: alt text; violations vai na mensagem quando há detalhe por imagem
+    public static void imageAlt(int withAlt, int checked, Object violations) {
+        assertTrue(withAlt >= checked / 2,
+                  "ACESSIBILIDADE: Pelo menos metade das imagens deve ter alt text (" +
+                  withAlt + "/" + checked + ")" + (violations == null ? "" : ": " + violations));
+    }
+
+    // Teste 8: visibilidade e dimensões (≥20x20px) das imagens renderizadas
+    public static void imageLayout(List<ElementData> images) {
+        int visibleImages = 0;
+        int reasonableSizedImages = 0;
+        for (ElementData img : images) {
+            if (img.displayed()) {
+                visibleImages++;
+                if (img.width() >= 20 && img.height() >= 20) {
+                    reasonableSizedImages++;
+                }
+            }
+        }
+        assertTrue(visibleImages > 0,
+                  "VISIBILIDADE: Pelo menos uma imagem deve estar visível (" + visibleImages + "/" + images.size() + ")");
+        assertTrue(reasonableSizedImages > 0,
+                  "DIMENSÕES: Pelo menos uma imagem deve ter tamanho adequado (≥20x20px)");
+    }
+
+    // Teste 15: campos de texto (input type text, email ou search) pedem labels na página
+    public static void formLabels(int textInputs, int labels) {
+        if (textInputs > 0) {
+            assertTrue(labels > 0, "ACESSIBILIDADE: Campos de texto devem ter labels associados");
+        }
+    }
+
+    // Teste 16: cabeçalhos e linhas da primeira tabela
+    public static void table(int headers, int rows) {
+        assertTrue(headers > 0, "ESTRUTURA: Tabela deve ter cabeçalhos (th)");
+        assertTrue(rows >= 2, "CONTEÚDO: Tabela deve ter pelo menos 2 linhas (cabeçalho + dados)");
+    }
+
+    // Teste 17: itens da primeira lista não ordenada; com conteúdo = texto ou elementos filhos
+    public static void unorderedList(int items, int itemsWithContent) {
+        assertTrue(items >= 2,
+                  "ESTRUTURA UL: Lista deve ter pelo menos 2 itens (" + items + " encontrados)");
+        assertTrue(itemsWithContent >= Math.max(1, items / 2),
+                  "CONTEÚDO UL: Pelo menos metade dos itens deve ter conteúdo significativo (" +
+                  itemsWithContent + "/" + items + " itens)");
+    }
+
+    // Teste 17: itens da primeira lista ordenada
+    public static void orderedList(int items) {
+        assertTrue(items >= 2, "ESTRUTURA OL: Lista ordenada deve ter pelo menos 2 itens");
+    }
+
+    /**
+     * Regra da auditoria na página inteira (Testes 15, 16, 17 e 21 e o crawl), com a mesma política
+     * para todas: as violações aparecem no log como INFO A11Y e só reprovam com -Dteste.a11y.strict=true,
+     * já que as verificações originais olham só o primeiro elemento.
+     */
+    public static void audit(AccessibilityAudit.Result audit, AccessibilityAudit.Rule rule, String message) {
+        String detail = message + " (" + audit.failed(rule) + "/" + audit.checked(rule) + "): " + audit.violations(rule);
+        if (SuiteConfig.flag("a11y.strict", false)) {
+            assertTrue(audit.passed(rule), detail);
+        } else if (!audit.passed(rule)) {
+            System.out.println("INFO A11Y: " + detail);
+        }
+    }
+
+    // Teste 21: nomes de links e contraste
+    public static void linkNamesAndContrast(AccessibilityAudit.Result audit) {
+        audit(audit, AccessibilityAudit.Rule.LINK_NAME, "ACESSIBILIDADE: Links sem texto ou aria-label");
+        audit(audit, AccessibilityAudit.Rule.CONTRAST, "CONTRASTE: Texto abaixo de 4.5:1 (3:1 para texto grande)");
+    }
+
+    // ---- Verificações do crawl: extraem do HTML (ou do navegador) e aplicam as regras acima ----
+
+    // Teste 1: header ou logo (alt com "logo" ou "rwth"), senão o nome da universidade no texto
+    static void header(HtmlDocument document) {
+        boolean hasLogo = document.select("img").stream()
+            .map(img -> img.attr("alt"))
+            .anyMatch(alt -> alt != null && (alt.toLowerCase(Locale.ROOT).contains("logo")
+                                             || alt.toLowerCase(Locale.ROOT).contains("rwth")));
+        String text = document.root().text();
+        header(!document.select("header").isEmpty() || hasLogo,
+               text.contains("RWTH Aachen") || text.contains("Rheinisch-Westfälische"));
+    }
+
+    // Teste 2: links do nav e do header (os mesmos do ElementRegistry.NAV_LINKS, sem as classes)
+    static void navigation(HtmlDocument document) {
+        Set<HtmlDocument.Element> links = new LinkedHashSet<>();
+        for (String container : List.of("nav", "header")) {
+            for (HtmlDocument.Element element : document.select(container)) {
+                links.addAll(element.select("a"));
+            }
+        }
+        int withText = 0;
+        int validHrefs = 0;
+        for (HtmlDocument.Element link : links) {
+            String ariaLabel = link.attr("aria-label");
+            if (!link.text().isEmpty() || (ariaLabel != null && !ariaLabel.isEmpty())) {
+                withText++;
+            }
+            String href = link.attr("href");
+            if (href != null && !href.trim().isEmpty() && !href.equals("#")) {
+                validHrefs++;
+            }
+        }
+        navigation(links.size(), withText, validHrefs);
+    }
+
+    // Teste 6: footer presente, com conteúdo e links
+    static void footer(HtmlDocument document) {
+        List<HtmlDocument.Element> footers = document.select("footer");
+        assertFalse(footers.isEmpty(), "PRESENÇA: Footer deve estar presente na página");
+        footerContent(footers.get(0).text());
+        footerLinks(footers.get(0).select("a").size());
+    }
+
+    // Teste 14
+    static void title(HtmlDocument document) {
+        title(document.title());
+    }
+
+    // Teste 13
+    static void viewport(HtmlDocument document) {
+        viewport(document.meta("viewport"));
+    }
+
+    // Teste 8 (parte de marcação): src e alt, se a página tem imagens
+    static void images(HtmlDocument document) {
+        List<HtmlDocument.Element> images = document.select("img");
+        if (images.isEmpty()) {
+            return;
+        }
+        imageSources((int) images.stream().filter(img -> validSource(img.attr("src"))).count(), images.size());
+        imageAlt((int) images.stream().filter(img -> img.attr("alt") != null).count(), images.size(), null);
+    }
+
+    // Teste 17: primeira ul e primeira ol, se existirem
+    static void lists(HtmlDocument document) {
+        List<HtmlDocument.Element> unorderedLists = document.select("ul");
+        if (!unorderedLists.isEmpty()) {
+            List<HtmlDocument.Element> items = unorderedLists.get(0).select("li");
+            int withContent = (int) items.stream()
+                .filter(item -> !item.text().isEmpty() || !item.children().isEmpty())
+                .count();
+            unorderedList(items.size(), withContent);
+        }
+        List<HtmlDocument.Element> orderedLists = document.select("ol");
+        if (!orderedLists.isEmpty()) {
+            orderedList(orderedLists.get(0).select("li").size());
+        }
+    }
+
+    // Teste 16: primeira tabela, se existir
+    static void tables(HtmlDocument document) {
+        List<HtmlDocument.Element> tables = document.select("table");
+        if (!tables.isEmpty()) {
+            table(tables.get(0).select("th").size(), tables.get(0).select("tr").size());
+        }
+    }
+
+    // Teste 15: mesmos tipos do seletor input[type='text'], input[type='email'], input[type='search']
+    static void forms(HtmlDocument document) {
+        int textInputs = (int) document.select("input").stream()
+            .map(input -> input.attr("type"))
+            .filter(type -> type != null && (type.equals("text") || type.equals("email") || type.equals("search")))
+            .count();
+        formLabels(textInputs, document.select("label").size());
+    }
+
+    // Teste 8 (parte de layout), se a página tem imagens
+    static void visibleImages(BrowserSession session) {
+        List<ElementData> images = DomExtractor.extract(session.driver(), "img");
+        if (!images.isEmpty()) {
+            imageLayout(images);
+        }
+    }
+
+    // Teste 21
+    static void accessibility(BrowserSession session) {
+        linkNamesAndContrast(session.snapshot().audit());
+    }
+}
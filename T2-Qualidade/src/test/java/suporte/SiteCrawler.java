@@ -0,0 +1,273 @@
+package suporte;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Percorre o site a partir de uma URL e roda as {@link PageCheck}s em cada página.
+ * <ul>
+ *   <li>Novas páginas vêm dos links dentro de nav e footer, só do mesmo host (mesma origem da página inicial).</li>
+ *   <li>Cada URL entra uma única vez (conjunto de visitadas concorrente), até o limite de páginas.</li>
+ *   <li>No máximo "threads" páginas em processamento: o laço principal só tira uma URL da fila quando
+ *       há uma thread livre, então a fila nunca acumula HTML baixado.</li>
+ *   <li>Requisições ao mesmo host respeitam um intervalo mínimo (requisições por segundo por host).</li>
+ * </ul>
+ * O HTML é baixado pelo HttpClient; as verificações de navegador usam sessões de um {@link DriverPool},
+ * cujo tamanho limita quantas páginas ficam abertas no Chrome ao mesmo tempo.
+ */
+public final class SiteCrawler {
+    private static final Set<String> SKIPPED_EXTENSIONS = Set.of(
+        "pdf", "zip", "jpg", "jpeg", "png", "gif", "svg", "webp", "mp3", "mp4", "ics",
+        "doc", "docx", "xls", "xlsx", "ppt", "pptx");
+
+    /** Limite de páginas, threads de download e requisições por segundo por host (0 = sem limite). */
+    public record Options(int maxPages, int threads, int requestsPerSecond) {
+        // -Dteste.crawl.max, -Dteste.crawl.threads e -Dteste.crawl.rate
+        public static Options fromConfig() {
+            return new Options(
+                SuiteConfig.integer("crawl.max", 500),
+                SuiteConfig.integer("crawl.threads", 8),
+                SuiteConfig.integer("crawl.rate", 10));
+        }
+    }
+
+    private final String startUrl;
+    private final List<PageCheck> checks;
+    private final DriverPool browsers;
+    private final Options options;
+    private final HostRateLimiter rateLimiter;
+    private final CrawlReport report;
+    private final Set<String> visited = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<String> frontier = new LinkedBlockingQueue<>();
+    private final AtomicInteger admitted = new AtomicInteger();
+    // URLs na fila ou em processamento; o crawl termina quando chega a zero
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile URI origin;
+
+    private SiteCrawler(String startUrl, List<PageCheck> checks, DriverPool browsers, Options options) {
+        this.startUrl = startUrl;
+        this.checks = checks;
+        this.browsers = browsers;
+        this.options = options;
+        this.rateLimiter = new HostRateLimiter(options.requestsPerSecond());
+        this.report = new CrawlReport(checks);
+        this.origin = URI.create(startUrl);
+    }
+
+    /**
+     * Roda o crawl e devolve a matriz de resultados. Com browsers null só as verificações
+     * de marcação rodam; as de navegador ficam como não executadas.
+     */
+    public static CrawlReport crawl(String startUrl, List<PageCheck> checks, DriverPool browsers, Options options) {
+        return new SiteCrawler(startUrl, checks, browsers, options).run();
+    }
+
+    private CrawlReport run() {
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads(), runnable -> {
+            Thread thread = new Thread(runnable, "crawler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore slots = new Semaphore(options.threads());
+        offer(startUrl);
+        try {
+            while (pending.get() > 0) {
+                slots.acquire();
+                String url = frontier.poll(50, TimeUnit.MILLISECONDS);
+                if (url == null) {
+                    // Fila vazia, mas ainda há páginas em processamento que podem trazer links
+                    slots.release();
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        report.add(visit(url));
+                    } finally {
+                        pending.decrementAndGet();
+                        slots.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Crawl interrompido", e);
+        } finally {
+            workers.shutdownNow();
+        }
+        report.finish();
+        return report;
+    }
+
+    private void offer(String url) {
+        if (!visited.add(url)) {
+            return;
+        }
+        if (admitted.incrementAndGet() > options.maxPages()) {
+            report.overLimit();
+            return;
+        }
+        pending.incrementAndGet();
+        frontier.add(url);
+    }
+
+    private CrawlReport.Page visit(String url) {
+        long start = System.nanoTime();
+        Map<String, String> failures = new LinkedHashMap<>();
+        List<String> checked = new ArrayList<>();
+        HtmlDocument document;
+        try {
+            rateLimiter.acquire(URI.create(url).getHost());
+            PageSnapshot page = StaticFetcher.download(url);
+            document = page.document();
+            URI landed = URI.create(page.url());
+            if (url.equals(startUrl)) {
+                // Redirecionamentos da página inicial (http -> https, /go/...) definem a origem do crawl
+                origin = landed;
+            }
+            visited.add(page.url());
+            if (sameOrigin(landed)) {
+                links(document, landed).forEach(this::offer);
+            }
+        } catch (RuntimeException e) {
+            return new CrawlReport.Page(url, e.getMessage(), Map.of(), List.of(), elapsedMillis(start));
+        }
+
+        for (PageCheck check : checks) {
+            if (!check.needsBrowser()) {
+                run(check, () -> check.markup().verify(document), failures, checked);
+            }
+        }
+        if (browsers != null && checks.stream().anyMatch(PageCheck::needsBrowser)) {
+            BrowserSession session = browsers.lease();
+            try {
+                rateLimiter.acquire(URI.create(url).getHost());
+                session.navigate(url);
+                // Imagens e contraste dependem da página inteira: espera o load, como a estratégia NORMAL
+                session.awaitReady(Readiness.LOAD, "crawl");
+                for (PageCheck check : checks) {
+                    if (check.needsBrowser()) {
+                        run(check, () -> check.browser().verify(session), failures, checked);
+                    }
+                }
+            } catch (RuntimeException e) {
+                failures.put("navegador", "Erro ao abrir a página no Chrome: " + e.getMessage());
+            } finally {
+                browsers.release(session, false);
+            }
+        }
+        return new CrawlReport.Page(url, null, failures, checked, elapsedMillis(start));
+    }
+
+    private static void run(PageCheck check, Runnable verification, Map<String, String> failures, List<String> checked) {
+        checked.add(check.name());
+        try {
+            verification.run();
+        } catch (AssertionError e) {
+            failures.put(check.name(), e.getMessage());
+        } catch (RuntimeException e) {
+            failures.put(check.name(), "Erro: " + e);
+        }
+    }
+
+    // Links dentro de nav e footer, resolvidos contra a URL da página, sem fragmento
+    private Set<String> links(HtmlDocument document, URI base) {
+        Set<String> links = new LinkedHashSet<>();
+        for (String area : List.of("nav", "footer")) {
+            for (HtmlDocument.Element container : document.select(area)) {
+                for (HtmlDocument.Element anchor : container.select("a")) {
+                    String link = normalize(base, anchor.attr("href"));
+                    if (link != null) {
+                        links.add(link);
+                    }
+                }
+            }
+        }
+        return links;
+    }
+
+    private String normalize(URI base, String href) {
+        if (href == null || href.isBlank() || href.startsWith("#")) {
+            return null;
+        }
+        URI resolved;
+        try {
+            resolved = base.resolve(href.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!sameOrigin(resolved)) {
+            return null;
+        }
+        String path = resolved.getRawPath() == null || resolved.getRawPath().isEmpty() ? "/" : resolved.getRawPath();
+        int dot = path.lastIndexOf('.');
+        if (dot > path.lastIndexOf('/') && SKIPPED_EXTENSIONS.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT))) {
+            return null;
+        }
+        String query = resolved.getRawQuery();
+        return origin.getScheme() + "://" + resolved.getRawAuthority() + path + (query == null ? "" : "?" + query);
+    }
+
+    private boolean sameOrigin(URI uri) {
+        URI current = origin;
+        return uri.getScheme() != null
+            && uri.getScheme().equalsIgnoreCase(current.getScheme())
+            && uri.getHost() != null
+            && uri.getHost().equalsIgnoreCase(current.getHost())
+            && port(uri) == port(current);
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /** Intervalo mínimo entre requisições ao mesmo host, reservado sem lock (um horário por host). */
+    static final class HostRateLimiter {
+        private final long intervalNanos;
+        private final Map<String, AtomicLong> nextSlot = new ConcurrentHashMap<>();
+
+        HostRateLimiter(int requestsPerSecond) {
+            this.intervalNanos = requestsPerSecond <= 0 ? 0 : 1_000_000_000L / requestsPerSecond;
+        }
+
+        void acquire(String host) {
+            if (intervalNanos == 0 || host == null) {
+                return;
+            }
+            AtomicLong next = nextSlot.computeIfAbsent(host.toLowerCase(Locale.ROOT), key -> new AtomicLong(Long.MIN_VALUE));
+            long now = System.nanoTime();
+            // Reserva o primeiro horário livre (agora ou depois da última reserva) e espera até ele
+            long slot = next.accumulateAndGet(now, (last, current) -> Math.max(last, current) + intervalNanos) - intervalNanos;
+            long wait = slot - now;
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrompido esperando o limite de requisições de " + host, e);
+                }
+            }
+        }
+    }
+}
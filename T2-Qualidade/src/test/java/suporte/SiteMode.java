@@ -0,0 +1,85 @@
+package suporte;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+
+/**
+ * Decide contra qual endereço a suíte roda (-Dteste.site):
+ * <ul>
+ *   <li>live (padrão): o site real;</li>
+ *   <li>record: grava a página e seus recursos em -Dteste.archive e roda contra a cópia gravada;</li>
+ *   <li>replay: serve a cópia gravada por um {@link ReplayServer} local, sem rede;</li>
+ *   <li>fixture: serve o site de teste de src/test/resources/fixture, que imita a estrutura da página real.</li>
+ * </ul>
+ */
+public final class SiteMode {
+    private static ReplayServer server;
+
+    private SiteMode() {
+    }
+
+    public static synchronized String baseUrl(String liveUrl) {
+        String mode = SuiteConfig.string("site", "live");
+        Path archiveDir = Path.of(SuiteConfig.string("archive", "site-archive"));
+        switch (mode) {
+            case "live":
+                return liveUrl;
+            case "record":
+                return serve(SiteArchive.record(liveUrl, archiveDir));
+            case "replay":
+                return serve(SiteArchive.load(archiveDir));
+            case "fixture":
+                return serve(SiteArchive.ofDirectory(fixtureDir()));
+            default:
+                throw new IllegalArgumentException("teste.site deve ser live, record, replay ou fixture: " + mode);
+        }
+    }
+
+    // Só no modo live a suíte pode acessar outros hosts (redes sociais, links externos)
+    public static boolean isLive() {
+        return SuiteConfig.string("site", "live").equals("live");
+    }
+
+    /**
+     * Nome do site de uma URL, para separar dados gravados por site (referências visuais): o host
+     * (e a porta, se houver) no modo live, "fixture" para o site de teste e o nome da cópia gravada
+     * em record e replay, que servem a mesma cópia em uma porta local que muda a cada execução.
+     */
+    public static String siteKey(String url) {
+        String mode = SuiteConfig.string("site", "live");
+        switch (mode) {
+            case "record":
+            case "replay":
+                return "arquivo-" + Path.of(SuiteConfig.string("archive", "site-archive")).toAbsolutePath().getFileName();
+            case "live":
+                URI uri = URI.create(url);
+                return uri.getPort() < 0 ? uri.getHost() : uri.getHost() + "-" + uri.getPort();
+            default:
+                return mode;
+        }
+    }
+
+    // Diretório do site de teste copiado para target/test-classes
+    public static Path fixtureDir() {
+        URL index = SiteMode.class.getResource("/fixture/index.html");
+        if (index == null) {
+            throw new IllegalStateException("Site de teste não encontrado no classpath (/fixture/index.html)");
+        }
+        try {
+            return Path.of(index.toURI()).getParent();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Caminho inválido para o site de teste: " + index, e);
+        }
+    }
+
+    private static String serve(SiteArchive archive) {
+        if (server == null) {
+            server = ReplayServer.start(archive, SuiteConfig.integer("replay.port", 0));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("INFO REPLAY: servindo " + archive.size() + " recursos em " + server.baseUrl());
+        }
+        return server.baseUrl();
+    }
+}
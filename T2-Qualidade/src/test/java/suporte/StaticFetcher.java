@@ -0,0 +1,125 @@
+package suporte;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Busca o HTML de uma página com java.net.http.HttpClient, sem navegador.
+ * Cada URL é baixada uma única vez por execução, mesmo com vários testes pedindo ao mesmo tempo.
+ * {@link #scan} lê a resposta como stream pelo {@link PageScan}, sem guardar o HTML.
+ */
+public final class StaticFetcher {
+    private static final Pattern CHARSET = Pattern.compile("charset=\\s*\"?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+    // Alguns servidores devolvem outra página para clientes que não parecem navegadores
+    static final String USER_AGENT =
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/125.0 Safari/537.36";
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .connectTimeout(Duration.ofSeconds(15))
+        .build();
+    private static final Map<String, CompletableFuture<PageSnapshot>> CACHE = new ConcurrentHashMap<>();
+    private static final Map<Map.Entry<String, PageScan.Spec>, CompletableFuture<PageScan.Result>> SCANS =
+        new ConcurrentHashMap<>();
+
+    private StaticFetcher() {
+    }
+
+    public static PageSnapshot fetch(String url) {
+        try {
+            return CACHE.computeIfAbsent(url, key -> CompletableFuture.supplyAsync(() -> download(key))).join();
+        } catch (CompletionException e) {
+            // Não guarda falhas: a próxima chamada tenta de novo
+            CACHE.remove(url);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    // Snapshot que só baixa o HTML quando algum teste lê o código-fonte; PageSnapshot.scan vai direto ao stream
+    public static PageSnapshot lazy(String url) {
+        return PageSnapshot.ofStatic(url);
+    }
+
+    // Uma análise por URL e Spec por execução, como o fetch
+    public static PageScan.Result scan(String url, PageScan.Spec spec) {
+        Map.Entry<String, PageScan.Spec> key = Map.entry(url, spec);
+        try {
+            return SCANS.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> stream(url, spec))).join();
+        } catch (CompletionException e) {
+            SCANS.remove(key);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    // Corpo em pedaços direto do socket para o PageScan; fechar o stream antes do fim descarta o resto
+    static PageScan.Result stream(String url, PageScan.Spec spec) {
+        try {
+            HttpResponse<InputStream> response = CLIENT.send(request(url), HttpResponse.BodyHandlers.ofInputStream());
+            try (Reader reader = new InputStreamReader(response.body(), charset(response))) {
+                if (response.statusCode() >= 400) {
+                    throw new IllegalStateException("HTTP " + response.statusCode() + " ao buscar " + url);
+                }
+                return PageScan.read(reader, spec);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao buscar " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao buscar " + url, e);
+        }
+    }
+
+    static PageSnapshot download(String url) {
+        try {
+            HttpResponse<byte[]> response = CLIENT.send(request(url), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + " ao buscar " + url);
+            }
+            return PageSnapshot.ofSource(response.uri().toString(), new String(response.body(), charset(response)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao buscar " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao buscar " + url, e);
+        }
+    }
+
+    private static HttpRequest request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(30))
+            .header("User-Agent", USER_AGENT)
+            .header("Accept", "text/html,application/xhtml+xml")
+            .GET()
+            .build();
+    }
+
+    private static Charset charset(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type")
+            .map(StaticFetcher::charset)
+            .orElse(StandardCharsets.UTF_8);
+    }
+
+    private static Charset charset(String contentType) {
+        Matcher matcher = CHARSET.matcher(contentType);
+        try {
+            return matcher.find() ? Charset.forName(matcher.group(1)) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
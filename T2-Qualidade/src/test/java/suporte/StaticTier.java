@@ -0,0 +1,19 @@
+package suporte;
+
+import org.junit.jupiter.api.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um teste que só inspeciona a marcação da página. Esses testes recebem o HTML
+ * via {@link StaticFetcher} e não usam sessão do Chrome (-Dteste.static=false manda
+ * todos para o navegador). A tag "static" permite rodar só eles: mvn test -Dgroups=static
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("static")
+public @interface StaticTier {
+}
@@ -0,0 +1,44 @@
+package suporte;
+
+import java.time.Duration;
+
+/**
+ * Configurações da suíte lidas de propriedades de sistema (-Dteste.*).
+ * Todos os valores têm um padrão, então "mvn test" continua funcionando sem parâmetros.
+ */
+public final class SuiteConfig {
+
+    private SuiteConfig() {
+    }
+
+    public static String string(String name, String defaultValue) {
+        String value = System.getProperty("teste." + name);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    public static int integer(String name, int defaultValue) {
+        String value = string(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Propriedade teste." + name + " deve ser um número inteiro: " + value, e);
+        }
+    }
+
+    public static boolean flag(String name, boolean defaultValue) {
+        String value = string(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public static Duration millis(String name, long defaultMillis) {
+        return Duration.ofMillis(integer(name, (int) defaultMillis));
+    }
+
+    // Quantidade de sessões do Chrome mantidas no pool (padrão: uma por núcleo)
+    public static int poolSize() {
+        return Math.max(1, integer("pool.size", Runtime.getRuntime().availableProcessors()));
+    }
+}
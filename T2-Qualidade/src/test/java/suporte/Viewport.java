@@ -0,0 +1,55 @@
+package suporte;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tamanho de tela emulado pelo CDP (Emulation.setDeviceMetricsOverride).
+ * Presets: mobile, tablet e desktop; tamanhos livres no formato LARGURAxALTURA (ex.: 1366x768).
+ */
+public record Viewport(String name, int width, int height, double deviceScaleFactor, boolean mobile) {
+    public static final Viewport MOBILE = new Viewport("mobile", 390, 844, 3, true);
+    public static final Viewport TABLET = new Viewport("tablet", 820, 1180, 2, true);
+    public static final Viewport DESKTOP = new Viewport("desktop", 1920, 1080, 1, false);
+
+    public static Viewport parse(String spec) {
+        String value = spec.trim().toLowerCase(Locale.ROOT);
+        switch (value) {
+            case "mobile":
+                return MOBILE;
+            case "tablet":
+                return TABLET;
+            case "desktop":
+                return DESKTOP;
+            default:
+                String[] size = value.split("x");
+                try {
+                    if (size.length == 2) {
+                        int width = Integer.parseInt(size[0]);
+                        // Abaixo de 768 px os sites costumam usar o layout de celular
+                        return new Viewport(value, width, Integer.parseInt(size[1]), 1, width < 768);
+                    }
+                } catch (NumberFormatException e) {
+                    // cai na mensagem abaixo
+                }
+                throw new IllegalArgumentException("Viewport deve ser mobile, tablet, desktop ou LARGURAxALTURA: " + spec);
+        }
+    }
+
+    // -Dteste.viewports=mobile,tablet,desktop,1366x768
+    public static List<Viewport> fromConfig() {
+        List<Viewport> viewports = new ArrayList<>();
+        for (String spec : SuiteConfig.string("viewports", "mobile,tablet,desktop").split(",")) {
+            if (!spec.isBlank()) {
+                viewports.add(parse(spec));
+            }
+        }
+        return viewports;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + width + "x" + height + ")";
+    }
+}
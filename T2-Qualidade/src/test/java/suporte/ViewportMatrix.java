@@ -0,0 +1,129 @@
+package suporte;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A mesma página aberta em uma aba por {@link Viewport}, todas no Chrome de uma sessão do pool.
+ * Cada aba recebe Emulation.setDeviceMetricsOverride antes de navegar, então o CSS responsivo já
+ * carrega no tamanho certo. As abas carregam ao mesmo tempo (a navegação é disparada por script,
+ * sem esperar o load), e só a leitura do layout passa, uma aba por vez, pelo WebDriver da sessão.
+ * Custa um processo do Chrome, em vez de um navegador por tamanho de tela.
+ */
+public final class ViewportMatrix {
+    private static final String LAYOUT_SCRIPT =
+        "function box(el) {" +
+        "  if (!el) return null;" +
+        "  const r = el.getBoundingClientRect();" +
+        "  const style = getComputedStyle(el);" +
+        "  return {x: r.left + window.scrollX, y: r.top + window.scrollY, width: r.width, height: r.height," +
+        "          visible: style.display !== 'none' && style.visibility !== 'hidden' && r.width > 0 && r.height > 0};" +
+        "}" +
+        "return {" +
+        "  innerWidth: window.innerWidth," +
+        "  innerHeight: window.innerHeight," +
+        "  scrollWidth: document.documentElement.scrollWidth," +
+        "  header: box(document.querySelector('header, .header, .navbar, .site-header'))," +
+        "  footer: box(document.querySelector('footer'))" +
+        "};";
+
+    /** Posição (relativa ao documento) e tamanho de um elemento. */
+    public record Box(int x, int y, int width, int height, boolean visible) {
+    }
+
+    /** Layout da página em um viewport; header e footer vêm null quando não existem. */
+    public record Layout(Viewport viewport, int innerWidth, int innerHeight, int scrollWidth, Box header, Box footer) {
+        // Conteúdo mais largo que a tela força rolagem horizontal (tolerância de 1 px para arredondamento)
+        public boolean overflowsHorizontally() {
+            return scrollWidth > innerWidth + 1;
+        }
+    }
+
+    private final WebDriver driver;
+    private final String mainWindow;
+    private final Map<Viewport, String> tabs = new LinkedHashMap<>();
+
+    private ViewportMatrix(WebDriver driver) {
+        this.driver = driver;
+        this.mainWindow = driver.getWindowHandle();
+    }
+
+    /**
+     * Abre uma aba por viewport, emula o tamanho, dispara a navegação em todas e espera
+     * todas terminarem de carregar. As abas extras são fechadas por {@link #close()} ou
+     * pelo {@link DriverPool#release} da sessão.
+     */
+    public static ViewportMatrix open(BrowserSession session, String url, List<Viewport> viewports) {
+        ViewportMatrix matrix = new ViewportMatrix(session.driver());
+        HasCdp cdp = (HasCdp) session.rawDriver();
+        WebDriver driver = session.driver();
+        for (Viewport viewport : viewports) {
+            driver.switchTo().newWindow(WindowType.TAB);
+            cdp.executeCdpCommand("Emulation.setDeviceMetricsOverride", Map.of(
+                "width", viewport.width(),
+                "height", viewport.height(),
+                "deviceScaleFactor", viewport.deviceScaleFactor(),
+                "mobile", viewport.mobile()));
+            // Abas em segundo plano continuam se comportando como a aba em foco
+            cdp.executeCdpCommand("Emulation.setFocusEmulationEnabled", Map.of("enabled", true));
+            ((JavascriptExecutor) driver).executeScript("window.location.href = arguments[0];", url);
+            matrix.tabs.put(viewport, driver.getWindowHandle());
+        }
+        for (String handle : matrix.tabs.values()) {
+            driver.switchTo().window(handle);
+            new WebDriverWait(driver, Duration.ofSeconds(30)).until(d -> {
+                Object state = ((JavascriptExecutor) d).executeScript("return document.readyState;");
+                return "complete".equals(state) && !"about:blank".equals(d.getCurrentUrl());
+            });
+        }
+        driver.switchTo().window(matrix.mainWindow);
+        return matrix;
+    }
+
+    // Uma chamada ao navegador por viewport; sincronizado porque o WebDriver da sessão é um só
+    public synchronized Layout layout(Viewport viewport) {
+        String handle = tabs.get(viewport);
+        if (handle == null) {
+            throw new IllegalArgumentException("Viewport não foi aberto nesta matriz: " + viewport);
+        }
+        driver.switchTo().window(handle);
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> values = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(LAYOUT_SCRIPT);
+            return new Layout(viewport, number(values.get("innerWidth")), number(values.get("innerHeight")),
+                number(values.get("scrollWidth")), box(values.get("header")), box(values.get("footer")));
+        } finally {
+            driver.switchTo().window(mainWindow);
+        }
+    }
+
+    public synchronized void close() {
+        for (String handle : tabs.values()) {
+            driver.switchTo().window(handle).close();
+        }
+        tabs.clear();
+        driver.switchTo().window(mainWindow);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Box box(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Map<String, Object> box = (Map<String, Object>) value;
+        return new Box(number(box.get("x")), number(box.get("y")), number(box.get("width")), number(box.get("height")),
+            Boolean.TRUE.equals(box.get("visible")));
+    }
+
+    private static int number(Object value) {
+        return value == null ? 0 : (int) Math.round(((Number) value).doubleValue());
+    }
+}
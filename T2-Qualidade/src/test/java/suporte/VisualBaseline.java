@@ -0,0 +1,248 @@
+package suporte;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Regressão visual: cada região (header, navegação, footer, imagens) é capturada com o
+ * screenshot do próprio elemento e comparada pelo {@link ImageDiff} com a imagem de referência
+ * do mesmo site, da mesma página, da mesma região e do mesmo tamanho de janela
+ * (&lt;site&gt;/&lt;página&gt;/&lt;janela&gt;/&lt;região&gt;.png, o site vindo do {@link SiteMode}). Sem
+ * referência, a captura vira a referência; com -Dteste.visual.update=true as referências são regravadas.
+ * <p>
+ * Áreas dinâmicas (carrossel de notícias, vídeos) vêm de visual-masks.properties como seletores
+ * CSS e viram {@link ImageDiff.Mask máscaras} na mesma chamada ao navegador que mede a região.
+ * Quando a região muda além do limite, a captura atual e a imagem de diferenças ficam em
+ * -Dteste.visual.diff. Os buffers de pixels são da thread, reaproveitados entre regiões e testes.
+ */
+public final class VisualBaseline {
+    private static VisualBaseline shared;
+    private static final Properties MASKS = load();
+    private static final ThreadLocal<PixelBuffer[]> BUFFERS = ThreadLocal.withInitial(
+        () -> new PixelBuffer[] {new PixelBuffer(), new PixelBuffer(), new PixelBuffer()});
+
+    // Tamanho da janela e retângulos das áreas dinâmicas dentro da região, em pixels do screenshot
+    private static final String MEASURE_SCRIPT =
+        "const root = arguments[0], selectors = arguments[1], ratio = window.devicePixelRatio || 1;" +
+        "const r = root.getBoundingClientRect();" +
+        "const rects = [];" +
+        "let whole = false;" +
+        "for (const selector of selectors) {" +
+        "  if (root.closest(selector)) { whole = true; break; }" +
+        "  for (const el of root.querySelectorAll(selector)) {" +
+        "    const b = el.getBoundingClientRect();" +
+        "    if (b.width > 0 && b.height > 0) rects.push([Math.floor((b.left - r.left) * ratio)," +
+        "      Math.floor((b.top - r.top) * ratio), Math.ceil(b.width * ratio) + 1, Math.ceil(b.height * ratio) + 1]);" +
+        "  }" +
+        "}" +
+        "return {window: window.innerWidth + 'x' + window.innerHeight, url: location.href, whole: whole, masks: rects};";
+
+    /** Pasta das referências, pasta das diferenças, limite de diferença, tolerância por canal, filtro de ruído pelo hash e atualização. */
+    public record Options(Path directory, Path diffDirectory, double maxScore, int tolerance,
+                          boolean perceptual, boolean update) {
+        // -Dteste.visual.dir, -Dteste.visual.diff, -Dteste.visual.threshold (% dos pixels),
+        // -Dteste.visual.tolerance (0 a 255), -Dteste.visual.perceptual e -Dteste.visual.update
+        public static Options fromConfig() {
+            return new Options(
+                Path.of(SuiteConfig.string("visual.dir", "visual-baselines")),
+                Path.of(SuiteConfig.string("visual.diff", "target/visual-diff")),
+                Double.parseDouble(SuiteConfig.string("visual.threshold", "0.5")) / 100,
+                SuiteConfig.integer("visual.tolerance", 16),
+                SuiteConfig.flag("visual.perceptual", true),
+                SuiteConfig.flag("visual.update", false));
+        }
+    }
+
+    public enum Outcome { CRIADA, IGUAL, MUDOU, MASCARADA }
+
+    /** Uma região verificada; {@code diffImage} só existe quando a região mudou além do limite. */
+    public record Check(String page, String region, String window, Outcome outcome, ImageDiff.Result diff, Path diffImage) {
+        public boolean failed() {
+            return outcome == Outcome.MUDOU;
+        }
+
+        @Override
+        public String toString() {
+            String detail = diff == null ? "" : " " + diff;
+            return page + " " + region + " [" + window + "] " + outcome + detail + (diffImage == null ? "" : " -> " + diffImage);
+        }
+    }
+
+    private final Options options;
+    private final ImageDiff diff;
+    private final Map<Outcome, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong identicalTiles = new AtomicLong();
+    private final AtomicLong noiseTiles = new AtomicLong();
+    private final AtomicLong changedTiles = new AtomicLong();
+    private final AtomicLong diffNanos = new AtomicLong();
+
+    public VisualBaseline(Options options) {
+        this.options = options;
+        // commonPool: mesmo pool do parallelStream, sem threads extras para a suíte
+        this.diff = new ImageDiff(options.tolerance(), options.perceptual(), ForkJoinPool.commonPool());
+    }
+
+    // Instância da suíte, configurada por -Dteste.visual.*
+    public static synchronized VisualBaseline shared() {
+        if (shared == null) {
+            shared = new VisualBaseline(Options.fromConfig());
+        }
+        return shared;
+    }
+
+    public Check verify(WebDriver driver, String region, WebElement element) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> measured = (Map<String, Object>) ((JavascriptExecutor) driver)
+            .executeScript(MEASURE_SCRIPT, element, maskSelectors(region));
+        String window = String.valueOf(measured.get("window"));
+        String page = pageKey(String.valueOf(measured.get("url")));
+        if (Boolean.TRUE.equals(measured.get("whole"))) {
+            return count(new Check(page, region, window, Outcome.MASCARADA, null, null));
+        }
+        List<ImageDiff.Mask> masks = new ArrayList<>();
+        for (Object value : (List<?>) measured.get("masks")) {
+            List<?> rect = (List<?>) value;
+            masks.add(new ImageDiff.Mask(number(rect.get(0)), number(rect.get(1)), number(rect.get(2)), number(rect.get(3))));
+        }
+
+        PixelBuffer[] buffers = BUFFERS.get();
+        PixelBuffer current = buffers[1].decode(element.getScreenshotAs(OutputType.BYTES));
+        return compare(page, region, window, current, masks);
+    }
+
+    // "<site>/<página>": o site pelo SiteMode e a página pelo caminho e pela query da URL ("index" na raiz)
+    public static String pageKey(String url) {
+        URI uri = URI.create(url);
+        String path = uri.getPath() == null ? "" : uri.getPath().replaceAll("^/+|/+$", "");
+        if (uri.getQuery() != null) {
+            path += "?" + uri.getQuery();
+        }
+        return fileName(SiteMode.siteKey(url)) + "/" + (path.isEmpty() ? "index" : fileName(path));
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    // Primeiras imagens visíveis e com tamanho de conteúdo (ícones e pixels de rastreamento ficam de fora), em uma chamada
+    @SuppressWarnings("unchecked")
+    public static List<WebElement> firstVisibleImages(WebDriver driver, int limit) {
+        return (List<WebElement>) ((JavascriptExecutor) driver).executeScript(
+            "return Array.from(document.images).filter(img => {" +
+            "  const r = img.getBoundingClientRect(), style = getComputedStyle(img);" +
+            "  return img.complete && img.naturalWidth > 0 && r.width >= 32 && r.height >= 32" +
+            "    && style.visibility !== 'hidden' && style.display !== 'none';" +
+            "}).slice(0, arguments[0]);", limit);
+    }
+
+    /** Compara uma captura já decodificada com a referência da região na página (usado também sem navegador). */
+    public Check compare(String page, String region, String window, PixelBuffer current, List<ImageDiff.Mask> masks) {
+        Path baselineFile = options.directory().resolve(page).resolve(window).resolve(region + ".png");
+        if (options.update() || !Files.exists(baselineFile)) {
+            current.write(baselineFile);
+            return count(new Check(page, region, window, Outcome.CRIADA, null, null));
+        }
+
+        PixelBuffer[] buffers = BUFFERS.get();
+        PixelBuffer baseline = buffers[0].read(baselineFile);
+        long start = System.nanoTime();
+        ImageDiff.Result result = diff.compare(baseline, current, masks);
+        diffNanos.addAndGet(System.nanoTime() - start);
+        identicalTiles.addAndGet(result.identicalTiles());
+        noiseTiles.addAndGet(result.noiseTiles());
+        changedTiles.addAndGet(result.changedTiles());
+        if (result.score() <= options.maxScore()) {
+            return count(new Check(page, region, window, Outcome.IGUAL, result, null));
+        }
+
+        // Tamanho diferente não tem imagem de diferenças: a captura atual é o que há para olhar
+        Path diffDirectory = options.diffDirectory().resolve(page).resolve(window);
+        Path diffImage = diffDirectory.resolve(region + ".atual.png");
+        current.write(diffImage);
+        if (!result.sizeChanged()) {
+            diffImage = diffDirectory.resolve(region + ".diff.png");
+            diff.highlight(baseline, current, masks, buffers[2]);
+            buffers[2].write(diffImage);
+        }
+        return count(new Check(page, region, window, Outcome.MUDOU, result, diffImage));
+    }
+
+    public String report() {
+        return String.format("INFO VISUAL: %d regiões (%d iguais, %d mudaram, %d referências novas, %d mascaradas); "
+                + "blocos: %d iguais, %d só com ruído, %d com diferença; %.1f ms comparando",
+            outcomes.values().stream().mapToInt(AtomicInteger::get).sum(),
+            outcome(Outcome.IGUAL), outcome(Outcome.MUDOU), outcome(Outcome.CRIADA), outcome(Outcome.MASCARADA),
+            identicalTiles.get(), noiseTiles.get(), changedTiles.get(), diffNanos.get() / 1e6);
+    }
+
+    private Check count(Check check) {
+        outcomes.computeIfAbsent(check.outcome(), key -> new AtomicInteger()).incrementAndGet();
+        return check;
+    }
+
+    private int outcome(Outcome outcome) {
+        AtomicInteger count = outcomes.get(outcome);
+        return count == null ? 0 : count.get();
+    }
+
+    // Seletores de "*" valem para todas as regiões; "imagem-2" também usa os de "imagem"
+    private static List<String> maskSelectors(String region) {
+        Set<String> selectors = new LinkedHashSet<>();
+        for (String key : new LinkedHashSet<>(List.of("*", region.replaceAll("-\\d+$", ""), region))) {
+            for (String selector : MASKS.getProperty(key, "").split(",")) {
+                if (!selector.isBlank()) {
+                    selectors.add(selector.trim());
+                }
+            }
+        }
+        return new ArrayList<>(selectors);
+    }
+
+    // Todas as áreas dinâmicas do arquivo, de todas as regiões, em um seletor só (usado pelo ElementRegistry)
+    static String dynamicAreas() {
+        Set<String> selectors = new LinkedHashSet<>();
+        for (String key : MASKS.stringPropertyNames()) {
+            for (String selector : MASKS.getProperty(key).split(",")) {
+                if (!selector.isBlank()) {
+                    selectors.add(selector.trim());
+                }
+            }
+        }
+        return String.join(",", selectors);
+    }
+
+    private static int number(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = VisualBaseline.class.getResourceAsStream("/visual-masks.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler visual-masks.properties", e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,188 @@
+// Auditoria de acessibilidade em uma passada pelo DOM, executada pelo AccessibilityAudit com um
+// único executeScript. Percorre o documento, os iframes do mesmo domínio e os shadow roots abertos.
+// arguments[0]: máximo de violações devolvidas por regra (as contagens são sempre completas).
+const limit = arguments[0];
+const checked = {}, failed = {}, violations = [];
+let elements = 0, frames = 0, shadowRoots = 0;
+
+const check = rule => { checked[rule] = (checked[rule] || 0) + 1; };
+const fail = (rule, el, prefix, detail) => {
+  failed[rule] = (failed[rule] || 0) + 1;
+  if (failed[rule] <= limit) violations.push([rule, prefix + path(el), detail]);
+};
+const short = text => {
+  text = (text || '').replace(/\s+/g, ' ').trim();
+  return text.length > 60 ? text.slice(0, 57) + '...' : text;
+};
+
+// Caminho CSS curto (até 4 níveis ou até um id) para achar o elemento no DevTools
+const path = el => {
+  const parts = [];
+  for (let node = el; node && node.nodeType === 1 && parts.length < 4; node = node.parentElement) {
+    if (node.id) { parts.unshift(node.localName + '#' + node.id); break; }
+    let part = node.localName + (node.classList.length ? '.' + node.classList[0] : '');
+    const parent = node.parentElement;
+    if (parent) {
+      const same = Array.prototype.filter.call(parent.children, c => c.localName === node.localName);
+      if (same.length > 1) part += ':nth-of-type(' + (same.indexOf(node) + 1) + ')';
+    }
+    parts.unshift(part);
+  }
+  return parts.join(' > ');
+};
+
+// Estilo pela janela dona do elemento, que é outra dentro de um iframe
+const style = el => el.ownerDocument.defaultView.getComputedStyle(el);
+const rendered = el => el.getClientRects().length > 0 && style(el).visibility !== 'hidden';
+const presentational = el => ['presentation', 'none'].includes(el.getAttribute('role'));
+
+// Nome acessível vindo de aria-label, aria-labelledby (no mesmo documento ou shadow root) ou title
+const ariaName = (el, root) => {
+  const label = (el.getAttribute('aria-label') || '').trim();
+  if (label) return label;
+  const ids = (el.getAttribute('aria-labelledby') || '').split(/\s+/).filter(Boolean);
+  const labelledBy = ids.map(id => root.getElementById(id)).filter(Boolean)
+    .map(node => node.textContent.trim()).join(' ').trim();
+  return labelledBy || (el.getAttribute('title') || '').trim();
+};
+const linkName = (el, root) => ariaName(el, root) || (el.innerText || '').trim()
+  || Array.from(el.querySelectorAll('img[alt], [aria-label], svg title'),
+       node => (node.getAttribute('alt') || node.getAttribute('aria-label') || node.textContent || '').trim()).join('');
+const fieldName = (el, root) => ariaName(el, root)
+  || (el.labels ? Array.from(el.labels, label => label.textContent.trim()).join('') : '');
+
+// Cores: só rgb()/rgba() (o que o Chrome devolve para cores sRGB); o resto fica sem avaliação
+const rgba = value => {
+  const match = /^rgba?\(([^)]+)\)$/.exec(value);
+  if (!match) return null;
+  const parts = match[1].split(/[\s,\/]+/).filter(Boolean).map(Number);
+  return [parts[0], parts[1], parts[2], parts.length > 3 ? parts[3] : 1];
+};
+const blend = (top, below) => [0, 1, 2].map(i => top[i] * top[3] + below[i] * (1 - top[3])).concat(1);
+const channel = c => { c /= 255; return c <= 0.03928 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4); };
+const luminance = c => 0.2126 * channel(c[0]) + 0.7152 * channel(c[1]) + 0.0722 * channel(c[2]);
+
+// Fundo efetivo: cor de fundo do elemento sobre a dos ancestrais (atravessando shadow roots), com
+// memória para que irmãos não refaçam a subida. Imagem ou gradiente de fundo: desconhecido (null).
+const backgrounds = new Map();
+const background = el => {
+  if (backgrounds.has(el)) return backgrounds.get(el);
+  const s = style(el);
+  const own = rgba(s.backgroundColor);
+  let result = null;
+  if (s.backgroundImage === 'none' && own) {
+    const parent = el.parentElement || el.getRootNode().host;
+    const below = parent ? background(parent) : [255, 255, 255, 1];
+    result = below && blend(own, below);
+  }
+  backgrounds.set(el, result);
+  return result;
+};
+const ownText = el => {
+  for (const node of el.childNodes) {
+    if (node.nodeType === 3 && node.nodeValue.trim()) return node.nodeValue;
+  }
+  return null;
+};
+const NO_TEXT = new Set(['script', 'style', 'noscript', 'template', 'title', 'option', 'head', 'html']);
+const FIELD_TYPES_WITHOUT_LABEL = new Set(['hidden', 'submit', 'button', 'reset', 'image']);
+
+const contrast = (el, prefix) => {
+  const text = ownText(el);
+  if (!text || NO_TEXT.has(el.localName) || !rendered(el)) return;
+  const s = style(el);
+  const bg = background(el);
+  const color = rgba(s.color);
+  if (!bg || !color) return;
+  const fg = blend(color, bg);
+  const light = Math.max(luminance(fg), luminance(bg)), dark = Math.min(luminance(fg), luminance(bg));
+  const ratio = (light + 0.05) / (dark + 0.05);
+  const size = parseFloat(s.fontSize), bold = parseInt(s.fontWeight, 10) >= 700;
+  const minimum = size >= 24 || (bold && size >= 18.66) ? 3 : 4.5;
+  check('contrast');
+  if (ratio < minimum) {
+    fail('contrast', el, prefix, ratio.toFixed(2) + ':1 < ' + minimum + ':1 (' + s.color + ' sobre rgb('
+      + bg.slice(0, 3).map(Math.round).join(', ') + ')) "' + short(text) + '"');
+  }
+};
+
+const audit = (el, root, prefix) => {
+  switch (el.localName) {
+    case 'img':
+      if (!rendered(el) || presentational(el)) break;
+      check('alt');
+      if (!el.hasAttribute('alt') && !ariaName(el, root)) fail('alt', el, prefix, 'imagem sem alt: ' + short(el.currentSrc || el.src));
+      break;
+    case 'input':
+      if (el.type === 'image') {
+        check('alt');
+        if (!el.hasAttribute('alt') && !ariaName(el, root)) fail('alt', el, prefix, 'botão de imagem sem alt');
+        break;
+      }
+      if (FIELD_TYPES_WITHOUT_LABEL.has(el.type)) break;
+      // fall through
+    case 'textarea':
+    case 'select':
+      if (!rendered(el)) break;
+      check('label');
+      if (!fieldName(el, root)) fail('label', el, prefix, 'campo ' + (el.type || el.localName) + ' sem label, aria-label ou title');
+      break;
+    case 'a':
+      if (!el.hasAttribute('href') || !rendered(el)) break;
+      check('link-name');
+      if (!linkName(el, root)) fail('link-name', el, prefix, 'link sem texto nem aria-label: ' + short(el.getAttribute('href')));
+      break;
+    case 'table':
+      if (presentational(el)) break;
+      check('table-header');
+      if (!el.querySelector('th, [role=columnheader], [role=rowheader]')) {
+        fail('table-header', el, prefix, 'tabela sem cabeçalho (th) em ' + el.rows.length + ' linhas');
+      }
+      break;
+    case 'ul':
+    case 'ol': {
+      if (presentational(el)) break;
+      check('list');
+      const items = Array.prototype.filter.call(el.children, c => c.localName === 'li');
+      const stray = Array.prototype.find.call(el.children, c => !['li', 'script', 'template'].includes(c.localName));
+      const filled = items.filter(li => li.textContent.trim() || li.firstElementChild).length;
+      if (!items.length) fail('list', el, prefix, 'lista sem itens');
+      else if (stray) fail('list', el, prefix, '<' + stray.localName + '> fora de <li>');
+      else if (filled * 2 < items.length) fail('list', el, prefix, 'só ' + filled + ' de ' + items.length + ' itens com conteúdo');
+      break;
+    }
+    case 'li': {
+      const parent = el.parentElement;
+      if (parent && !['ul', 'ol', 'menu'].includes(parent.localName) && parent.getAttribute('role') !== 'list') {
+        // O li solto conta como avaliado, para as reprovações nunca passarem dos avaliados
+        check('list');
+        fail('list', el, prefix, '<li> dentro de <' + parent.localName + '>');
+      }
+      break;
+    }
+  }
+  contrast(el, prefix);
+};
+
+const walk = (root, prefix) => {
+  for (const el of root.querySelectorAll('*')) {
+    elements++;
+    if (el.shadowRoot) {
+      shadowRoots++;
+      walk(el.shadowRoot, prefix + path(el) + ' >> ');
+    }
+    if (el.localName === 'iframe' || el.localName === 'frame') {
+      let doc = null;
+      try { doc = el.contentDocument; } catch (e) { /* outro domínio */ }
+      if (doc && doc.documentElement) {
+        frames++;
+        walk(doc, prefix + path(el) + ' >> ');
+      }
+      continue;
+    }
+    if (!el.closest('[aria-hidden="true"]')) audit(el, root, prefix);
+  }
+};
+
+walk(document, '');
+return {elements: elements, frames: frames, shadowRoots: shadowRoots, checked: checked, failed: failed, violations: violations};
@@ -0,0 +1,87 @@
+// Espera pela condição de prontidão de um teste dentro da página, com um único executeAsyncScript
+// chamado pelo BrowserSession logo depois da navegação (estratégia EAGER: o driver.get volta no
+// DOMContentLoaded). Observers no lugar de polling pelo WebDriver.
+// arguments: tipo (dom, selector, images, idle, load), seletor CSS, janela de silêncio da rede em ms,
+// timeout em ms e o callback do executeAsyncScript.
+const [kind, selector, idleMillis, timeoutMillis] = arguments;
+const done = arguments[arguments.length - 1];
+const started = performance.now();
+const observers = [];
+let finished = false, idleTimer = null;
+
+const navigation = () => performance.getEntriesByType('navigation')[0];
+const loadEnd = () => { const nav = navigation(); return nav ? nav.loadEventEnd : 0; };
+
+// readyAt e load no relógio da página (ms desde timeOrigin); load = 0 se o evento load ainda não terminou
+const finish = ready => {
+  if (finished) return;
+  finished = true;
+  observers.forEach(observer => observer.disconnect());
+  clearTimeout(idleTimer);
+  clearTimeout(deadline);
+  const now = performance.now();
+  done({ready, readyAt: now, waited: now - started, load: loadEnd(), origin: performance.timeOrigin});
+};
+const deadline = setTimeout(() => finish(false), timeoutMillis);
+
+const afterDom = then => {
+  if (document.readyState !== 'loading') then();
+  else document.addEventListener('DOMContentLoaded', then, {once: true});
+};
+
+switch (kind) {
+  case 'dom':
+    afterDom(() => finish(true));
+    break;
+
+  case 'selector': {
+    if (document.querySelector(selector)) { finish(true); break; }
+    const observer = new MutationObserver(() => { if (document.querySelector(selector)) finish(true); });
+    observer.observe(document, {childList: true, subtree: true});
+    observers.push(observer);
+    break;
+  }
+
+  // Imagens do documento já analisado, menos as lazy fora da tela (que o navegador nem baixa);
+  // decode() também falha para imagem quebrada, e isso é assunto do teste, não da espera
+  case 'images':
+    afterDom(() => {
+      const images = Array.from(document.images)
+        .filter(img => img.loading !== 'lazy' || img.getBoundingClientRect().top < window.innerHeight);
+      Promise.all(images.map(img => img.decode().catch(() => null))).then(() => finish(true));
+    });
+    break;
+
+  // Nenhum fetch/XHR em andamento e nenhum recurso terminou nos últimos idleMillis ms. O
+  // PerformanceObserver só vê uma requisição quando ela termina; as que estão em andamento vêm do
+  // contador do request-tracker.js, instalado antes dos scripts da página.
+  case 'idle':
+    afterDom(() => {
+      const requests = () => window.__testeRequests || {pending: 0, lastEnd: 0};
+      let last = Math.max(0, ...performance.getEntriesByType('resource').map(entry => entry.responseEnd));
+      const check = () => {
+        clearTimeout(idleTimer);
+        if (requests().pending > 0) return;
+        const rest = idleMillis - (performance.now() - Math.max(last, requests().lastEnd));
+        if (rest <= 0) finish(true);
+        else idleTimer = setTimeout(check, rest);
+      };
+      const observer = new PerformanceObserver(list => {
+        for (const entry of list.getEntries()) last = Math.max(last, entry.responseEnd);
+        check();
+      });
+      observer.observe({type: 'resource'});
+      observers.push(observer);
+      window.addEventListener('teste-request-end', check);
+      observers.push({disconnect: () => window.removeEventListener('teste-request-end', check)});
+      check();
+    });
+    break;
+
+  // Carregamento completo, como a estratégia NORMAL; o setTimeout deixa o loadEventEnd ser gravado.
+  // Com readyState complete o evento load já disparou, mesmo que o loadEventEnd ainda seja 0.
+  default:
+    if (loadEnd() > 0) finish(true);
+    else if (document.readyState === 'complete') setTimeout(() => finish(true));
+    else window.addEventListener('load', () => setTimeout(() => finish(true)), {once: true});
+}
@@ -0,0 +1,40 @@
+// Conta as requisições fetch/XHR em andamento, para a prontidão idle:<ms> do readiness.js.
+// Instalado pelo BrowserSession com Page.addScriptToEvaluateOnNewDocument, antes dos scripts da
+// página, porque o PerformanceObserver só vê uma requisição quando ela termina.
+(() => {
+  if (window.__testeRequests) return;
+  const state = window.__testeRequests = {pending: 0, lastEnd: 0};
+  const end = () => {
+    state.pending--;
+    state.lastEnd = performance.now();
+    window.dispatchEvent(new Event('teste-request-end'));
+  };
+
+  const originalFetch = window.fetch;
+  if (originalFetch) {
+    window.fetch = function () {
+      state.pending++;
+      let request;
+      try {
+        request = originalFetch.apply(this, arguments);
+      } catch (e) {
+        end();
+        throw e;
+      }
+      request.then(end, end);
+      return request;
+    };
+  }
+
+  const originalSend = XMLHttpRequest.prototype.send;
+  XMLHttpRequest.prototype.send = function () {
+    state.pending++;
+    this.addEventListener('loadend', end, {once: true});
+    try {
+      return originalSend.apply(this, arguments);
+    } catch (e) {
+      end();
+      throw e;
+    }
+  };
+})();